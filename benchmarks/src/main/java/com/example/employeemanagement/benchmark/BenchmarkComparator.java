@@ -0,0 +1,205 @@
+package com.example.employeemanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and flags regressions.
+ *
+ * A benchmark regresses when its score, or its allocation per operation (gc.alloc.rate.norm), is worse
+ * than the baseline by more than the threshold and by more than the combined score errors of both runs.
+ * Throughput scores are better when higher, all other modes when lower.
+ *
+ * Usage: java -cp benchmarks.jar com.example.employeemanagement.benchmark.BenchmarkComparator
+ *        baseline.json jmh-result.json [threshold-percent, default 10]
+ * Exits with status 1 when a benchmark regressed.
+ */
+public final class BenchmarkComparator {
+
+    static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkComparator <baseline.json> <result.json> [threshold-percent]");
+            System.exit(2);
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(new File(args[0]));
+        JsonNode current = objectMapper.readTree(new File(args[1]));
+        double thresholdPercent = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        List<Comparison> comparisons = compare(baseline, current, thresholdPercent);
+        long regressions = comparisons.stream().filter(Comparison::isRegression).count();
+        comparisons.forEach(comparison -> System.out.println(comparison.format()));
+        System.out.printf("%d benchmarks compared, %d regressions (threshold %.1f%%)%n",
+                comparisons.size(), regressions, thresholdPercent);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compare the benchmarks of two JMH result files
+     * @param baseline parsed baseline result file
+     * @param current parsed result file of the run to check
+     * @param thresholdPercent tolerated slowdown or allocation growth in percent
+     * @return one comparison per metric, in benchmark order
+     */
+    public static List<Comparison> compare(JsonNode baseline, JsonNode current, double thresholdPercent) {
+        Map<String, JsonNode> baselineResults = index(baseline);
+        Map<String, JsonNode> currentResults = index(current);
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : currentResults.entrySet()) {
+            JsonNode result = entry.getValue();
+            JsonNode base = baselineResults.get(entry.getKey());
+            if (base == null) {
+                comparisons.add(Comparison.added(entry.getKey()));
+                continue;
+            }
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            comparisons.add(Comparison.of(entry.getKey(), base.path("primaryMetric"), result.path("primaryMetric"),
+                    higherIsBetter, thresholdPercent));
+
+            JsonNode baseAllocation = base.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            if (!baseAllocation.isMissingNode() && !allocation.isMissingNode()) {
+                comparisons.add(Comparison.of(entry.getKey() + " [" + ALLOCATION_METRIC + "]",
+                        baseAllocation, allocation, false, thresholdPercent));
+            }
+        }
+        for (String key : baselineResults.keySet()) {
+            if (!currentResults.containsKey(key)) {
+                comparisons.add(Comparison.removed(key));
+            }
+        }
+        return comparisons;
+    }
+
+    /**
+     * Index results by benchmark name, mode and parameters
+     */
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            indexed.put(key(result), result);
+        }
+        return indexed;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                .append(" (").append(result.path("mode").asText()).append(')');
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> param = fields.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        if (!params.isEmpty()) {
+            key.append(' ').append(params);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Outcome of comparing one metric of one benchmark
+     */
+    public static final class Comparison {
+
+        /**
+         * Status of a compared metric
+         */
+        public enum Status {
+            OK, IMPROVED, REGRESSION, ADDED, REMOVED
+        }
+
+        private final String name;
+        private final Status status;
+        private final double baselineScore;
+        private final double score;
+        private final String unit;
+        private final double changePercent;
+
+        private Comparison(String name, Status status, double baselineScore, double score, String unit,
+                           double changePercent) {
+            this.name = name;
+            this.status = status;
+            this.baselineScore = baselineScore;
+            this.score = score;
+            this.unit = unit;
+            this.changePercent = changePercent;
+        }
+
+        static Comparison of(String name, JsonNode baseline, JsonNode current, boolean higherIsBetter,
+                             double thresholdPercent) {
+            double baselineScore = baseline.path("score").asDouble();
+            double score = current.path("score").asDouble();
+            double changePercent = baselineScore != 0 ? (score - baselineScore) / baselineScore * 100 : 0;
+            // Positive when the score got worse
+            double worsePercent = higherIsBetter ? -changePercent : changePercent;
+            boolean significant = Math.abs(score - baselineScore) > error(baseline) + error(current);
+
+            Status status = Status.OK;
+            if (significant && worsePercent > thresholdPercent) {
+                status = Status.REGRESSION;
+            } else if (significant && worsePercent < -thresholdPercent) {
+                status = Status.IMPROVED;
+            }
+            return new Comparison(name, status, baselineScore, score, current.path("scoreUnit").asText(), changePercent);
+        }
+
+        static Comparison added(String name) {
+            return new Comparison(name, Status.ADDED, Double.NaN, Double.NaN, "", Double.NaN);
+        }
+
+        static Comparison removed(String name) {
+            return new Comparison(name, Status.REMOVED, Double.NaN, Double.NaN, "", Double.NaN);
+        }
+
+        /**
+         * Score error of a metric; JMH writes NaN when a run has too few iterations to compute one
+         */
+        private static double error(JsonNode metric) {
+            double error = metric.path("scoreError").asDouble();
+            return Double.isNaN(error) ? 0 : error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public double getChangePercent() {
+            return changePercent;
+        }
+
+        public boolean isRegression() {
+            return status == Status.REGRESSION;
+        }
+
+        String format() {
+            if (status == Status.ADDED || status == Status.REMOVED) {
+                return String.format("%-10s %s", status, name);
+            }
+            return String.format("%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+                    status, name, baselineScore, score, unit, changePercent);
+        }
+    }
+}
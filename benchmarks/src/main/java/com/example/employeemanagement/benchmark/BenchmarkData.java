@@ -0,0 +1,131 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeRequestDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic employee, branch and event fixtures shared by the benchmarks
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 9, 30, 15);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create a branch entity
+     * @param id branch id
+     * @return Branch
+     */
+    public static Branch branch(long id) {
+        Branch branch = new Branch("BR" + id, "Branch " + id, "Jl. Sudirman No. " + id + ", Jakarta", "021" + (5550000 + id));
+        branch.setId(id);
+        branch.setCreatedAt(TIMESTAMP);
+        branch.setUpdatedAt(TIMESTAMP);
+        return branch;
+    }
+
+    /**
+     * Create an employee entity of a branch
+     * @param id employee id
+     * @param branch branch of the employee
+     * @return Employee
+     */
+    public static Employee employee(long id, Branch branch) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeCode("EMP" + id);
+        employee.setFirstName("Firstname" + id);
+        employee.setLastName("Lastname" + id);
+        employee.setEmail("employee" + id + "@company.com");
+        employee.setPhoneNumber(phoneNumber(id));
+        employee.setHireDate(LocalDate.of(2020, 1, 1).plusDays(id % 1500));
+        employee.setPosition("Software Engineer " + id % 50);
+        employee.setAddress("Jl. Thamrin No. " + id + ", Jakarta");
+        employee.setCreatedAt(TIMESTAMP);
+        employee.setUpdatedAt(TIMESTAMP);
+        employee.setBranch(branch);
+        return employee;
+    }
+
+    /**
+     * Create a response DTO as returned by the employee endpoints
+     * @param id employee id
+     * @return EmployeeResponseDto
+     */
+    public static EmployeeResponseDto employeeResponse(long id) {
+        Branch branch = branch(1 + id % 10);
+        Employee employee = employee(id, branch);
+        return new EmployeeResponseDto(employee.getId(), employee.getEmployeeCode(), employee.getFirstName(),
+                employee.getLastName(), employee.getEmail(), employee.getPhoneNumber(), employee.getHireDate(),
+                employee.getPosition(), employee.getAddress(), employee.getCreatedAt(), employee.getUpdatedAt(),
+                branch.getId(), branch.getCode(), branch.getName());
+    }
+
+    /**
+     * Create a list of response DTOs
+     * @param size number of employees
+     * @return List<EmployeeResponseDto>
+     */
+    public static List<EmployeeResponseDto> employeeResponses(int size) {
+        List<EmployeeResponseDto> employees = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            employees.add(employeeResponse(id));
+        }
+        return employees;
+    }
+
+    /**
+     * Create an employee event as published by EmployeeService
+     * @param id employee id
+     * @return EmployeeEventDto
+     */
+    public static EmployeeEventDto employeeEvent(long id) {
+        EmployeeResponseDto employee = employeeResponse(id);
+        EmployeeEventDto eventDto = new EmployeeEventDto("UPDATE", employee.getId(),
+                employee.getFirstName() + " " + employee.getLastName(), employee.getEmail(), employee.getPhoneNumber(),
+                employee.getBranchId(), employee.getBranchName());
+        eventDto.setEventId("3f2b8c1e-7d4a-4e59-9b0c-" + String.format("%012d", id));
+        eventDto.setTimestamp(TIMESTAMP);
+        eventDto.setEmployeeCode(employee.getEmployeeCode());
+        eventDto.setFirstName(employee.getFirstName());
+        eventDto.setLastName(employee.getLastName());
+        eventDto.setHireDate(employee.getHireDate());
+        eventDto.setPosition(employee.getPosition());
+        eventDto.setAddress(employee.getAddress());
+        eventDto.setBranchCode(employee.getBranchCode());
+        eventDto.setCreatedAt(employee.getCreatedAt());
+        eventDto.setUpdatedAt(employee.getUpdatedAt());
+        return eventDto;
+    }
+
+    /**
+     * Create a request DTO as sent to the create and update endpoints
+     * @param id employee id
+     * @return EmployeeRequestDto
+     */
+    public static EmployeeRequestDto employeeRequest(long id) {
+        Employee employee = employee(id, branch(1 + id % 10));
+        return new EmployeeRequestDto(employee.getEmployeeCode(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getPhoneNumber(), employee.getHireDate(), employee.getPosition(),
+                employee.getAddress(), employee.getBranch().getId());
+    }
+
+    /**
+     * Valid phone number in the format accepted by EmployeeService
+     * @param id employee id
+     * @return 12-digit phone number starting with 08
+     */
+    public static String phoneNumber(long id) {
+        return String.format("08%010d", id % 10_000_000_000L);
+    }
+}
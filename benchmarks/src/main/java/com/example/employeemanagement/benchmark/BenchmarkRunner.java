@@ -0,0 +1,46 @@
+package com.example.employeemanagement.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Main class of benchmarks.jar: runs JMH with the GC/allocation profiler and JSON results by default.
+ *
+ * Accepts the usual JMH options; -prof, -rf and -rff given on the command line replace the defaults.
+ * Compare the results with a stored baseline using BenchmarkComparator.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Main.main(withDefaults(args));
+    }
+
+    /**
+     * Add the default profiler and result options that are not given explicitly
+     * @param args command line arguments
+     * @return arguments for JMH
+     */
+    static String[] withDefaults(String[] args) {
+        List<String> given = Arrays.asList(args);
+        List<String> options = new ArrayList<>();
+        if (!given.contains("-prof")) {
+            options.addAll(Arrays.asList("-prof", "gc"));
+        }
+        if (!given.contains("-rf")) {
+            options.addAll(Arrays.asList("-rf", "json"));
+        }
+        if (!given.contains("-rff")) {
+            options.addAll(Arrays.asList("-rff", DEFAULT_RESULT_FILE));
+        }
+        options.addAll(given);
+        return options.toArray(new String[0]);
+    }
+}
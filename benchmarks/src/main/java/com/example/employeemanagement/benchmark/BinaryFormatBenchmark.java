@@ -0,0 +1,96 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A page of 10k employees encoded as JSON, CBOR and Smile, with ObjectMappers configured like the
+ * application's message converters (see WebConfig). The encoded size is reported as the payloadBytes
+ * secondary result of serializePage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private JavaType pageType;
+    private List<EmployeeResponseDto> page;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponseDto.class);
+        page = BenchmarkData.employeeResponses(PAGE_SIZE);
+        encodedPage = objectMapper.writeValueAsBytes(page);
+    }
+
+    /**
+     * Size of the last encoded page
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public byte[] serializePage(Payload payload) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(page);
+        payload.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> deserializePage() throws IOException {
+        return objectMapper.readValue(encodedPage, pageType);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "cbor":
+                return new CBORFactory();
+            case "smile":
+                return new SmileFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeRequestDto;
+import com.example.employeemanagement.service.EmployeeRequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validation of a bulk import of 1M employee requests: Bean Validation of EmployeeRequestDto followed by
+ * the former regex-based phone number check, against EmployeeRequestValidator.
+ *
+ * The records cycle through a pool of distinct requests, every tenth with an invalid phone number and
+ * email, so that the pool stays in cache-friendly memory instead of holding 1M DTOs.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeValidationBenchmark {
+
+    private static final int RECORDS = 1_000_000;
+    private static final int POOL_SIZE = 4096;
+    private static final Pattern NON_DIGITS = Pattern.compile("[^0-9]");
+
+    private EmployeeRequestDto[] requests;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup
+    public void setUp() {
+        requests = new EmployeeRequestDto[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            requests[i] = BenchmarkData.employeeRequest(i + 1);
+            if (i % 10 == 0) {
+                requests[i].setPhoneNumber("0712 3456 78" + i % 10);
+                requests[i].setEmail("employee" + i + "@company..com");
+            }
+        }
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Bean Validation and the phone number check as EmployeeService did it, with a regex and an exception
+     */
+    @Benchmark
+    public int beanValidation() {
+        int invalid = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            EmployeeRequestDto request = requests[i & (POOL_SIZE - 1)];
+            boolean valid = validator.validate(request).isEmpty();
+            try {
+                String digits = NON_DIGITS.matcher(request.getPhoneNumber()).replaceAll("");
+                if (digits.length() != 12 || !digits.startsWith("08")) {
+                    throw new IllegalArgumentException("Invalid phone number");
+                }
+            } catch (IllegalArgumentException e) {
+                valid = false;
+            }
+            if (!valid) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public int validator() {
+        int invalid = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            if (EmployeeRequestValidator.validate(requests[i & (POOL_SIZE - 1)]) != 0) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
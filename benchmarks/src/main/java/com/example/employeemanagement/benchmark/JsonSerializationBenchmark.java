@@ -0,0 +1,117 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeField;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.service.EmployeeResponseCache;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Jackson work behind the REST endpoints, with the ObjectMapper configured
+ * like the application's (spring.jackson settings in application.yml)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final List<EmployeeField> SPARSE_FIELDS = EmployeeField.parse("id,employeeCode,fullName");
+
+    private ObjectMapper objectMapper;
+    private EmployeeEventDto event;
+    private byte[] eventJson;
+    private EmployeeResponseDto employee;
+    private EmployeeResponseCache responseCache;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        event = BenchmarkData.employeeEvent(42);
+        eventJson = objectMapper.writeValueAsBytes(event);
+        employee = BenchmarkData.employeeResponse(42);
+        responseCache = new EmployeeResponseCache(objectMapper, new SimpleMeterRegistry(), true, 10000, 256);
+    }
+
+    /**
+     * Response body of the employee list endpoints
+     */
+    @State(Scope.Benchmark)
+    public static class EmployeeList {
+
+        @Param({"1", "100", "1000"})
+        public int employeeCount;
+
+        private List<EmployeeResponseDto> employees;
+
+        @Setup
+        public void setUp() {
+            employees = BenchmarkData.employeeResponses(employeeCount);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeResponses(EmployeeList list) throws IOException {
+        return objectMapper.writeValueAsBytes(list.employees);
+    }
+
+    /**
+     * Response body of GET /api/employees?fields=id,employeeCode,fullName
+     */
+    @Benchmark
+    public byte[] serializeEmployeeFields(EmployeeList list) throws IOException {
+        return objectMapper.writeValueAsBytes(EmployeeField.toMaps(list.employees, SPARSE_FIELDS));
+    }
+
+    /**
+     * Response body of GET /api/employees/{id} before EmployeeResponseCache
+     */
+    @Benchmark
+    public byte[] serializeEmployeeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] cachedEmployeeResponse() {
+        return responseCache.get(employee).getJson();
+    }
+
+    @Benchmark
+    public byte[] cachedEmployeeResponseGzip() {
+        return responseCache.get(employee).getGzip();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public EmployeeEventDto deserializeEmployeeEvent() throws IOException {
+        return objectMapper.readValue(eventJson, EmployeeEventDto.class);
+    }
+}
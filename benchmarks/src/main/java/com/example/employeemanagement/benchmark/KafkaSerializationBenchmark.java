@@ -0,0 +1,87 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the record value serialization done for KafkaProducerService, with the serializers
+ * configured like the producer and consumer factories in KafkaConfig
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KafkaSerializationBenchmark {
+
+    private static final String EMPLOYEE_EVENTS_TOPIC = "employee-events";
+    private static final String EMPLOYEE_STATE_TOPIC = "employee-state";
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<Object> deserializer;
+    private EmployeeEventDto event;
+    private EmployeeResponseDto state;
+    private Headers eventHeaders;
+    private byte[] eventValue;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        deserializer = new JsonDeserializer<>();
+        deserializer.configure(Collections.singletonMap(JsonDeserializer.TRUSTED_PACKAGES,
+                "com.example.employeemanagement.dto"), false);
+        event = BenchmarkData.employeeEvent(42);
+        state = BenchmarkData.employeeResponse(42);
+        eventHeaders = new RecordHeaders();
+        eventValue = serializer.serialize(EMPLOYEE_EVENTS_TOPIC, eventHeaders, event);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    /**
+     * KafkaProducerService.publishEmployeeEvent; the serializer adds the type header to the record headers
+     */
+    @Benchmark
+    public byte[] serializeEmployeeEvent() {
+        return serializer.serialize(EMPLOYEE_EVENTS_TOPIC, new RecordHeaders(), event);
+    }
+
+    /**
+     * KafkaProducerService.publishEmployeeState
+     */
+    @Benchmark
+    public byte[] serializeEmployeeState() {
+        return serializer.serialize(EMPLOYEE_STATE_TOPIC, new RecordHeaders(), state);
+    }
+
+    /**
+     * The consumer side of publishEmployeeEvent, resolving the type from the record headers
+     */
+    @Benchmark
+    public Object deserializeEmployeeEvent() {
+        return deserializer.deserialize(EMPLOYEE_EVENTS_TOPIC, eventHeaders, eventValue);
+    }
+}
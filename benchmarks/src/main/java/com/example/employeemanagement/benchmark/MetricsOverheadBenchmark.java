@@ -0,0 +1,140 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.config.MetricsConfig;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the metrics instrumentation on a service call, on the Prometheus registry the application
+ * exposes: a Timer recorded around the call, the same call through TimedAspect like the @Timed services,
+ * and the cost of one scrape of the service timers.
+ *
+ * With histogram=true the timers get the percentile histogram buckets configured in application.yml.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final int SCRAPED_METHODS = 40;
+
+    @Param({"false", "true"})
+    public boolean histogram;
+
+    private PrometheusMeterRegistry registry;
+    private Timer timer;
+    private EmployeeQueries direct;
+    private EmployeeQueries timed;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        if (histogram) {
+            registry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                            .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                            .build()
+                            .merge(config);
+                }
+            });
+        }
+        timer = Timer.builder(MetricsConfig.SERVICE_INVOCATIONS)
+                .tags("class", EmployeeQueries.class.getName(), "method", "getEmployee", "exception", "none")
+                .register(registry);
+
+        direct = new EmployeeQueries();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(direct);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new MetricsConfig().timedAspect(registry));
+        timed = proxyFactory.getProxy();
+
+        // A scrape covers every service method, not only the one called here
+        for (int i = 0; i < SCRAPED_METHODS; i++) {
+            Timer.builder(MetricsConfig.SERVICE_INVOCATIONS)
+                    .tags("class", EmployeeQueries.class.getName(), "method", "method" + i, "exception", "none")
+                    .register(registry)
+                    .record(Duration.ofMillis(i + 1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    /**
+     * The service call without instrumentation
+     */
+    @Benchmark
+    public EmployeeResponseDto uninstrumented() {
+        return direct.getEmployee(++next);
+    }
+
+    /**
+     * The service call with a Timer recorded around it
+     */
+    @Benchmark
+    public EmployeeResponseDto timer() {
+        long start = System.nanoTime();
+        EmployeeResponseDto employee = direct.getEmployee(++next);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return employee;
+    }
+
+    /**
+     * The service call through the proxy and TimedAspect, as for EmployeeService and BranchService
+     */
+    @Benchmark
+    public EmployeeResponseDto timedAspect() {
+        return timed.getEmployee(++next);
+    }
+
+    /**
+     * One scrape of the Prometheus endpoint with the service timers registered
+     */
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    /**
+     * Stand-in for a @Timed service; the work is the DTO a read returns
+     */
+    @Timed(MetricsConfig.SERVICE_INVOCATIONS)
+    public static class EmployeeQueries {
+
+        public EmployeeResponseDto getEmployee(long id) {
+            return BenchmarkData.employeeResponse(id);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.example.employeemanagement.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the employee read paths against an embedded H2 database, through the repositories
+ * and through EmployeeService including the DTO conversion.
+ *
+ * The application runs with the dev profile on its own in-memory database, without SQL logging and
+ * without starting the Kafka listeners, so no broker is needed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryReadBenchmark {
+
+    private static final int BRANCHES = 20;
+    private static final int EMPLOYEES_PER_BRANCH = 250;
+    private static final int IDS_PER_LOOKUP = 100;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+
+    private long[] employeeIds;
+    private String[] employeeCodes;
+    private long[] branchIds;
+    private List<Long> lookupIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                .profiles("dev")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                     "--spring.sql.init.mode=never",
+                     "--spring.jpa.show-sql=false",
+                     "--server.port=0",
+                     "--app.kafka.listeners.auto-startup=false",
+                     // Topic creation fails fast instead of waiting for a broker
+                     "--spring.kafka.admin.properties.request.timeout.ms=1000",
+                     "--spring.kafka.admin.properties.default.api.timeout.ms=1000",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.example.employeemanagement=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     "--logging.level.org.hibernate.SQL=WARN",
+                     "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeService = context.getBean(EmployeeService.class);
+        seed(context.getBean(BranchRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(BranchRepository branchRepository) {
+        List<Branch> branches = new ArrayList<>(BRANCHES);
+        for (long b = 1; b <= BRANCHES; b++) {
+            Branch branch = BenchmarkData.branch(b);
+            branch.setId(null);
+            branches.add(branch);
+        }
+        branches = branchRepository.saveAll(branches);
+
+        List<Employee> employees = new ArrayList<>(BRANCHES * EMPLOYEES_PER_BRANCH);
+        long number = 1;
+        for (Branch branch : branches) {
+            for (int e = 0; e < EMPLOYEES_PER_BRANCH; e++) {
+                Employee employee = BenchmarkData.employee(number++, branch);
+                employee.setId(null);
+                employees.add(employee);
+            }
+        }
+        employees = employeeRepository.saveAll(employees);
+
+        employeeIds = employees.stream().mapToLong(Employee::getId).toArray();
+        employeeCodes = employees.stream().map(Employee::getEmployeeCode).toArray(String[]::new);
+        branchIds = branches.stream().mapToLong(Branch::getId).toArray();
+        lookupIds = new ArrayList<>(IDS_PER_LOOKUP);
+        for (int i = 0; i < IDS_PER_LOOKUP; i++) {
+            lookupIds.add(employeeIds[i * employeeIds.length / IDS_PER_LOOKUP]);
+        }
+    }
+
+    /**
+     * Cycle through the seeded rows so every invocation reads a different one
+     */
+    private int nextIndex(int length) {
+        next = (next + 1) % length;
+        return next;
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeRepository.findById(employeeIds[nextIndex(employeeIds.length)]);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmployeeCode() {
+        return employeeRepository.findByEmployeeCode(employeeCodes[nextIndex(employeeCodes.length)]);
+    }
+
+    @Benchmark
+    public List<Employee> findByBranchId() {
+        return employeeRepository.findByBranchId(branchIds[nextIndex(branchIds.length)]);
+    }
+
+    @Benchmark
+    public long countByBranchId() {
+        return employeeRepository.countByBranchId(branchIds[nextIndex(branchIds.length)]);
+    }
+
+    @Benchmark
+    public List<Employee> findAllWithBranchByIdIn() {
+        return employeeRepository.findAllWithBranchByIdIn(lookupIds);
+    }
+
+    @Benchmark
+    public List<Employee> findByFirstNameContainingIgnoreCase() {
+        return employeeRepository.findByFirstNameContainingIgnoreCase("name12");
+    }
+
+    @Benchmark
+    public EmployeeResponseDto getEmployeeById() {
+        return employeeService.getEmployeeById(employeeIds[nextIndex(employeeIds.length)]);
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> getEmployeesByBranchId() {
+        return employeeService.getEmployeesByBranchId(branchIds[nextIndex(branchIds.length)]);
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+}
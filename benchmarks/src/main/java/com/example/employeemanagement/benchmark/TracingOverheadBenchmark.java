@@ -0,0 +1,82 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.config.TracingConfig;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one span around a service call, as created by TracingAspect, for the sampling
+ * probabilities of app.tracing.sampling-probability. Sampled spans go through the batch span
+ * processor to an exporter that drops them, so export itself is not part of the numbers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TracingOverheadBenchmark {
+
+    @Param({"0.0", "0.1", "1.0"})
+    public double samplingProbability;
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingProbability)))
+                .addSpanProcessor(BatchSpanProcessor.builder(SpanExporter.composite(Collections.emptyList())).build())
+                .build();
+        tracer = tracerProvider.get(TracingConfig.INSTRUMENTATION_NAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        tracerProvider.close();
+    }
+
+    /**
+     * The service call without a span
+     */
+    @Benchmark
+    public EmployeeResponseDto untraced() {
+        return BenchmarkData.employeeResponse(++next);
+    }
+
+    /**
+     * The service call in a span that is made current while it runs
+     */
+    @Benchmark
+    public EmployeeResponseDto traced() {
+        Span span = tracer.spanBuilder("EmployeeService.getEmployeeById").setSpanKind(SpanKind.INTERNAL).startSpan();
+        try (io.opentelemetry.context.Scope scope = span.makeCurrent()) {
+            return BenchmarkData.employeeResponse(++next);
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.BatchInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end latency of employee creation: from the POST /api/employees request
+ * being sent to its CREATE event reaching the KafkaConsumerService employee listener.
+ *
+ * Installed as a batch interceptor on the batch listener container factory, so the time is taken
+ * right before the listener is invoked with the batch. Only batches of the main consumer group are
+ * counted; the per-node stream listener shares the container factory.
+ */
+public class EventLatencyTracker implements BatchInterceptor<String, Object>, BeanPostProcessor {
+
+    private static final String CONTAINER_FACTORY = "batchKafkaListenerContainerFactory";
+    private static final String CONSUMER_GROUP = "employee-management-group";
+    private static final String EMPLOYEE_EVENTS_TOPIC = "employee-events";
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final Recorder latency = new Recorder(3);
+
+    /**
+     * Expect the CREATE event of an employee
+     * @param employeeCode code of the employee being created
+     * @param sentNanos System.nanoTime() at which the create request was sent
+     */
+    public void expect(String employeeCode, long sentNanos) {
+        pending.put(employeeCode, sentNanos);
+    }
+
+    /**
+     * Stop expecting the event of a create request that failed
+     * @param employeeCode code of the employee
+     */
+    public void cancel(String employeeCode) {
+        pending.remove(employeeCode);
+    }
+
+    /**
+     * Wait until every expected event has been received
+     * @param timeoutMillis maximum time to wait
+     * @return number of events still missing
+     */
+    public int awaitPending(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        return pending.size();
+    }
+
+    /**
+     * Event latencies since the previous call
+     * @return Histogram in microseconds
+     */
+    public Histogram takeLatencies() {
+        return latency.getIntervalHistogram();
+    }
+
+    @Override
+    public ConsumerRecords<String, Object> intercept(ConsumerRecords<String, Object> records, Consumer<String, Object> consumer) {
+        if (pending.isEmpty() || !CONSUMER_GROUP.equals(consumer.groupMetadata().groupId())) {
+            return records;
+        }
+        long receivedNanos = System.nanoTime();
+        for (ConsumerRecord<String, Object> record : records.records(EMPLOYEE_EVENTS_TOPIC)) {
+            if (record.value() instanceof EmployeeEventDto) {
+                EmployeeEventDto event = (EmployeeEventDto) record.value();
+                Long sentNanos = "CREATE".equals(event.getEventType()) ? pending.remove(event.getEmployeeCode()) : null;
+                if (sentNanos != null) {
+                    latency.recordValue(TimeUnit.NANOSECONDS.toMicros(receivedNanos - sentNanos));
+                }
+            }
+        }
+        return records;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (CONTAINER_FACTORY.equals(beanName) && bean instanceof AbstractKafkaListenerContainerFactory) {
+            ((AbstractKafkaListenerContainerFactory<?, String, Object>) bean).setBatchInterceptor(this);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.employeemanagement.loadtest;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Load-test settings, passed like application properties: --loadtest.rate=500
+ */
+public final class LoadTestProperties {
+
+    private final double rate;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final OperationMix mix;
+    private final int branches;
+    private final int employees;
+    private final int requestTimeoutSeconds;
+    private final int eventDrainSeconds;
+    private final String outputDir;
+    private final long randomSeed;
+
+    private LoadTestProperties(Environment environment) {
+        this.rate = environment.getProperty("loadtest.rate", Double.class, 200.0);
+        this.warmupSeconds = environment.getProperty("loadtest.warmup-seconds", Integer.class, 10);
+        this.durationSeconds = environment.getProperty("loadtest.duration-seconds", Integer.class, 60);
+        this.mix = OperationMix.parse(environment.getProperty("loadtest.mix", "read=60,search=20,create=10,update=10"));
+        this.branches = environment.getProperty("loadtest.branches", Integer.class, 10);
+        this.employees = environment.getProperty("loadtest.employees", Integer.class, 1000);
+        this.requestTimeoutSeconds = environment.getProperty("loadtest.request-timeout-seconds", Integer.class, 30);
+        this.eventDrainSeconds = environment.getProperty("loadtest.event-drain-seconds", Integer.class, 30);
+        this.outputDir = environment.getProperty("loadtest.output-dir", "loadtest-results");
+        this.randomSeed = environment.getProperty("loadtest.random-seed", Long.class, 42L);
+        if (rate <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("loadtest.rate and loadtest.duration-seconds must be positive");
+        }
+        if (branches <= 0 || employees <= 0) {
+            throw new IllegalArgumentException("loadtest.branches and loadtest.employees must be positive");
+        }
+    }
+
+    /**
+     * Read the settings from the application environment
+     * @param environment environment of the application under test
+     * @return LoadTestProperties
+     */
+    public static LoadTestProperties from(Environment environment) {
+        return new LoadTestProperties(environment);
+    }
+
+    /** Requests per second, sent at a constant rate whatever the response times */
+    public double getRate() {
+        return rate;
+    }
+
+    /** Seconds of load before measuring starts */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    /** Seconds of measured load */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public OperationMix getMix() {
+        return mix;
+    }
+
+    /** Branches seeded before the test */
+    public int getBranches() {
+        return branches;
+    }
+
+    /** Employees seeded before the test, spread over the branches */
+    public int getEmployees() {
+        return employees;
+    }
+
+    public int getRequestTimeoutSeconds() {
+        return requestTimeoutSeconds;
+    }
+
+    /** Seconds to wait for outstanding responses and CREATE events after the load stops */
+    public int getEventDrainSeconds() {
+        return eventDrainSeconds;
+    }
+
+    /** Directory for the .hgrm percentile distributions */
+    public String getOutputDir() {
+        return outputDir;
+    }
+
+    /** Seed of the operation and target choice, so runs are repeatable */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+}
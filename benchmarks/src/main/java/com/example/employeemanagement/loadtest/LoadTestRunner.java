@@ -0,0 +1,177 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test: boots the application with an embedded Kafka broker against H2 or a local
+ * PostgreSQL database, seeds it, and drives a mix of HTTP requests at a constant arrival rate.
+ *
+ * Reports per operation the response time (corrected for coordinated omission) and the service time,
+ * plus the latency from sending POST /api/employees to KafkaConsumerService receiving the CREATE event.
+ * The percentile distributions are also written as .hgrm files for plotting.
+ *
+ * Usage: java -cp benchmarks.jar com.example.employeemanagement.loadtest.LoadTestRunner [--loadtest.* ...]
+ * Other arguments are passed to the application, e.g. --app.kafka.consumer.parallel.enabled=true.
+ * --loadtest.database=postgres uses spring.datasource from application.yml instead of an in-memory H2.
+ */
+public final class LoadTestRunner {
+
+    private static final String[] PERCENTILES = {"50", "90", "99", "99.9", "99.99"};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        EmbeddedKafkaBroker broker = new EmbeddedKafkaBroker(1).kafkaPorts(0);
+        broker.afterPropertiesSet();
+        EventLatencyTracker eventTracker = new EventLatencyTracker();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(EmployeeManagementApplication.class)
+                    .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(eventTracker))
+                    .run(applicationArguments(args, broker.getBrokersAsString()));
+            LoadTestProperties properties = LoadTestProperties.from(context.getEnvironment());
+
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            Workload workload = new Workload(baseUri, context.getBean(ObjectMapper.class),
+                    Duration.ofSeconds(properties.getRequestTimeoutSeconds()));
+            System.out.printf("Seeding %d branches and %d employees%n", properties.getBranches(), properties.getEmployees());
+            workload.seed(context.getBean(BranchRepository.class), context.getBean(EmployeeRepository.class),
+                    properties.getBranches(), properties.getEmployees());
+
+            System.out.printf("Sending %.0f requests/s for %ds after a %ds warmup, mix %s%n",
+                    properties.getRate(), properties.getDurationSeconds(), properties.getWarmupSeconds(), properties.getMix());
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(properties.getRequestTimeoutSeconds()))
+                    .build();
+            OpenLoadGenerator generator = new OpenLoadGenerator(httpClient, workload, eventTracker);
+            int unanswered = generator.run(properties);
+            int missingEvents = eventTracker.awaitPending(properties.getEventDrainSeconds() * 1000L);
+
+            report(properties, generator, eventTracker, unanswered, missingEvents);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            broker.destroy();
+        }
+    }
+
+    /**
+     * Arguments for the application: defaults for a quiet, self-contained run, then the given arguments
+     * Defaults are left out when the same property is given, as repeated properties would be joined
+     */
+    static String[] applicationArguments(String[] args, String bootstrapServers) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("spring.kafka.bootstrap-servers", bootstrapServers);
+        defaults.put("server.port", "0");
+        defaults.put("spring.sql.init.mode", "never");
+        defaults.put("spring.jpa.show-sql", "false");
+        defaults.put("logging.level.root", "WARN");
+        defaults.put("logging.level.com.example.employeemanagement", "WARN");
+        defaults.put("logging.level.org.springframework.web", "WARN");
+        defaults.put("logging.level.org.hibernate.SQL", "WARN");
+        defaults.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        defaults.put("logging.level.com.zaxxer.hikari", "WARN");
+        boolean postgres = Arrays.asList(args).contains("--loadtest.database=postgres");
+        if (!postgres) {
+            // The dev profile runs on H2; application.properties would point at PostgreSQL otherwise
+            defaults.put("spring.profiles.active", "dev");
+            defaults.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        }
+
+        List<String> arguments = new ArrayList<>();
+        defaults.forEach((name, value) -> {
+            if (Arrays.stream(args).noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+                arguments.add("--" + name + "=" + value);
+            }
+        });
+        arguments.addAll(Arrays.asList(args));
+        return arguments.toArray(new String[0]);
+    }
+
+    private static void report(LoadTestProperties properties, OpenLoadGenerator generator, EventLatencyTracker eventTracker,
+                               int unanswered, int missingEvents) throws IOException {
+        Path outputDir = Paths.get(properties.getOutputDir());
+        Files.createDirectories(outputDir);
+
+        System.out.println();
+        System.out.printf("%-24s %8s %8s %9s %s%n", "operation", "ok", "failed", "req/s", latencyHeader());
+        for (Operation operation : Operation.values()) {
+            if (!properties.getMix().includes(operation)) {
+                continue;
+            }
+            OperationStats stats = generator.getStats(operation);
+            Histogram responseTimes = stats.takeResponseTimes();
+            Histogram serviceTimes = stats.takeServiceTimes();
+            long failed = stats.getFailures().values().stream().mapToLong(Long::longValue).sum();
+            double throughput = (double) responseTimes.getTotalCount() / properties.getDurationSeconds();
+            String name = operation.name().toLowerCase();
+            System.out.printf("%-24s %8d %8d %9.1f %s%n", name + " response time", stats.getSuccesses(), failed,
+                    throughput, latencies(responseTimes));
+            System.out.printf("%-24s %8s %8s %9s %s%n", name + " service time", "", "", "", latencies(serviceTimes));
+            if (failed > 0) {
+                System.out.printf("%-24s %s%n", "", stats.getFailures());
+            }
+            write(outputDir.resolve(name + "-response-time.hgrm"), responseTimes);
+            write(outputDir.resolve(name + "-service-time.hgrm"), serviceTimes);
+        }
+
+        Histogram eventLatencies = eventTracker.takeLatencies();
+        System.out.printf("%-24s %8d %8d %9s %s%n", "create -> consumer", eventLatencies.getTotalCount(), missingEvents,
+                "", latencies(eventLatencies));
+        write(outputDir.resolve("create-event-latency.hgrm"), eventLatencies);
+
+        if (unanswered > 0) {
+            System.out.printf("%d requests were still unanswered after %ds and are not included%n",
+                    unanswered, properties.getEventDrainSeconds());
+        }
+        System.out.printf("Latencies in ms; percentile distributions written to %s%n", outputDir.toAbsolutePath());
+    }
+
+    private static String latencyHeader() {
+        StringBuilder header = new StringBuilder();
+        for (String percentile : PERCENTILES) {
+            header.append(String.format(" %9s", "p" + percentile));
+        }
+        return header.append(String.format(" %9s", "max")).toString();
+    }
+
+    private static String latencies(Histogram histogram) {
+        StringBuilder latencies = new StringBuilder();
+        for (String percentile : PERCENTILES) {
+            latencies.append(String.format(" %9.2f", histogram.getValueAtPercentile(Double.parseDouble(percentile)) / 1000.0));
+        }
+        return latencies.append(String.format(" %9.2f", histogram.getMaxValue() / 1000.0)).toString();
+    }
+
+    private static void write(Path file, Histogram histogram) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            // Values are recorded in microseconds, the distribution is written in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.employeemanagement.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started at a constant arrival rate, independent of how
+ * long earlier requests take, so a slow system faces a growing number of concurrent requests just
+ * like it would in production.
+ *
+ * Every request has an intended start time on the fixed schedule. Latencies are taken from that
+ * time, so a request that could only be sent late, or queued behind slow ones, is charged for the
+ * wait (no coordinated omission).
+ */
+public class OpenLoadGenerator {
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final EventLatencyTracker eventTracker;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    public OpenLoadGenerator(HttpClient httpClient, Workload workload, EventLatencyTracker eventTracker) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.eventTracker = eventTracker;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Send requests at a constant rate; requests scheduled during the warmup are sent but not recorded
+     * @param properties rate, duration and mix of the load
+     * @return number of requests still outstanding after the drain timeout
+     */
+    public int run(LoadTestProperties properties) throws InterruptedException {
+        Random random = new Random(properties.getRandomSeed());
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(properties.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(properties.getDurationSeconds());
+        AtomicInteger outstanding = new AtomicInteger();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * nanosPerRequest);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(properties.getMix().next(random), random, intended, intended >= measureFrom, outstanding);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getEventDrainSeconds());
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        return outstanding.get();
+    }
+
+    private void send(Operation operation, Random random, long intended, boolean measured, AtomicInteger outstanding) {
+        Workload.PreparedRequest prepared = workload.request(operation, random);
+        String createdCode = prepared.getCreatedEmployeeCode();
+        outstanding.incrementAndGet();
+        long sent = System.nanoTime();
+        if (createdCode != null && measured) {
+            eventTracker.expect(createdCode, sent);
+        }
+        httpClient.sendAsync(prepared.getRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    String failure = error != null ? rootCause(error).getClass().getSimpleName()
+                            : response.statusCode() / 100 != 2 ? String.valueOf(response.statusCode()) : null;
+                    if (measured) {
+                        stats.get(operation).record(intended, sent, completed, failure);
+                        if (failure != null && createdCode != null) {
+                            eventTracker.cancel(createdCode);
+                        }
+                    }
+                    outstanding.decrementAndGet();
+                });
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Recorded statistics of an operation
+     * @param operation operation
+     * @return OperationStats
+     */
+    public OperationStats getStats(Operation operation) {
+        return stats.get(operation);
+    }
+}
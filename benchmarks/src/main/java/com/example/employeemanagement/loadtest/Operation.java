@@ -0,0 +1,15 @@
+package com.example.employeemanagement.loadtest;
+
+/**
+ * Kinds of requests the load test sends
+ */
+public enum Operation {
+    /** GET /api/employees/{id} of a seeded employee */
+    READ,
+    /** GET /api/employees/search/name with the first name of a seeded employee */
+    SEARCH,
+    /** POST /api/employees with a new employee; its CREATE event is tracked end to end */
+    CREATE,
+    /** PUT /api/employees/{id} of a seeded employee with a new position and address */
+    UPDATE
+}
@@ -0,0 +1,86 @@
+package com.example.employeemanagement.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of operations, e.g. "read=60,search=20,create=10,update=10"
+ */
+public final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Parse a mix of comma-separated operation=weight pairs
+     * @param mix mix definition; operations that are left out are not sent
+     * @return OperationMix
+     * @throws IllegalArgumentException if the mix is malformed or has no positive weight
+     */
+    public static OperationMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid operation mix entry '" + entry + "', expected operation=weight");
+            }
+            Operation operation;
+            int weight;
+            try {
+                operation = Operation.valueOf(parts[0].trim().toUpperCase());
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid operation mix entry '" + entry + "'", e);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Operation weight cannot be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.merge(operation, weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix has no operation with a positive weight: " + mix);
+        }
+        return new OperationMix(weights);
+    }
+
+    /**
+     * Pick the next operation according to the weights
+     * @param random source of randomness
+     * @return Operation
+     */
+    public Operation next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + value + " out of range " + totalWeight);
+    }
+
+    public boolean includes(Operation operation) {
+        return weights.containsKey(operation);
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
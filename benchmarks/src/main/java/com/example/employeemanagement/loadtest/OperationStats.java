@@ -0,0 +1,72 @@
+package com.example.employeemanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation, recorded in microseconds.
+ *
+ * Response time is measured from the time the request was scheduled to be sent, so time spent
+ * waiting behind a slow system is included and the histogram is corrected for coordinated omission.
+ * Service time is measured from the time the request was actually sent, for comparison.
+ */
+public class OperationStats {
+
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Record a completed request
+     * @param intendedNanos System.nanoTime() at which the request was scheduled
+     * @param sentNanos System.nanoTime() at which the request was sent
+     * @param completedNanos System.nanoTime() at which the response or failure arrived
+     * @param failure null for a 2xx response, otherwise the status code or exception name
+     */
+    public void record(long intendedNanos, long sentNanos, long completedNanos, String failure) {
+        responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - intendedNanos));
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedNanos - sentNanos));
+        if (failure == null) {
+            successes.increment();
+        } else {
+            failures.computeIfAbsent(failure, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Response times since the previous call, corrected for coordinated omission
+     * @return Histogram in microseconds
+     */
+    public Histogram takeResponseTimes() {
+        return responseTime.getIntervalHistogram();
+    }
+
+    /**
+     * Service times since the previous call
+     * @return Histogram in microseconds
+     */
+    public Histogram takeServiceTimes() {
+        return serviceTime.getIntervalHistogram();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    /**
+     * Failed requests by status code or exception
+     * @return failure counts, sorted by failure
+     */
+    public Map<String, Long> getFailures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((failure, count) -> counts.put(failure, count.sum()));
+        return counts;
+    }
+}
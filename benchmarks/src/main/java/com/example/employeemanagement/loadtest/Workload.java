@@ -0,0 +1,144 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.dto.EmployeeRequestDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeded branches and employees, and the HTTP requests of each operation against them.
+ *
+ * Codes and emails carry a run id, so repeated runs against the same PostgreSQL database do not
+ * collide. Seeding goes straight to the repositories and therefore needs an unsharded database.
+ */
+public class Workload {
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final Duration requestTimeout;
+    private final String runId = Long.toString(System.currentTimeMillis() / 1000 % 60_466_176, 36);
+    private final AtomicLong createdEmployees = new AtomicLong();
+
+    private final List<Branch> branches = new ArrayList<>();
+    private final List<Employee> employees = new ArrayList<>();
+
+    public Workload(URI baseUri, ObjectMapper objectMapper, Duration requestTimeout) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Insert the branches and employees the requests work on
+     * @param branchRepository branch repository of the application
+     * @param employeeRepository employee repository of the application
+     * @param branchCount number of branches
+     * @param employeeCount number of employees, spread over the branches
+     */
+    public void seed(BranchRepository branchRepository, EmployeeRepository employeeRepository, int branchCount, int employeeCount) {
+        List<Branch> newBranches = new ArrayList<>(branchCount);
+        for (int b = 1; b <= branchCount; b++) {
+            newBranches.add(new Branch("L" + runId + b, "Load Test Branch " + b, "Jl. Load Test No. " + b, "0215550000"));
+        }
+        branches.addAll(branchRepository.saveAll(newBranches));
+
+        List<Employee> newEmployees = new ArrayList<>(employeeCount);
+        for (int e = 1; e <= employeeCount; e++) {
+            Employee employee = new Employee();
+            employee.setEmployeeCode("S" + runId + "-" + e);
+            employee.setFirstName("Seeded" + e);
+            employee.setLastName("Employee");
+            employee.setEmail("seeded" + e + "." + runId + "@loadtest.com");
+            employee.setPhoneNumber("081234567890");
+            employee.setHireDate(LocalDate.of(2020, 1, 1).plusDays(e % 1500));
+            employee.setPosition("Staff " + e % 50);
+            employee.setAddress("Jl. Load Test No. " + e);
+            employee.setBranch(branches.get(e % branches.size()));
+            newEmployees.add(employee);
+        }
+        employees.addAll(employeeRepository.saveAll(newEmployees));
+    }
+
+    /**
+     * Build the request of an operation
+     * @param operation operation to send
+     * @param random source of randomness for the target employee
+     * @return request, with the code of the created employee for CREATE
+     */
+    public PreparedRequest request(Operation operation, Random random) {
+        Employee employee = employees.get(random.nextInt(employees.size()));
+        switch (operation) {
+            case READ:
+                return new PreparedRequest(newRequest("/api/employees/" + employee.getId()).GET().build(), null);
+            case SEARCH:
+                String name = URLEncoder.encode(employee.getFirstName(), StandardCharsets.UTF_8);
+                return new PreparedRequest(newRequest("/api/employees/search/name?name=" + name).GET().build(), null);
+            case CREATE:
+                long number = createdEmployees.incrementAndGet();
+                String code = "C" + runId + "-" + number;
+                Branch branch = branches.get(random.nextInt(branches.size()));
+                EmployeeRequestDto created = new EmployeeRequestDto(code, "Created", "Employee" + number,
+                        "created" + number + "." + runId + "@loadtest.com", "081234567890", LocalDate.now(),
+                        "Load Tester", "Jl. Load Test No. " + number, branch.getId());
+                return new PreparedRequest(newRequest("/api/employees").POST(json(created)).build(), code);
+            case UPDATE:
+                EmployeeRequestDto updated = new EmployeeRequestDto(employee.getEmployeeCode(), employee.getFirstName(),
+                        employee.getLastName(), employee.getEmail(), employee.getPhoneNumber(), employee.getHireDate(),
+                        "Staff " + random.nextInt(50), "Jl. Updated No. " + random.nextInt(1000), employee.getBranch().getId());
+                return new PreparedRequest(newRequest("/api/employees/" + employee.getId()).PUT(json(updated)).build(), null);
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(EmployeeRequestDto request) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize employee request", e);
+        }
+    }
+
+    /**
+     * A request ready to send
+     */
+    public static final class PreparedRequest {
+        private final HttpRequest request;
+        private final String createdEmployeeCode;
+
+        PreparedRequest(HttpRequest request, String createdEmployeeCode) {
+            this.request = request;
+            this.createdEmployeeCode = createdEmployeeCode;
+        }
+
+        public HttpRequest getRequest() {
+            return request;
+        }
+
+        /** Code of the employee a CREATE request creates, null for other operations */
+        public String getCreatedEmployeeCode() {
+            return createdEmployeeCode;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.benchmark.BenchmarkData;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.exception.DataConflictException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the per-employee work in EmployeeService: entity to DTO conversion and phone number validation.
+ * Lives in the service package to reach the package-private methods without a Spring context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EmployeeServiceBenchmark {
+
+    private EmployeeService employeeService;
+    private String validPhoneNumber;
+    private String formattedPhoneNumber;
+    private String invalidPhoneNumber;
+
+    @Setup
+    public void setUp() {
+        employeeService = new EmployeeService();
+        validPhoneNumber = BenchmarkData.phoneNumber(42);
+        formattedPhoneNumber = "0812-3456-7890";
+        invalidPhoneNumber = "0712 3456 7890";
+    }
+
+    /**
+     * Employees of one branch, as loaded by the list endpoints
+     */
+    @State(Scope.Benchmark)
+    public static class Employees {
+
+        @Param({"1", "100", "1000"})
+        public int employeeCount;
+
+        private List<Employee> entities;
+
+        @Setup
+        public void setUp() {
+            entities = new ArrayList<>(employeeCount);
+            Branch branch = BenchmarkData.branch(1);
+            for (long id = 1; id <= employeeCount; id++) {
+                entities.add(BenchmarkData.employee(id, branch));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeResponseDto> convertToResponseDtos(Employees employees) {
+        List<EmployeeResponseDto> responses = new ArrayList<>(employees.entities.size());
+        for (Employee employee : employees.entities) {
+            responses.add(employeeService.convertToResponseDto(employee));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public String validatePhoneNumber() {
+        employeeService.validatePhoneNumber(validPhoneNumber);
+        return validPhoneNumber;
+    }
+
+    @Benchmark
+    public String validateFormattedPhoneNumber() {
+        employeeService.validatePhoneNumber(formattedPhoneNumber);
+        return formattedPhoneNumber;
+    }
+
+    @Benchmark
+    public DataConflictException validateInvalidPhoneNumber() {
+        try {
+            employeeService.validatePhoneNumber(invalidPhoneNumber);
+            return null;
+        } catch (DataConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.benchmark.BenchmarkComparator.Comparison;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkComparatorTest {
+
+    private static final String BENCHMARK = "com.example.employeemanagement.benchmark.JsonSerializationBenchmark.serializeEmployeeEvent";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compare_WhenAverageTimeGrowsBeyondThreshold_ShouldFlagRegression() {
+        // Arrange
+        JsonNode baseline = results(result(BENCHMARK, "avgt", 100.0, 2.0, null));
+        JsonNode current = results(result(BENCHMARK, "avgt", 120.0, 2.0, null));
+
+        // Act
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, current, 10.0);
+
+        // Assert
+        assertEquals(1, comparisons.size());
+        assertEquals(Comparison.Status.REGRESSION, comparisons.get(0).getStatus());
+        assertEquals(20.0, comparisons.get(0).getChangePercent(), 0.001);
+    }
+
+    @Test
+    void compare_WhenThroughputGrows_ShouldReportImprovement() {
+        // Arrange
+        JsonNode baseline = results(result(BENCHMARK, "thrpt", 1000.0, 10.0, null));
+        JsonNode current = results(result(BENCHMARK, "thrpt", 1500.0, 10.0, null));
+
+        // Act
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, current, 10.0);
+
+        // Assert
+        assertEquals(Comparison.Status.IMPROVED, comparisons.get(0).getStatus());
+    }
+
+    @Test
+    void compare_WhenDifferenceIsWithinScoreError_ShouldNotFlagRegression() {
+        // Arrange
+        JsonNode baseline = results(result(BENCHMARK, "avgt", 100.0, 15.0, null));
+        JsonNode current = results(result(BENCHMARK, "avgt", 120.0, 15.0, null));
+
+        // Act
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, current, 10.0);
+
+        // Assert
+        assertEquals(Comparison.Status.OK, comparisons.get(0).getStatus());
+    }
+
+    @Test
+    void compare_WhenAllocationGrows_ShouldFlagAllocationRegression() {
+        // Arrange
+        JsonNode baseline = results(result(BENCHMARK, "avgt", 100.0, 1.0, 480.0));
+        JsonNode current = results(result(BENCHMARK, "avgt", 101.0, 1.0, 960.0));
+
+        // Act
+        List<Comparison> comparisons = BenchmarkComparator.compare(baseline, current, 10.0);
+
+        // Assert
+        assertEquals(2, comparisons.size());
+        assertEquals(Comparison.Status.OK, comparisons.get(0).getStatus());
+        assertEquals(Comparison.Status.REGRESSION, comparisons.get(1).getStatus());
+        assertTrue(comparisons.get(1).getName().endsWith("[" + BenchmarkComparator.ALLOCATION_METRIC + "]"));
+    }
+
+    @Test
+    void compare_WhenParamsDiffer_ShouldReportAddedAndRemovedBenchmarks() {
+        // Arrange
+        ObjectNode small = result(BENCHMARK, "avgt", 1.0, 0.1, null);
+        small.putObject("params").put("employeeCount", "1");
+        ObjectNode large = result(BENCHMARK, "avgt", 100.0, 1.0, null);
+        large.putObject("params").put("employeeCount", "1000");
+
+        // Act
+        List<Comparison> comparisons = BenchmarkComparator.compare(results(small), results(large), 10.0);
+
+        // Assert
+        assertEquals(2, comparisons.size());
+        assertEquals(Comparison.Status.ADDED, comparisons.get(0).getStatus());
+        assertEquals(Comparison.Status.REMOVED, comparisons.get(1).getStatus());
+        assertFalse(comparisons.stream().anyMatch(Comparison::isRegression));
+    }
+
+    private JsonNode results(ObjectNode... results) {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (ObjectNode result : results) {
+            array.add(result);
+        }
+        return array;
+    }
+
+    private ObjectNode result(String benchmark, String mode, double score, double scoreError, Double allocation) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("benchmark", benchmark);
+        result.put("mode", mode);
+        ObjectNode primaryMetric = result.putObject("primaryMetric");
+        primaryMetric.put("score", score);
+        primaryMetric.put("scoreError", scoreError);
+        primaryMetric.put("scoreUnit", "thrpt".equals(mode) ? "ops/s" : "ns/op");
+        if (allocation != null) {
+            ObjectNode allocationMetric = result.putObject("secondaryMetrics").putObject(BenchmarkComparator.ALLOCATION_METRIC);
+            allocationMetric.put("score", allocation);
+            allocationMetric.put("scoreError", "NaN");
+            allocationMetric.put("scoreUnit", "B/op");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.employeemanagement.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMixTest {
+
+    @Test
+    void next_WhenMixIsWeighted_ShouldPickOperationsInProportion() {
+        // Arrange
+        OperationMix mix = OperationMix.parse("read=60, search=20, create=10, update=10");
+        Random random = new Random(42);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(60_000, counts.get(Operation.READ), 1_000);
+        assertEquals(20_000, counts.get(Operation.SEARCH), 1_000);
+        assertEquals(10_000, counts.get(Operation.CREATE), 1_000);
+        assertEquals(10_000, counts.get(Operation.UPDATE), 1_000);
+    }
+
+    @Test
+    void parse_WhenOperationHasZeroWeight_ShouldLeaveItOut() {
+        // Act
+        OperationMix mix = OperationMix.parse("READ=1,create=0");
+
+        // Assert
+        assertTrue(mix.includes(Operation.READ));
+        assertFalse(mix.includes(Operation.CREATE));
+        assertEquals(Operation.READ, mix.next(new Random()));
+    }
+
+    @Test
+    void parse_WhenOperationIsUnknown_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("read=50,delete=50"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("read"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("read=0"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.filter.ConcurrencyLimitFilter;
+import com.example.employeemanagement.filter.GradientConcurrencyLimit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Adaptive concurrency limits for the REST API, enabled unless app.concurrency-limit.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Value("${app.concurrency-limit.read.initial-limit:50}")
+    private int readInitialLimit;
+
+    @Value("${app.concurrency-limit.read.min-limit:10}")
+    private int readMinLimit;
+
+    @Value("${app.concurrency-limit.read.max-limit:400}")
+    private int readMaxLimit;
+
+    @Value("${app.concurrency-limit.write.initial-limit:20}")
+    private int writeInitialLimit;
+
+    @Value("${app.concurrency-limit.write.min-limit:5}")
+    private int writeMinLimit;
+
+    @Value("${app.concurrency-limit.write.max-limit:100}")
+    private int writeMaxLimit;
+
+    @Value("${app.concurrency-limit.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrency-limit.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    /**
+     * Concurrency limit filter for /api/** requests
+     * Runs right after the request metrics filter, so rejected requests still show up in http.server.requests
+     * @param objectMapper mapper for the error response
+     * @param meterRegistry registry for the limit and rejection metrics
+     * @return FilterRegistrationBean for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        GradientConcurrencyLimit readLimit = new GradientConcurrencyLimit(
+                readInitialLimit, readMinLimit, readMaxLimit, tolerance, smoothing, windowSize);
+        GradientConcurrencyLimit writeLimit = new GradientConcurrencyLimit(
+                writeInitialLimit, writeMinLimit, writeMaxLimit, tolerance, smoothing, windowSize);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(readLimit, writeLimit, retryAfterSeconds, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
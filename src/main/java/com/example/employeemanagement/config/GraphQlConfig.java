@@ -0,0 +1,65 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.filter.GraphQlOperationFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Limits, document caching and request classification of the GraphQL endpoint, see schema.graphqls
+ */
+@Configuration
+public class GraphQlConfig {
+
+    /**
+     * Reject operations nesting fields deeper than app.graphql.max-depth, e.g. branches.employees.branch...
+     * @param maxDepth maximum depth
+     * @return MaxQueryDepthInstrumentation
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(@Value("${app.graphql.max-depth:6}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    /**
+     * Reject operations selecting more than app.graphql.max-complexity fields
+     * @param maxComplexity maximum complexity
+     * @return MaxQueryComplexityInstrumentation
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${app.graphql.max-complexity:200}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity);
+    }
+
+    /**
+     * Reuse parsed and validated documents for queries seen before
+     * @param documentCache document cache
+     * @return GraphQlSourceBuilderCustomizer
+     */
+    @Bean
+    public GraphQlSourceBuilderCustomizer graphQlDocumentCacheCustomizer(GraphQlDocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
+
+    /**
+     * Mark GraphQL queries as reads for the concurrency limit and read-your-writes filters
+     * Runs before both, since it buffers the body they pass on
+     * @param objectMapper mapper for the request body
+     * @return FilterRegistrationBean for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<GraphQlOperationFilter> graphQlOperationFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<GraphQlOperationFilter> registration =
+                new FilterRegistrationBean<>(new GraphQlOperationFilter(objectMapper));
+        registration.addUrlPatterns("/api/graphql");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 8);
+        return registration;
+    }
+}
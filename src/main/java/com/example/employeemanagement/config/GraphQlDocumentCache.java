@@ -0,0 +1,68 @@
+package com.example.employeemanagement.config;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Parsed and validated GraphQL documents by query text, so that the queries a client sends again and
+ * again (the persisted queries of the front-end) are parsed and validated once.
+ *
+ * Documents with errors are not cached, so that invalid queries cannot push out valid ones. When the
+ * cache is full, arbitrary entries are evicted to make room.
+ */
+@Component
+public class GraphQlDocumentCache implements PreparsedDocumentProvider {
+
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final Map<String, PreparsedDocumentEntry> entries = new ConcurrentHashMap<>();
+
+    public GraphQlDocumentCache(MeterRegistry meterRegistry,
+                                @Value("${app.graphql.document-cache-size:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("graphql.document.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("graphql.document.cache").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("graphql.document.cache.size", entries, Map::size);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = entries.get(query);
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        entry = parseAndValidateFunction.apply(executionInput);
+        if (!entry.hasErrors() && maxEntries > 0) {
+            if (entries.size() >= maxEntries) {
+                evictSome();
+            }
+            entries.put(query, entry);
+        }
+        return entry;
+    }
+
+    private void evictSome() {
+        // A tenth of the entries, in map iteration order, which is unrelated to their age
+        Iterator<String> queries = entries.keySet().iterator();
+        for (int i = 0; i < Math.max(1, maxEntries / 10) && queries.hasNext(); i++) {
+            queries.next();
+            queries.remove();
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.example.employeemanagement.config;
 
+import com.example.employeemanagement.service.EventRetryService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.util.backoff.ExponentialBackOff;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -31,6 +51,64 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${app.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${app.kafka.consumer.fetch-min-bytes:1}")
+    private int fetchMinBytes;
+
+    @Value("${app.kafka.consumer.fetch-max-wait-ms:500}")
+    private int fetchMaxWaitMs;
+
+    @Value("${app.kafka.consumer.max-poll-interval-ms:300000}")
+    private int maxPollIntervalMs;
+
+    @Value("${app.kafka.consumer.retry.initial-interval-ms:1000}")
+    private long retryInitialIntervalMs;
+
+    @Value("${app.kafka.consumer.retry.max-elapsed-time-ms:60000}")
+    private long retryMaxElapsedTimeMs;
+
+    @Value("${app.kafka.consumer.retry-topics.attempts:3}")
+    private int retryTopicAttempts;
+
+    @Value("${app.kafka.consumer.retry-topics.max-poll-records:50}")
+    private int retryMaxPollRecords;
+
+    @Value("${app.kafka.listeners.auto-startup:true}")
+    private boolean listenersAutoStartup;
+
+    @Value("${app.kafka.instance-id:}")
+    private String instanceId;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // Kafka client metrics (send latency, record errors, consumer lag per partition) are bound to it
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Present only in virtual thread execution mode, see VirtualThreadConfig
+    @Autowired(required = false)
+    @Qualifier("virtualThreadTaskExecutor")
+    private ConcurrentTaskExecutor virtualThreadTaskExecutor;
+
+    /**
+     * Id of this instance, naming the consumer groups every instance needs its own of
+     * Stable across restarts, so that such a group resumes at its committed offsets instead of being left behind
+     * @return app.kafka.instance-id, or the host name and server port when not set
+     */
+    public String getInstanceId() {
+        if (!instanceId.isEmpty()) {
+            return instanceId;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + serverPort;
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot determine the host name, set app.kafka.instance-id", e);
+        }
+    }
+
     /**
      * Producer Configuration
      * @return Producer factory for sending messages to Kafka topics
@@ -47,7 +125,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
         
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return withClientMetrics(new DefaultKafkaProducerFactory<>(configProps));
     }
 
     /**
@@ -55,10 +133,29 @@ public class KafkaConfig {
      * @return KafkaTemplate configured with producer factory
      */
     @Bean
+    @Primary
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Kafka Template for retry and dead-letter records
+     * Serializes event DTOs as JSON and forwards raw payloads that could not be deserialized unchanged
+     * @return KafkaTemplate used by the retry and dead-letter handling
+     */
+    @Bean
+    public KafkaTemplate<String, Object> retryKafkaTemplate() {
+        Map<Class<?>, Serializer> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, new JsonSerializer<>());
+
+        ProducerFactory<String, Object> retryProducerFactory = withClientMetrics(new DefaultKafkaProducerFactory<>(
+                producerFactory().getConfigurationProperties(),
+                new StringSerializer(),
+                new DelegatingByTypeSerializer(delegates, true)));
+        return new KafkaTemplate<>(retryProducerFactory);
+    }
+
     /**
      * Consumer Configuration
      * @return Consumer factory for receiving messages from Kafka topics
@@ -75,7 +172,7 @@ public class KafkaConfig {
         configProps.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, 1000);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.employeemanagement.dto");
         
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        return withClientMetrics(new DefaultKafkaConsumerFactory<>(configProps));
     }
 
     /**
@@ -86,9 +183,121 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setAutoStartup(listenersAutoStartup);
+        applyConsumerTaskExecutor(factory);
+        return factory;
+    }
+
+    /**
+     * Batch Consumer Configuration
+     * Auto-commit is disabled so that offsets are committed once per processed batch
+     * @return Consumer factory tuned for batch consumption
+     */
+    @Bean
+    public ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>(consumerFactory().getConfigurationProperties());
+        // Poison records reach the listener with a null value instead of failing the whole poll
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.remove(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        // KeyOrderedEventProcessor bounds its wait for the worker lanes below this interval
+        configProps.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, maxPollIntervalMs);
+
+        return withClientMetrics(new DefaultKafkaConsumerFactory<>(configProps));
+    }
+
+    /**
+     * Batch Listener Container Factory for Kafka consumers
+     * Delivers every poll as a single List; offsets are committed only when the listener acknowledges
+     * the batch, and failed batches are redelivered with exponential backoff
+     * @return ConcurrentKafkaListenerContainerFactory configured for batch listeners
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(retryInitialIntervalMs, 2.0);
+        backOff.setMaxElapsedTime(retryMaxElapsedTimeMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        factory.setAutoStartup(listenersAutoStartup);
+        applyConsumerTaskExecutor(factory);
+        return factory;
+    }
+
+    /**
+     * Retry Consumer Configuration
+     * Smaller polls keep the time a delayed retry partition stays paused short
+     * @return Consumer factory for the retry topics
+     */
+    @Bean
+    public ConsumerFactory<String, Object> retryConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>(batchConsumerFactory().getConfigurationProperties());
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, retryMaxPollRecords);
+
+        return withClientMetrics(new DefaultKafkaConsumerFactory<>(configProps));
+    }
+
+    /**
+     * Listener Container Factory for the retry topics
+     * Record listeners with manual acknowledgment, so a record that is not due yet can be negatively
+     * acknowledged and redelivered after its delay without blocking the main topics
+     * @return ConcurrentKafkaListenerContainerFactory configured for retry listeners
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(retryConsumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(retryInitialIntervalMs, 2.0);
+        backOff.setMaxElapsedTime(retryMaxElapsedTimeMs);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        factory.setAutoStartup(listenersAutoStartup);
+        applyConsumerTaskExecutor(factory);
+        return factory;
+    }
+
+    /**
+     * Bind the metrics of every producer created by a factory to the meter registry
+     * @param factory producer factory
+     * @return the same factory
+     */
+    private <K, V> DefaultKafkaProducerFactory<K, V> withClientMetrics(DefaultKafkaProducerFactory<K, V> factory) {
+        if (meterRegistry != null) {
+            factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        }
+        return factory;
+    }
+
+    /**
+     * Bind the metrics of every consumer created by a factory, including records-lag per partition, to the meter registry
+     * @param factory consumer factory
+     * @return the same factory
+     */
+    private <K, V> DefaultKafkaConsumerFactory<K, V> withClientMetrics(DefaultKafkaConsumerFactory<K, V> factory) {
+        if (meterRegistry != null) {
+            factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        }
         return factory;
     }
 
+    /**
+     * Run the consumer threads of a listener container factory on virtual threads, when enabled
+     * @param factory listener container factory
+     */
+    private void applyConsumerTaskExecutor(ConcurrentKafkaListenerContainerFactory<String, Object> factory) {
+        if (virtualThreadTaskExecutor != null) {
+            factory.getContainerProperties().setConsumerTaskExecutor(virtualThreadTaskExecutor);
+        }
+    }
+
     /**
      * Topic for Employee Events
      * @return NewTopic for employee-related events
@@ -115,4 +324,38 @@ public class KafkaConfig {
     public NewTopic notificationEventsTopic() {
         return new NewTopic("notification-events", 3, (short) 1);
     }
+
+    /**
+     * Compacted Topic for Employee State
+     * @return NewTopic holding the latest EmployeeResponseDto per employee id
+     */
+    @Bean
+    public NewTopic employeeStateTopic() {
+        return TopicBuilder.name("employee-state").partitions(3).replicas(1).compact().build();
+    }
+
+    /**
+     * Compacted Topic for Branch State
+     * @return NewTopic holding the latest BranchResponseDto per branch id
+     */
+    @Bean
+    public NewTopic branchStateTopic() {
+        return TopicBuilder.name("branch-state").partitions(3).replicas(1).compact().build();
+    }
+
+    /**
+     * Retry and Dead-Letter Topics for Employee and Branch Events
+     * @return NewTopics with {topic}-retry-1..N and {topic}-dlt for every event topic
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics() {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : Arrays.asList("employee-events", "branch-events")) {
+            for (int attempt = 1; attempt <= retryTopicAttempts; attempt++) {
+                topics.add(new NewTopic(EventRetryService.retryTopic(topic, attempt), 3, (short) 1));
+            }
+            topics.add(new NewTopic(EventRetryService.deadLetterTopic(topic), 3, (short) 1));
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(new NewTopic[0]));
+    }
 }
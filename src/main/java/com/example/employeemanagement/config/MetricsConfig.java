@@ -0,0 +1,33 @@
+package com.example.employeemanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration
+ *
+ * HTTP endpoints (http.server.requests), repository queries (spring.data.repository.invocations),
+ * Hikari pools, Kafka clients and the JVM are instrumented by Spring Boot and KafkaConfig; this adds
+ * the timers of classes and methods annotated with @Timed, such as the services (service.invocations).
+ * Histogram buckets and their bounds are configured under management.metrics.distribution.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Metric name of the service method timers
+     */
+    public static final String SERVICE_INVOCATIONS = "service.invocations";
+
+    /**
+     * Aspect recording a timer for every invocation of a @Timed method, tagged with class, method and exception
+     * @param meterRegistry meter registry
+     * @return TimedAspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
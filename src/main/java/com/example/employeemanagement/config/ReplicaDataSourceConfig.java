@@ -0,0 +1,117 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.filter.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting, enabled with app.datasource.replicas.enabled=true
+ *
+ * The primary pool is configured from spring.datasource as usual. Every replica URL gets its own
+ * Hikari pool with the same settings, read-only connections and, optionally, its own pool size.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:0}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${app.datasource.replicas.strategy:round-robin}")
+    private String strategy;
+
+    @Value("${app.datasource.replicas.max-lag-ms:5000}")
+    private long maxLagMillis;
+
+    @Value("${app.datasource.replicas.lag-query}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replicas.read-your-writes-seconds:0}")
+    private long readYourWritesSeconds;
+
+    /**
+     * Connection pool of the primary database
+     * @param properties spring.datasource properties
+     * @return HikariDataSource bound to spring.datasource.hikari
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Routing between the primary and the replica pools
+     * @param primaryDataSource connection pool of the primary
+     * @return ReplicaRoutingDataSource
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaPool(primaryDataSource, name, replicaUrls.get(i).trim()));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                ReplicaRoutingDataSource.Strategy.valueOf(strategy.toUpperCase().replace('-', '_')),
+                lagQuery, maxLagMillis);
+    }
+
+    /**
+     * DataSource used by JPA and everything else
+     * Connections are obtained lazily, once the read-only flag of the transaction is known
+     * @param replicaRoutingDataSource routing DataSource
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * Keep clients on the primary for a while after they wrote, so they read their own writes
+     * @return FilterRegistrationBean for the filter, disabled when read-your-writes-seconds is 0
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWritesSeconds));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(readYourWritesSeconds > 0);
+        return registration;
+    }
+
+    /**
+     * Pool for a replica with the settings of the primary pool; like the primary it starts on first use
+     */
+    private HikariDataSource replicaPool(HikariDataSource primary, String name, String url) {
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setJdbcUrl(url);
+        replica.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "HikariPool") + "-" + name);
+        replica.setReadOnly(true);
+        if (replicaMaximumPoolSize > 0) {
+            replica.setMaximumPoolSize(replicaMaximumPoolSize);
+        }
+        return replica;
+    }
+}
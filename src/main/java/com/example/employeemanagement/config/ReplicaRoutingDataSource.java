@@ -0,0 +1,196 @@
+package com.example.employeemanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that sends read-only transactions to replicas and everything else to the primary.
+ *
+ * Replicas are picked round-robin or by the fewest active connections. A replica whose replication
+ * lag exceeds the maximum, or whose lag cannot be read, is skipped until a later check finds it
+ * healthy again; without a healthy replica reads go to the primary.
+ *
+ * The lookup happens when a connection is obtained, so this DataSource must be wrapped in a
+ * LazyConnectionDataSourceProxy: transaction managers obtain the connection before the read-only
+ * flag of the transaction is published.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    /**
+     * How a replica is chosen for a read-only transaction
+     */
+    public enum Strategy {
+        ROUND_ROBIN,
+        LEAST_LOADED
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Strategy strategy;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    Map<String, DataSource> replicaDataSources,
+                                    Strategy strategy,
+                                    String lagQuery,
+                                    long maxLagMillis) {
+        this.strategy = strategy;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagMillis / 1000.0;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Send all transactions of the current thread to the primary, e.g. right after the client wrote
+     * @param pinned true to pin to the primary, false to clear
+     */
+    public static void setPrimaryPinned(boolean pinned) {
+        if (pinned) {
+            primaryPinned.set(Boolean.TRUE);
+        } else {
+            primaryPinned.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || primaryPinned.get() != null) {
+            return PRIMARY;
+        }
+        Replica replica = strategy == Strategy.LEAST_LOADED ? leastLoadedReplica() : nextRoundRobinReplica();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    /**
+     * Measure the replication lag of every replica and take lagging or unreachable replicas out of rotation
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try {
+                Double lagSeconds = new JdbcTemplate(replica.dataSource).queryForObject(lagQuery, Double.class);
+                replica.lagSeconds = lagSeconds != null ? lagSeconds : 0;
+                replica.available = replica.lagSeconds <= maxLagSeconds;
+            } catch (RuntimeException e) {
+                logger.debug("Failed to read replication lag of replica {}", replica.name, e);
+                replica.available = false;
+            }
+            if (wasAvailable != replica.available) {
+                logger.warn("Replica {} is {} (lag {}s)", replica.name,
+                           replica.available ? "back in rotation" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    private Replica nextRoundRobinReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoadedReplica() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            int active = replica.activeConnections();
+            if (replica.available && active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Register replication lag metrics, and pool metrics for replica pools that are not beans themselves
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            registry.gauge("datasource.replica.lag", Tags.of("replica", replica.name), replica, r -> r.lagSeconds);
+            registry.gauge("datasource.replica.available", Tags.of("replica", replica.name), replica,
+                    r -> r.available ? 1 : 0);
+            if (replica.dataSource instanceof HikariDataSource) {
+                HikariDataSource pool = (HikariDataSource) replica.dataSource;
+                if (pool.getMetricsTrackerFactory() == null && pool.getHikariPoolMXBean() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource) {
+                ((HikariDataSource) replica.dataSource).close();
+            }
+        }
+    }
+
+    /**
+     * A replica with its last known replication state
+     */
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private int activeConnections() {
+            if (dataSource instanceof HikariDataSource) {
+                HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.employeemanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends the work of the current thread to the shard it is bound to, and to the
+ * global database otherwise.
+ *
+ * Like ReplicaRoutingDataSource, the lookup happens when a connection is obtained, so this DataSource
+ * must be wrapped in a LazyConnectionDataSourceProxy and a transaction stays on the shard its first
+ * statement ran on.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder, DisposableBean {
+
+    static final String GLOBAL = "global";
+
+    private static final ThreadLocal<String> currentShard = new ThreadLocal<>();
+
+    private final List<String> shardNames;
+    private final Map<String, DataSource> shards;
+
+    public ShardRoutingDataSource(DataSource global, Map<String, DataSource> shards) {
+        this.shardNames = Collections.unmodifiableList(new ArrayList<>(shards.keySet()));
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+
+        Map<Object, Object> targets = new HashMap<>(shards);
+        targets.put(GLOBAL, global);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(global);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Run an action with the current thread bound to a shard
+     * Only connections obtained inside the action go to the shard, so the action has to start its own transaction
+     * @param shard shard name
+     * @param action action to run
+     * @return result of the action
+     */
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        String previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                currentShard.set(previous);
+            } else {
+                currentShard.remove();
+            }
+        }
+    }
+
+    /**
+     * Names of all shards, in configuration order
+     * @return shard names
+     */
+    public List<String> getShardNames() {
+        return shardNames;
+    }
+
+    /**
+     * DataSource of a single shard, for bulk copies that bypass JPA
+     * @param shard shard name
+     * @return DataSource of the shard
+     */
+    public DataSource getShardDataSource(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = currentShard.get();
+        return shard != null ? shard : GLOBAL;
+    }
+
+    /**
+     * Register pool metrics for the shard pools, which are not beans themselves
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof HikariDataSource) {
+                HikariDataSource pool = (HikariDataSource) dataSource;
+                if (pool.getMetricsTrackerFactory() == null && pool.getHikariPoolMXBean() == null) {
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        }
+    }
+
+    /**
+     * Close the shard pools; the global pool is a bean of its own and closed by the container
+     */
+    @Override
+    public void destroy() {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof HikariDataSource) {
+                ((HikariDataSource) dataSource).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.employeemanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding of employees by branch, enabled with app.sharding.enabled=true
+ *
+ * spring.datasource is the global database holding branches, the shard map and the change log.
+ * Every shard URL gets its own Hikari pool with the same settings. Sharding and read replicas
+ * (app.datasource.replicas) both provide the primary DataSource and cannot be enabled together.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${app.sharding.shards}")
+    private List<String> shardUrls;
+
+    @Value("${app.sharding.maximum-pool-size:0}")
+    private int shardMaximumPoolSize;
+
+    /**
+     * Connection pool of the global database
+     * @param properties spring.datasource properties
+     * @return HikariDataSource bound to spring.datasource.hikari
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource globalDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Routing between the global database and the shard pools
+     * @param globalDataSource connection pool of the global database
+     * @return ShardRoutingDataSource
+     */
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource globalDataSource) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (int i = 0; i < shardUrls.size(); i++) {
+            String name = "shard-" + i;
+            shards.put(name, shardPool(globalDataSource, name, shardUrls.get(i).trim()));
+        }
+        return new ShardRoutingDataSource(globalDataSource, shards);
+    }
+
+    /**
+     * DataSource used by JPA and everything else
+     * Connections are obtained lazily, once the shard of the transaction is known
+     * @param shardRoutingDataSource routing DataSource
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Pool for a shard with the settings of the global pool
+     */
+    private HikariDataSource shardPool(HikariDataSource global, String name, String url) {
+        HikariDataSource shard = new HikariDataSource();
+        global.copyStateTo(shard);
+        shard.setJdbcUrl(url);
+        shard.setPoolName((global.getPoolName() != null ? global.getPoolName() : "HikariPool") + "-" + name);
+        if (shardMaximumPoolSize > 0) {
+            shard.setMaximumPoolSize(shardMaximumPoolSize);
+        }
+        return shard;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.employeemanagement.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SQL statements executed within one scope, usually an HTTP request.
+ *
+ * A scope is bound to the current thread with begin() and counted by StatementStatisticsDataSource.
+ * Statements are grouped by their SQL shape, i.e. the SQL with parameters as placeholders, so the same
+ * query run once per item of a list (an N+1) shows up as one shape with a high count.
+ */
+public class StatementStatistics {
+
+    // Distinct shapes kept per scope, further shapes are only counted
+    private static final int MAX_SHAPES = 500;
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong databaseNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * Start counting the statements of the current thread
+     * @return StatementStatistics of the new scope
+     */
+    public static StatementStatistics begin() {
+        StatementStatistics statistics = new StatementStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stop counting the statements of the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statistics of the current thread
+     * @return StatementStatistics, or null outside of a scope
+     */
+    public static StatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Count the statements of a task run on another thread in the scope of the calling thread
+     * @param task task to run
+     * @return task bound to the current scope
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        StatementStatistics statistics = current();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            StatementStatistics previous = CURRENT.get();
+            CURRENT.set(statistics);
+            try {
+                return task.get();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Record an executed statement
+     * @param shape SQL with parameters as placeholders
+     * @param nanos execution time
+     */
+    void record(String shape, long nanos) {
+        statements.incrementAndGet();
+        databaseNanos.addAndGet(nanos);
+        AtomicInteger count = shapes.get(shape);
+        if (count == null && shapes.size() < MAX_SHAPES) {
+            count = shapes.computeIfAbsent(shape, key -> new AtomicInteger());
+        }
+        if (count != null) {
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Number of statements executed
+     * @return statement count
+     */
+    public int getStatements() {
+        return statements.get();
+    }
+
+    /**
+     * Time spent executing statements
+     * @return database time in milliseconds
+     */
+    public long getDatabaseTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(databaseNanos.get());
+    }
+
+    /**
+     * Statement shapes executed at least a number of times, most frequent first
+     * @param minCount minimum number of executions
+     * @return execution count by SQL shape
+     */
+    public Map<String, Integer> getRepeatedStatements(int minCount) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue().get() >= minCount)
+                .sorted((a, b) -> Integer.compare(b.getValue().get(), a.getValue().get()))
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue().get()));
+        return repeated;
+    }
+}
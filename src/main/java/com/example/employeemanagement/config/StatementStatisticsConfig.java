@@ -0,0 +1,68 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.filter.StatementBudgetFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL statement statistics, enabled unless app.statement-statistics.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.statement-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatisticsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementStatisticsConfig.class);
+
+    @Value("${app.statement-statistics.max-statements:10}")
+    private int maxStatements;
+
+    @Value("${app.statement-statistics.max-database-time-ms:500}")
+    private long maxDatabaseTimeMillis;
+
+    @Value("${app.statement-statistics.repeated-statement-threshold:3}")
+    private int repeatedStatementThreshold;
+
+    /**
+     * Count the statements executed through the DataSource used by the application
+     * Wraps the routing DataSource when sharding or replicas are enabled, so statements on every pool are counted.
+     * Static so that the DataSource is wrapped before anything else uses it
+     * @return BeanPostProcessor wrapping the DataSource
+     */
+    @Bean
+    public static BeanPostProcessor statementStatisticsDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource
+                        && !(bean instanceof StatementStatisticsDataSource)) {
+                    logger.info("Counting SQL statements per request on {}", beanName);
+                    return new StatementStatisticsDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Filter logging /api/** requests over the statement budget or repeating a statement
+     * Runs after the concurrency limit filter, so only admitted requests are counted
+     * @return FilterRegistrationBean for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter() {
+        FilterRegistrationBean<StatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new StatementBudgetFilter(maxStatements, maxDatabaseTimeMillis, repeatedStatementThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
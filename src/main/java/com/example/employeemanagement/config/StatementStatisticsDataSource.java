@@ -0,0 +1,101 @@
+package com.example.employeemanagement.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource that counts and times the statements executed in a StatementStatistics scope.
+ *
+ * Statements prepared while no scope is active are handed out unwrapped. A JDBC batch counts as one
+ * statement, as it is sent in one round trip.
+ */
+public class StatementStatisticsDataSource extends DelegatingDataSource {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    public StatementStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counted(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counted(super.getConnection(username, password));
+    }
+
+    /**
+     * Shape of a statement whose SQL may contain literal values
+     * @param sql SQL of a plain Statement
+     * @return SQL with literals replaced by placeholders
+     */
+    static String shapeOf(String sql) {
+        return NUMBER_LITERAL.matcher(STRING_LITERAL.matcher(sql).replaceAll("?")).replaceAll("?");
+    }
+
+    private Connection counted(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    StatementStatistics statistics = StatementStatistics.current();
+                    if (statistics == null) {
+                        return result;
+                    }
+                    if (result instanceof CallableStatement) {
+                        return counted((Statement) result, CallableStatement.class, (String) args[0], statistics);
+                    }
+                    if (result instanceof PreparedStatement) {
+                        return counted((Statement) result, PreparedStatement.class, (String) args[0], statistics);
+                    }
+                    if (result instanceof Statement) {
+                        return counted((Statement) result, Statement.class, null, statistics);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Wrap a statement so that its executions are recorded
+     * @param preparedSql SQL the statement was prepared with, null for a plain Statement
+     */
+    private Statement counted(Statement statement, Class<? extends Statement> type, String preparedSql,
+                              StatementStatistics statistics) {
+        return (Statement) Proxy.newProxyInstance(StatementStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        String shape = preparedSql != null ? preparedSql
+                                : args != null && args.length > 0 && args[0] instanceof String ? shapeOf((String) args[0])
+                                : "batch";
+                        statistics.record(shape, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employeemanagement.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Creates a span for every call to a controller, EmployeeService, BranchService or a repository.
+ *
+ * Ordered first, so a service span includes the commit of its transaction. Repository spans are
+ * client spans named after the repository interface, e.g. EmployeeRepository.existsByEmail, and show
+ * the time of each query within a request.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(com.example.employeemanagement.controller..*)"
+            + " || within(com.example.employeemanagement.service.EmployeeService)"
+            + " || within(com.example.employeemanagement.service.BranchService)")
+    public Object traceComponent(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        return trace(joinPoint, name, SpanKind.INTERNAL);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        // The first proxied interface of a repository proxy is the repository interface itself
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return trace(joinPoint, interfaces[0].getSimpleName() + "." + joinPoint.getSignature().getName(), SpanKind.CLIENT);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String name, SpanKind kind) throws Throwable {
+        Span span = tracer.spanBuilder(name).setSpanKind(kind).startSpan();
+        try (Scope scope = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
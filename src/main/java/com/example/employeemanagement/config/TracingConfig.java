@@ -0,0 +1,138 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.filter.TracingFilter;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Distributed tracing with OpenTelemetry, enabled with app.tracing.enabled=true
+ *
+ * Spans are created for HTTP requests (TracingFilter), controller, service and repository calls
+ * (TracingAspect) and Kafka sends and listeners (KafkaTracing), and exported in batches over OTLP or
+ * as OTLP JSON to the log. Traces are sampled by trace id, following the decision of the caller.
+ * When disabled, the same beans are backed by the no-op OpenTelemetry implementation.
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfig.class);
+
+    /**
+     * Instrumentation scope name of all spans of the application
+     */
+    public static final String INSTRUMENTATION_NAME = "com.example.employeemanagement";
+
+    @Value("${spring.application.name}")
+    private String applicationName;
+
+    @Value("${app.tracing.sampling-probability:0.1}")
+    private double samplingProbability;
+
+    @Value("${app.tracing.exporter:otlp}")
+    private String exporter;
+
+    @Value("${app.tracing.otlp.endpoint:http://localhost:4317}")
+    private String otlpEndpoint;
+
+    /**
+     * Tracer provider exporting the sampled spans; closed with the context, which flushes pending spans
+     * @return SdkTracerProvider
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true")
+    public SdkTracerProvider sdkTracerProvider() {
+        logger.info("Tracing enabled: exporter {}, sampling probability {}", exporter, samplingProbability);
+        Resource resource = Resource.getDefault().merge(
+                Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), applicationName)));
+        return SdkTracerProvider.builder()
+                .setResource(resource)
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingProbability)))
+                .addSpanProcessor(BatchSpanProcessor.builder(spanExporter()).build())
+                .build();
+    }
+
+    /**
+     * OpenTelemetry with W3C trace context propagation, or the no-op implementation when tracing is disabled
+     * @param sdkTracerProvider tracer provider, present when tracing is enabled
+     * @return OpenTelemetry
+     */
+    @Bean
+    public OpenTelemetry openTelemetry(ObjectProvider<SdkTracerProvider> sdkTracerProvider) {
+        SdkTracerProvider tracerProvider = sdkTracerProvider.getIfAvailable();
+        if (tracerProvider == null) {
+            return OpenTelemetry.noop();
+        }
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    /**
+     * Tracer for the spans of the application
+     * @param openTelemetry OpenTelemetry
+     * @return Tracer
+     */
+    @Bean
+    public Tracer tracer(OpenTelemetry openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Aspect creating spans for controller, service and repository calls
+     * @param tracer tracer
+     * @return TracingAspect
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true")
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    /**
+     * Filter creating a server span for every /api/** request, continuing the trace of the caller
+     * Runs before the concurrency limit filter, so rejected requests are traced too
+     * @param openTelemetry OpenTelemetry
+     * @return FilterRegistrationBean for the filter
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(openTelemetry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    private SpanExporter spanExporter() {
+        switch (exporter) {
+            case "otlp":
+                return OtlpGrpcSpanExporter.builder().setEndpoint(otlpEndpoint).build();
+            case "logging":
+                return OtlpJsonLoggingSpanExporter.create();
+            default:
+                throw new IllegalStateException("Unknown app.tracing.exporter: " + exporter + " (otlp or logging)");
+        }
+    }
+}
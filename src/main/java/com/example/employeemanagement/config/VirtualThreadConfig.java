@@ -0,0 +1,95 @@
+package com.example.employeemanagement.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread execution mode, enabled with app.virtual-threads.enabled=true
+ *
+ * Runs Tomcat request handling, Kafka listener containers and streamed responses on virtual threads
+ * and limits concurrent JDBC connections to the Hikari pool size. Requires Java 21 or later at runtime;
+ * the application still compiles for Java 11, so virtual threads are created reflectively.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Executor starting a new virtual thread per task
+     * @param environment environment holding the pinning diagnostics setting
+     * @return ConcurrentTaskExecutor backed by virtual threads
+     */
+    @Bean
+    public ConcurrentTaskExecutor virtualThreadTaskExecutor(Environment environment) {
+        // Read by the JVM when the first virtual thread is created: prints the stack of every
+        // thread pinned to its carrier by blocking inside a synchronized block or native frame
+        String tracePinned = environment.getProperty("app.virtual-threads.trace-pinned", "short");
+        if (!"none".equals(tracePinned)) {
+            System.setProperty("jdk.tracePinnedThreads", tracePinned);
+        }
+        ConcurrentTaskExecutor executor = new ConcurrentTaskExecutor(newVirtualThreadPerTaskExecutor());
+        logger.info("Virtual thread execution mode enabled, pinned thread tracing: {}", tracePinned);
+        return executor;
+    }
+
+    /**
+     * Run Tomcat request processing on virtual threads
+     * @param virtualThreadTaskExecutor executor backed by virtual threads
+     * @return TomcatProtocolHandlerCustomizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+            ConcurrentTaskExecutor virtualThreadTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadTaskExecutor.getConcurrentExecutor());
+    }
+
+    /**
+     * Limit concurrent JDBC connections to the connection pool size
+     * Only the DataSource used by the application is wrapped, not the pools behind replica routing.
+     * Static so that the DataSource is wrapped before anything else uses it
+     * @param environment environment holding the pool settings
+     * @return BeanPostProcessor wrapping the DataSource
+     */
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(Environment environment) {
+        int maxConcurrency = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        long acquireTimeoutMillis = environment.getProperty("app.virtual-threads.jdbc.acquire-timeout-ms", Long.class,
+                environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource
+                        && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    logger.info("Limiting concurrent JDBC connections of {} to {}", beanName, maxConcurrency);
+                    return new ConcurrencyLimitedDataSource((DataSource) bean, maxConcurrency, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("app.virtual-threads.enabled requires Java 21 or later, running on "
+                    + System.getProperty("java.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create the virtual thread executor", e);
+        }
+    }
+}
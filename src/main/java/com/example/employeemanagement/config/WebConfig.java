@@ -1,15 +1,53 @@
 package com.example.employeemanagement.config;
 
-import org.springframework.context.annotation.Bean;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Web configuration for the application
  */
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
+public class WebConfig implements WebMvcConfigurer, DisposableBean {
+    
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    
+    @Value("${app.streaming.threads:20}")
+    private int streamingThreads;
+    
+    @Value("${app.streaming.queue-capacity:200}")
+    private int streamingQueueCapacity;
+    
+    @Value("${app.streaming.timeout-ms:300000}")
+    private long streamingTimeoutMs;
+    
+    // Present only in virtual thread execution mode, see VirtualThreadConfig
+    @Autowired(required = false)
+    @Qualifier("virtualThreadTaskExecutor")
+    private ConcurrentTaskExecutor virtualThreadTaskExecutor;
+    
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    
+    private ThreadPoolTaskExecutor streamingTaskExecutor;
     
     /**
      * Configure CORS mapping
@@ -22,4 +60,49 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .maxAge(3600);
     }
+    
+    /**
+     * Configure the CBOR and Smile converters for Accept: application/cbor and application/x-jackson-smile
+     * Spring MVC adds its own, but with a default ObjectMapper; these follow the spring.jackson settings
+     * like the JSON converter. They stay after the JSON converter, so JSON remains the default when any type is accepted
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+    
+    /**
+     * Configure the executor for streamed (NDJSON) responses
+     * Streams read their rows in pages and hold a database connection only while reading a page, so the
+     * executor is sized independently of the Hikari pool; further streams wait in a bounded queue instead of
+     * holding Tomcat threads.
+     * In virtual thread mode every stream gets a virtual thread and the JDBC limiter does the queueing
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamingTimeoutMs);
+        if (virtualThreadTaskExecutor != null) {
+            configurer.setTaskExecutor(virtualThreadTaskExecutor);
+            return;
+        }
+        streamingTaskExecutor = new ThreadPoolTaskExecutor();
+        streamingTaskExecutor.setCorePoolSize(streamingThreads);
+        streamingTaskExecutor.setMaxPoolSize(streamingThreads);
+        streamingTaskExecutor.setQueueCapacity(streamingQueueCapacity);
+        streamingTaskExecutor.setThreadNamePrefix("response-stream-");
+        streamingTaskExecutor.initialize();
+        configurer.setTaskExecutor(streamingTaskExecutor);
+    }
+    
+    @Override
+    public void destroy() {
+        if (streamingTaskExecutor != null) {
+            streamingTaskExecutor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.DeadLetterReplayResponseDto;
+import com.example.employeemanagement.service.DeadLetterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for dead-letter administration
+ */
+@RestController
+@RequestMapping("/api/admin/dead-letters")
+public class DeadLetterController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterController.class);
+    
+    @Autowired
+    private DeadLetterService deadLetterService;
+    
+    /**
+     * Replay dead-lettered events back to their original topic
+     * @param topic original topic (employee-events or branch-events)
+     * @param maxRecords maximum number of records to replay
+     * @return DeadLetterReplayResponseDto
+     */
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<DeadLetterReplayResponseDto> replay(@PathVariable String topic,
+                                                              @RequestParam(defaultValue = "100") int maxRecords) {
+        logger.info("REST request to replay up to {} dead-lettered records of topic: {}", maxRecords, topic);
+        DeadLetterReplayResponseDto response = deadLetterService.replay(topic, maxRecords);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,17 +1,35 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.config.WebConfig;
+import com.example.employeemanagement.dto.EmployeeChangesResponseDto;
+import com.example.employeemanagement.dto.EmployeeField;
 import com.example.employeemanagement.dto.EmployeeRequestDto;
 import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.service.EmployeeChangeFeedService;
+import com.example.employeemanagement.service.EmployeeReadModel;
+import com.example.employeemanagement.service.EmployeeResponseCache;
 import com.example.employeemanagement.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * REST Controller for Employee operations
@@ -23,9 +41,23 @@ public class EmployeeController {
     
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
     
+    private static final Pattern GZIP_REFUSED = Pattern.compile("q=0(\\.0*)?");
+    
     @Autowired
     private EmployeeService employeeService;
     
+    @Autowired
+    private EmployeeReadModel employeeReadModel;
+    
+    @Autowired
+    private EmployeeChangeFeedService employeeChangeFeedService;
+    
+    @Autowired
+    private EmployeeResponseCache employeeResponseCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     /**
      * Get all employees
      * @return List<EmployeeResponseDto>
@@ -33,32 +65,98 @@ public class EmployeeController {
     @GetMapping
     public ResponseEntity<List<EmployeeResponseDto>> getAllEmployees() {
         logger.info("REST request to get all employees");
-        List<EmployeeResponseDto> employees = employeeService.getAllEmployees();
+        List<EmployeeResponseDto> employees = employeeReadModel.isAvailable()
+                ? employeeReadModel.getAllEmployees()
+                : employeeService.getAllEmployees();
         return ResponseEntity.ok(employees);
     }
     
+    /**
+     * Get all employees with only the requested properties
+     * From the database only the columns of those properties are selected
+     * @param fields comma-separated EmployeeResponseDto properties, see EmployeeField
+     * @return List of employee properties
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllEmployeeFields(@RequestParam String fields) {
+        List<EmployeeField> employeeFields = EmployeeField.parse(fields);
+        logger.info("REST request to get all employees with fields: {}", employeeFields);
+        List<Map<String, Object>> employees = employeeReadModel.isAvailable()
+                ? EmployeeField.toMaps(employeeReadModel.getAllEmployees(), employeeFields)
+                : employeeService.getAllEmployeeFields(employeeFields);
+        return ResponseEntity.ok(employees);
+    }
+    
+    /**
+     * Stream all employees as newline-delimited JSON
+     * Rows are read from the database while the response is written, on a bounded executor instead of
+     * a Tomcat thread; a slow client slows down the read instead of buffering the whole list
+     * @return StreamingResponseBody
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        logger.info("REST request to stream all employees");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> employeeService.streamAllEmployees(ndjsonWriter(out)));
+    }
+    
+    /**
+     * Stream employees of a branch as newline-delimited JSON
+     * @param branchId branch id
+     * @return StreamingResponseBody
+     */
+    @GetMapping(value = "/branch/{branchId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByBranchId(@PathVariable Long branchId) {
+        logger.info("REST request to stream employees by branch id: {}", branchId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> employeeService.streamEmployeesByBranchId(branchId, ndjsonWriter(out)));
+    }
+    
+    /**
+     * Get employee changes since a change token
+     * Without a token, returns no changes and a token to follow the feed from now on
+     * @param since change token from a previous response
+     * @param limit maximum number of changes to read
+     * @return EmployeeChangesResponseDto
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<EmployeeChangesResponseDto> getEmployeeChanges(@RequestParam(required = false) String since,
+                                                                         @RequestParam(defaultValue = "100") int limit) {
+        logger.debug("REST request to get employee changes since: {}", since);
+        EmployeeChangesResponseDto changes = employeeChangeFeedService.getChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+    
     /**
      * Get employee by id
      * @param id employee id
+     * @param headers request headers, for the Accept and Accept-Encoding negotiation
      * @return EmployeeResponseDto
      */
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeResponseDto> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployeeById(@PathVariable Long id, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get employee by id: {}", id);
-        EmployeeResponseDto employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(employee);
+        EmployeeResponseDto employee = employeeReadModel.isAvailable()
+                ? employeeReadModel.getEmployeeById(id)
+                : employeeService.getEmployeeById(id);
+        return employeeResponse(employee, headers);
     }
     
     /**
      * Get employee by employee code
      * @param code employee code
+     * @param headers request headers, for the Accept and Accept-Encoding negotiation
      * @return EmployeeResponseDto
      */
     @GetMapping("/code/{code}")
-    public ResponseEntity<EmployeeResponseDto> getEmployeeByCode(@PathVariable String code) {
+    public ResponseEntity<?> getEmployeeByCode(@PathVariable String code, @RequestHeader HttpHeaders headers) {
         logger.info("REST request to get employee by code: {}", code);
-        EmployeeResponseDto employee = employeeService.getEmployeeByCode(code);
-        return ResponseEntity.ok(employee);
+        EmployeeResponseDto employee = employeeReadModel.isAvailable()
+                ? employeeReadModel.getEmployeeByCode(code)
+                : employeeService.getEmployeeByCode(code);
+        return employeeResponse(employee, headers);
     }
     
     /**
@@ -69,7 +167,26 @@ public class EmployeeController {
     @GetMapping("/branch/{branchId}")
     public ResponseEntity<List<EmployeeResponseDto>> getEmployeesByBranchId(@PathVariable Long branchId) {
         logger.info("REST request to get employees by branch id: {}", branchId);
-        List<EmployeeResponseDto> employees = employeeService.getEmployeesByBranchId(branchId);
+        List<EmployeeResponseDto> employees = employeeReadModel.isAvailable()
+                ? employeeReadModel.getEmployeesByBranchId(branchId)
+                : employeeService.getEmployeesByBranchId(branchId);
+        return ResponseEntity.ok(employees);
+    }
+    
+    /**
+     * Get employees by branch id with only the requested properties
+     * @param branchId branch id
+     * @param fields comma-separated EmployeeResponseDto properties, see EmployeeField
+     * @return List of employee properties
+     */
+    @GetMapping(value = "/branch/{branchId}", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getEmployeeFieldsByBranchId(@PathVariable Long branchId,
+                                                                                 @RequestParam String fields) {
+        List<EmployeeField> employeeFields = EmployeeField.parse(fields);
+        logger.info("REST request to get employees by branch id: {} with fields: {}", branchId, employeeFields);
+        List<Map<String, Object>> employees = employeeReadModel.isAvailable()
+                ? EmployeeField.toMaps(employeeReadModel.getEmployeesByBranchId(branchId), employeeFields)
+                : employeeService.getEmployeeFieldsByBranchId(branchId, employeeFields);
         return ResponseEntity.ok(employees);
     }
     
@@ -85,6 +202,19 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
     }
     
+    /**
+     * Create employees in bulk, all of them or none
+     * The request body can be JSON, CBOR or Smile, like the response
+     * @param employeeRequestDtos employee request data
+     * @return List<EmployeeResponseDto>
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EmployeeResponseDto>> createEmployees(@RequestBody List<EmployeeRequestDto> employeeRequestDtos) {
+        logger.info("REST request to create {} employees", employeeRequestDtos.size());
+        List<EmployeeResponseDto> createdEmployees = employeeService.createEmployees(employeeRequestDtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployees);
+    }
+    
     /**
      * Update an existing employee
      * @param id employee id
@@ -119,7 +249,9 @@ public class EmployeeController {
     @GetMapping("/search/name")
     public ResponseEntity<List<EmployeeResponseDto>> searchEmployeesByName(@RequestParam String name) {
         logger.info("REST request to search employees by name: {}", name);
-        List<EmployeeResponseDto> employees = employeeService.searchEmployeesByName(name);
+        List<EmployeeResponseDto> employees = employeeReadModel.isAvailable()
+                ? employeeReadModel.searchEmployeesByName(name)
+                : employeeService.searchEmployeesByName(name);
         return ResponseEntity.ok(employees);
     }
     
@@ -131,7 +263,9 @@ public class EmployeeController {
     @GetMapping("/search/position")
     public ResponseEntity<List<EmployeeResponseDto>> searchEmployeesByPosition(@RequestParam String position) {
         logger.info("REST request to search employees by position: {}", position);
-        List<EmployeeResponseDto> employees = employeeService.searchEmployeesByPosition(position);
+        List<EmployeeResponseDto> employees = employeeReadModel.isAvailable()
+                ? employeeReadModel.searchEmployeesByPosition(position)
+                : employeeService.searchEmployeesByPosition(position);
         return ResponseEntity.ok(employees);
     }
     
@@ -143,7 +277,103 @@ public class EmployeeController {
     @GetMapping("/search")
     public ResponseEntity<List<EmployeeResponseDto>> searchEmployees(@RequestParam String name) {
         logger.info("REST request to search employees by name: {}", name);
-        List<EmployeeResponseDto> employees = employeeService.searchEmployeesByName(name);
+        List<EmployeeResponseDto> employees = employeeReadModel.isAvailable()
+                ? employeeReadModel.searchEmployeesByName(name)
+                : employeeService.searchEmployeesByName(name);
         return ResponseEntity.ok(employees);
     }
+    
+    /**
+     * Respond with an employee in the format preferred by the Accept header
+     * JSON comes from EmployeeResponseCache; CBOR and Smile are written by the message converters
+     * @param employee current state of the employee
+     * @param headers request headers
+     * @return ResponseEntity with the employee
+     */
+    private ResponseEntity<?> employeeResponse(EmployeeResponseDto employee, HttpHeaders headers) {
+        if (prefersJson(headers)) {
+            return encodedResponse(employee, headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        }
+        return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(employee);
+    }
+    
+    /**
+     * Respond with the cached JSON encoding of an employee, gzip-compressed if the client accepts it
+     * The bytes are copied to the response as they are, without going through Jackson
+     * @param employee current state of the employee
+     * @param acceptEncoding Accept-Encoding header of the request
+     * @return ResponseEntity with the encoded employee
+     */
+    private ResponseEntity<byte[]> encodedResponse(EmployeeResponseDto employee, String acceptEncoding) {
+        EmployeeResponseCache.EncodedResponse encoded = employeeResponseCache.get(employee);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding) && employeeResponseCache.isCompressible(encoded.getJson())) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.getGzip());
+        }
+        return response.body(encoded.getJson());
+    }
+    
+    /**
+     * Whether JSON comes before CBOR and Smile in the Accept header
+     * @param headers request headers
+     * @return true if JSON is preferred or no Accept header was sent
+     */
+    static boolean prefersJson(HttpHeaders headers) {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(headers.getAccept());
+        } catch (InvalidMediaTypeException e) {
+            // Left to the message converters, which reject it like on the other endpoints
+            return false;
+        }
+        if (acceptedTypes.isEmpty()) {
+            return true;
+        }
+        MediaType.sortBySpecificityAndQuality(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.includes(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (acceptedType.includes(MediaType.APPLICATION_CBOR) || acceptedType.includes(WebConfig.APPLICATION_SMILE)) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Whether an Accept-Encoding header accepts gzip
+     * @param acceptEncoding Accept-Encoding header, may be null
+     * @return true unless gzip is missing or refused with q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !GZIP_REFUSED.matcher(parts[1].trim()).matches();
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Write every employee as one JSON line
+     * @param out response output stream
+     * @return Consumer<EmployeeResponseDto>
+     */
+    private Consumer<EmployeeResponseDto> ndjsonWriter(OutputStream out) {
+        return employee -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(employee));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 }
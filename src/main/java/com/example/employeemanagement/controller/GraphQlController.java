@@ -0,0 +1,111 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.BranchResponseDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.service.BranchService;
+import com.example.employeemanagement.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL Controller for Branch and Employee queries, see schema.graphqls
+ * The employees of branches and the branches of employees are loaded for all of them at once, not one by one.
+ */
+@Controller
+public class GraphQlController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GraphQlController.class);
+    
+    @Autowired
+    private BranchService branchService;
+    
+    @Autowired
+    private EmployeeService employeeService;
+    
+    /**
+     * Get all branches
+     * @return List<BranchResponseDto>
+     */
+    @QueryMapping
+    public List<BranchResponseDto> branches() {
+        logger.info("GraphQL request to get all branches");
+        return branchService.getAllBranches();
+    }
+    
+    /**
+     * Get branch by id
+     * @param id branch id
+     * @return BranchResponseDto
+     */
+    @QueryMapping
+    public BranchResponseDto branch(@Argument Long id) {
+        logger.info("GraphQL request to get branch with id: {}", id);
+        return branchService.getBranchById(id);
+    }
+    
+    /**
+     * Get employee by id
+     * @param id employee id
+     * @return EmployeeResponseDto
+     */
+    @QueryMapping
+    public EmployeeResponseDto employee(@Argument Long id) {
+        logger.info("GraphQL request to get employee with id: {}", id);
+        return employeeService.getEmployeeById(id);
+    }
+    
+    /**
+     * Employees of the branches of a response, in one query
+     * @param branches branches
+     * @return employees of each branch
+     */
+    @BatchMapping(typeName = "Branch")
+    public Map<BranchResponseDto, List<EmployeeResponseDto>> employees(List<BranchResponseDto> branches) {
+        Set<Long> branchIds = branches.stream().map(BranchResponseDto::getId).collect(Collectors.toSet());
+        Map<Long, List<EmployeeResponseDto>> employeesByBranchId = employeeService.getEmployeesByBranchIds(branchIds)
+                .stream()
+                .collect(Collectors.groupingBy(EmployeeResponseDto::getBranchId));
+        Map<BranchResponseDto, List<EmployeeResponseDto>> employees = new LinkedHashMap<>();
+        for (BranchResponseDto branch : branches) {
+            employees.put(branch, employeesByBranchId.getOrDefault(branch.getId(), Collections.emptyList()));
+        }
+        return employees;
+    }
+    
+    /**
+     * Branches of the employees of a response, in one query
+     * @param employees employees
+     * @return branch of each employee
+     */
+    @BatchMapping(typeName = "Employee", field = "branch")
+    public Map<EmployeeResponseDto, BranchResponseDto> branchOfEmployees(List<EmployeeResponseDto> employees) {
+        Set<Long> branchIds = employees.stream()
+                .map(EmployeeResponseDto::getBranchId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, BranchResponseDto> branchesById = branchService.getBranchesByIds(branchIds).stream()
+                .collect(Collectors.toMap(BranchResponseDto::getId, Function.identity()));
+        Map<EmployeeResponseDto, BranchResponseDto> branches = new LinkedHashMap<>();
+        for (EmployeeResponseDto employee : employees) {
+            BranchResponseDto branch = branchesById.get(employee.getBranchId());
+            if (branch != null) {
+                branches.put(employee, branch);
+            }
+        }
+        return branches;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.BranchShardMoveResponseDto;
+import com.example.employeemanagement.service.ShardMigrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for shard administration
+ */
+@RestController
+@RequestMapping("/api/admin/shards")
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardAdminController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardAdminController.class);
+    
+    @Autowired
+    private ShardMigrationService shardMigrationService;
+    
+    /**
+     * Start moving the employees of a branch to another shard in the background
+     * @param branchId branch id
+     * @param targetShard shard to move the branch to, e.g. shard-1
+     * @return BranchShardMoveResponseDto of the queued move
+     */
+    @PostMapping("/branches/{branchId}/move")
+    public ResponseEntity<BranchShardMoveResponseDto> moveBranch(@PathVariable Long branchId,
+                                                                 @RequestParam String targetShard) {
+        logger.info("REST request to move branch {} to shard: {}", branchId, targetShard);
+        BranchShardMoveResponseDto response = shardMigrationService.startBranchMove(branchId, targetShard);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * Get the state of a branch move
+     * @param moveId move id returned when the move was started
+     * @return BranchShardMoveResponseDto
+     */
+    @GetMapping("/moves/{moveId}")
+    public ResponseEntity<BranchShardMoveResponseDto> getMove(@PathVariable String moveId) {
+        logger.info("REST request to get shard move: {}", moveId);
+        BranchShardMoveResponseDto response = shardMigrationService.getBranchMove(moveId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.service.EmployeeStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for Server-Sent Events streams
+ */
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class StreamController {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StreamController.class);
+    
+    @Autowired
+    private EmployeeStreamService employeeStreamService;
+    
+    /**
+     * Subscribe to employee and branch changes
+     * @param branchId only receive changes of this branch
+     * @return SseEmitter
+     */
+    @GetMapping(value = "/employees", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployees(@RequestParam(required = false) Long branchId) {
+        logger.debug("REST request to stream employee changes for branch: {}", branchId);
+        return employeeStreamService.subscribe(branchId);
+    }
+}
@@ -28,6 +28,8 @@ public class BranchEventDto {
     
     private String userId; // User who performed the action
 
+    private String branchCode;
+
     // Constructor with essential fields
     public BranchEventDto(String eventType, Long branchId, String branchName, String address, String phoneNumber) {
         this.eventType = eventType;
@@ -0,0 +1,31 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of a background move of a branch to another shard
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchShardMoveResponseDto {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String moveId;
+    private Long branchId;
+    private String sourceShard;
+    private String targetShard;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private int movedEmployees;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
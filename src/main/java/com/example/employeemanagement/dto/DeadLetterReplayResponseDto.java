@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for dead-letter replay responses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResponseDto {
+    
+    private String topic;
+    private String deadLetterTopic;
+    private int replayedCount;
+}
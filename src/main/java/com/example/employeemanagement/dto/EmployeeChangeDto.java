@@ -0,0 +1,18 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single entry of the employee change feed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangeDto {
+    
+    private String changeType; // UPSERT, DELETE
+    private Long employeeId;
+    private EmployeeResponseDto employee; // Current state, null for DELETE
+}
@@ -0,0 +1,20 @@
+package com.example.employeemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for employee change feed responses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChangesResponseDto {
+    
+    private List<EmployeeChangeDto> changes;
+    private String nextToken; // Pass as since to get the changes after this page
+    private boolean hasMore;
+}
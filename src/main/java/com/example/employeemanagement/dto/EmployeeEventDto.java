@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -30,6 +31,20 @@ public class EmployeeEventDto {
     
     private String userId; // User who performed the action
 
+    // Full employee state, used by consumers that maintain their own view of employees
+    private String employeeCode;
+    private String firstName;
+    private String lastName;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate hireDate;
+    
+    private String position;
+    private String address;
+    private String branchCode;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
     // Constructor with essential fields
     public EmployeeEventDto(String eventType, Long employeeId, String employeeName, String email, String phoneNumber, Long branchId, String branchName) {
         this.eventType = eventType;
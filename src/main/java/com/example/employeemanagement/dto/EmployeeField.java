@@ -0,0 +1,125 @@
+package com.example.employeemanagement.dto;
+
+import com.example.employeemanagement.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Properties of EmployeeResponseDto that can be requested with ?fields=, and the Employee attributes
+ * they are read from. Only these names are accepted, so the attributes can be put in a query as they are.
+ */
+public enum EmployeeField {
+    ID("id", EmployeeResponseDto::getId, "id"),
+    EMPLOYEE_CODE("employeeCode", EmployeeResponseDto::getEmployeeCode, "employeeCode"),
+    FIRST_NAME("firstName", EmployeeResponseDto::getFirstName, "firstName"),
+    LAST_NAME("lastName", EmployeeResponseDto::getLastName, "lastName"),
+    FULL_NAME("fullName", EmployeeResponseDto::getFullName, "firstName", "lastName"),
+    EMAIL("email", EmployeeResponseDto::getEmail, "email"),
+    PHONE_NUMBER("phoneNumber", EmployeeResponseDto::getPhoneNumber, "phoneNumber"),
+    HIRE_DATE("hireDate", EmployeeResponseDto::getHireDate, "hireDate"),
+    POSITION("position", EmployeeResponseDto::getPosition, "position"),
+    ADDRESS("address", EmployeeResponseDto::getAddress, "address"),
+    CREATED_AT("createdAt", EmployeeResponseDto::getCreatedAt, "createdAt"),
+    UPDATED_AT("updatedAt", EmployeeResponseDto::getUpdatedAt, "updatedAt"),
+    BRANCH_ID("branchId", EmployeeResponseDto::getBranchId, "branch.id"),
+    BRANCH_CODE("branchCode", EmployeeResponseDto::getBranchCode, "branch.code"),
+    BRANCH_NAME("branchName", EmployeeResponseDto::getBranchName, "branch.name");
+
+    private static final Map<String, EmployeeField> BY_PROPERTY = Arrays.stream(values())
+            .collect(Collectors.toMap(EmployeeField::getProperty, Function.identity()));
+
+    private final String property;
+    private final Function<EmployeeResponseDto, Object> getter;
+    private final String[] attributes;
+
+    EmployeeField(String property, Function<EmployeeResponseDto, Object> getter, String... attributes) {
+        this.property = property;
+        this.getter = getter;
+        this.attributes = attributes;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Employee attribute paths the property is read from
+     * @return attribute paths, relative to the employee
+     */
+    public List<String> getAttributes() {
+        return Arrays.asList(attributes);
+    }
+
+    /**
+     * Value of the property from the values of its attributes
+     * @param attributeValues value of each attribute path
+     * @return property value
+     */
+    public Object value(Function<String, Object> attributeValues) {
+        if (this == FULL_NAME) {
+            return attributeValues.apply("firstName") + " " + attributeValues.apply("lastName");
+        }
+        return attributeValues.apply(attributes[0]);
+    }
+
+    /**
+     * Parse a ?fields= parameter
+     * @param fields comma-separated property names
+     * @return List<EmployeeField> in EmployeeResponseDto order, without duplicates
+     * @throws BadRequestException if no property or an unknown property is requested
+     */
+    public static List<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        for (String property : fields.split(",")) {
+            if (property.trim().isEmpty()) {
+                continue;
+            }
+            EmployeeField field = BY_PROPERTY.get(property.trim());
+            if (field == null) {
+                throw new BadRequestException("Unknown field '" + property.trim() + "', expected any of " + BY_PROPERTY.keySet());
+            }
+            parsed.add(field);
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("At least one field is required");
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    /**
+     * Properties of an employee, in the order of the fields and leaving out null values like the full response
+     * @param employee employee
+     * @param fields requested fields
+     * @return Map of property name to value
+     */
+    public static Map<String, Object> toMap(EmployeeResponseDto employee, List<EmployeeField> fields) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (EmployeeField field : fields) {
+            Object value = field.getter.apply(employee);
+            if (value != null) {
+                properties.put(field.property, value);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Properties of employees
+     * @param employees employees
+     * @param fields requested fields
+     * @return List of property maps
+     */
+    public static List<Map<String, Object>> toMaps(List<EmployeeResponseDto> employees, List<EmployeeField> fields) {
+        return employees.stream()
+                .map(employee -> toMap(employee, fields))
+                .collect(Collectors.toList());
+    }
+}
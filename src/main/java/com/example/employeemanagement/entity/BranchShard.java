@@ -0,0 +1,43 @@
+package com.example.employeemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class for the shard assignment of a branch
+ * Branches without a row live on the shard chosen by hashing their id
+ */
+@Entity
+@Table(name = "branch_shards")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchShard {
+    
+    public static final String ACTIVE = "ACTIVE";
+    public static final String MOVING = "MOVING";
+    
+    @Id
+    @Column(name = "branch_id")
+    private Long branchId;
+    
+    @Column(name = "shard", nullable = false, length = 50)
+    private String shard;
+    
+    @Column(name = "status", nullable = false, length = 10)
+    private String status; // ACTIVE, MOVING
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public BranchShard(Long branchId, String shard, String status) {
+        this.branchId = branchId;
+        this.shard = shard;
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
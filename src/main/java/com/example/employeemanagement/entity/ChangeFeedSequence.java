@@ -0,0 +1,27 @@
+package com.example.employeemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Entity class for the last feed sequence number handed out to the employee change log
+ * A single row, locked while changes are sequenced so that sequencing runs on one instance at a time
+ */
+@Entity
+@Table(name = "employee_change_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedSequence {
+    
+    public static final int ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    @Column(name = "last_feed_seq", nullable = false)
+    private Long lastFeedSeq;
+}
@@ -0,0 +1,46 @@
+package com.example.employeemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class for the employee change log
+ * Every employee write appends a row in the same transaction. The row gets its feed sequence number only
+ * after it has committed, so the feed sequence follows commit order (see EmployeeChangeFeedService)
+ */
+@Entity
+@Table(name = "employee_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+    
+    @Column(name = "feed_seq", unique = true)
+    private Long feedSeq;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    @Column(name = "change_type", nullable = false, length = 10)
+    private String changeType; // UPSERT, DELETE
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+    
+    public EmployeeChange(Long employeeId, String changeType) {
+        this.employeeId = employeeId;
+        this.changeType = changeType;
+        this.changedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.employeemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Entity class for the employee code and email of every employee, kept unique across all branches
+ * The employees table is partitioned (or sharded) by branch, so its own unique keys only hold per branch;
+ * this unpartitioned table in the global database is written in the same transaction as the employee
+ */
+@Entity
+@Table(name = "employee_identifiers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeIdentifier {
+    
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    
+    @Column(name = "employee_code", unique = true, nullable = false)
+    private String employeeCode;
+    
+    @Column(name = "email", unique = true)
+    private String email;
+}
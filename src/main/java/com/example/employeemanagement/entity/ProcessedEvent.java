@@ -0,0 +1,45 @@
+package com.example.employeemanagement.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class for events that have already been consumed
+ * Used to skip redelivered Kafka events by their event id
+ */
+@Entity
+@Table(name = "processed_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent implements Persistable<String> {
+    
+    @Id
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+    
+    @Column(nullable = false, length = 100)
+    private String topic;
+    
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    /**
+     * Markers are insert-only, so skip the merge lookup Spring Data would otherwise do for assigned ids
+     * @return event id
+     */
+    @Override
+    public String getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
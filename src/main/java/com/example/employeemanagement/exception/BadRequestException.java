@@ -0,0 +1,15 @@
+package com.example.employeemanagement.exception;
+
+/**
+ * Exception thrown when request parameters are invalid
+ */
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+    
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.employeemanagement.exception;
+
+/**
+ * Exception thrown when a change feed token is older than the retained change history
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+    
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+    
+    public ChangeTokenExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
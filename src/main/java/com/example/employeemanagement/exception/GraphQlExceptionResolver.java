@@ -0,0 +1,34 @@
+package com.example.employeemanagement.exception;
+
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingEnvironment;
+import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.stereotype.Component;
+
+/**
+ * GraphQL counterpart of GlobalExceptionHandler, reporting the application exceptions as field errors
+ */
+@Component
+public class GraphQlExceptionResolver extends DataFetcherExceptionResolverAdapter {
+
+    @Override
+    protected GraphQLError resolveToSingleError(Throwable ex, DataFetchingEnvironment env) {
+        if (ex instanceof ResourceNotFoundException) {
+            return error(ErrorType.NOT_FOUND, ex, env);
+        }
+        if (ex instanceof BadRequestException || ex instanceof DataConflictException) {
+            return error(ErrorType.BAD_REQUEST, ex, env);
+        }
+        // Anything else is reported as INTERNAL_ERROR without details
+        return null;
+    }
+
+    private GraphQLError error(ErrorType errorType, Throwable ex, DataFetchingEnvironment env) {
+        return GraphqlErrorBuilder.newError(env)
+                .errorType(errorType)
+                .message(ex.getMessage())
+                .build();
+    }
+}
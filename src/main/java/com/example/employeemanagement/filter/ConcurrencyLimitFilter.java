@@ -0,0 +1,150 @@
+package com.example.employeemanagement.filter;
+
+import com.example.employeemanagement.exception.GlobalExceptionHandler.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Sheds load on the REST API once the adaptive concurrency limit is reached.
+ *
+ * Reads and writes have separate limits, so a burst of one cannot starve the other; GraphQL queries
+ * count as reads, as marked by GraphQlOperationFilter. Requests over
+ * the limit get an immediate 503 with Retry-After instead of queueing on Tomcat threads and
+ * database connections. Long-lived streams are not limited.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final GradientConcurrencyLimit readLimit;
+    private final GradientConcurrencyLimit writeLimit;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimit readLimit,
+                                  GradientConcurrencyLimit writeLimit,
+                                  long retryAfterSeconds,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.readLimit = readLimit;
+        this.writeLimit = writeLimit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+        this.readRejections = meterRegistry.counter("http.server.concurrency.rejected", "type", "read");
+        this.writeRejections = meterRegistry.counter("http.server.concurrency.rejected", "type", "write");
+        registerGauges(meterRegistry, "read", readLimit);
+        registerGauges(meterRegistry, "write", writeLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") || path.startsWith("/api/stream/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = GraphQlOperationFilter.isRead(request);
+        GradientConcurrencyLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            (read ? readRejections : writeRejections).increment();
+            logger.debug("Rejecting {} {}, {} limit of {} reached", request.getMethod(), request.getRequestURI(),
+                        read ? "read" : "write", limit.getLimit());
+            reject(response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streamed responses hold their permit until done, but their duration is not request latency;
+                // GraphQL operations complete asynchronously too, and their duration is
+                boolean sample = GraphQlOperationFilter.isGraphQlOperation(request);
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limit, response, sample ? startNanos : -1));
+            } else {
+                limit.release(System.nanoTime() - startNanos,
+                        response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "Server is overloaded, retry later",
+            LocalDateTime.now()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String type, GradientConcurrencyLimit limit) {
+        meterRegistry.gauge("http.server.concurrency.limit", Tags.of("type", type), limit,
+                GradientConcurrencyLimit::getLimit);
+        meterRegistry.gauge("http.server.concurrency.in.flight", Tags.of("type", type), limit,
+                GradientConcurrencyLimit::getInFlight);
+    }
+
+    /**
+     * Releases the permit of an async request once its response is complete
+     * The latency is sampled from startNanos, unless it is negative
+     */
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final GradientConcurrencyLimit limit;
+        private final HttpServletResponse response;
+        private final long startNanos;
+
+        private ReleaseOnComplete(GradientConcurrencyLimit limit, HttpServletResponse response, long startNanos) {
+            this.limit = limit;
+            this.response = response;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (startNanos < 0) {
+                limit.releaseWithoutSample();
+                return;
+            }
+            limit.release(System.nanoTime() - startNanos,
+                    response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
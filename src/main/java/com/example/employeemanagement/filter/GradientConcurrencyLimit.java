@@ -0,0 +1,142 @@
+package com.example.employeemanagement.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit based on the gradient between long-term and short-term latency.
+ *
+ * Latency is sampled in windows of completed requests. While the short-term latency stays within
+ * {@code tolerance} times the long-term average the limit grows by about its square root per window;
+ * when requests start queueing (for example on database connections) the short-term latency rises,
+ * the gradient drops below one and the limit shrinks proportionally. Requests failing with 503 back
+ * the limit off right away. Windows in which fewer than half of the permits were used leave the
+ * limit alone, since their latency says nothing about what the system can handle.
+ */
+public class GradientConcurrencyLimit {
+
+    // Number of requests the long-term latency is averaged over
+    private static final int LONG_RTT_SAMPLES = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int windowSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by lock; a lock rather than synchronized so virtual threads are not pinned while waiting
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double smoothing, int windowSize) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Try to start a request
+     * @return true if the request may proceed and must be released afterwards, false if it is over the limit
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finish a request and use its latency to adjust the limit
+     * @param rttNanos time the request took
+     * @param dropped whether the request failed because the system was overloaded
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        lock.lock();
+        try {
+            sample(rttNanos, inFlightAtCompletion, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finish a request without sampling its latency, e.g. a long-running streamed response
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Current concurrency limit
+     * @return limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Number of requests currently holding a permit
+     * @return in-flight requests
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        windowRttNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        windowDropped |= dropped;
+        if (windowSamples < windowSize && !dropped) {
+            return;
+        }
+
+        updateLimit((double) windowRttNanos / windowSamples, windowSamples, windowMaxInFlight, windowDropped);
+        windowRttNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void updateLimit(double shortRttNanos, int samples, int maxInFlight, boolean dropped) {
+        double factor = Math.min(1.0, 2.0 * samples / (LONG_RTT_SAMPLES + 1));
+        longRttNanos = longRttNanos == 0
+                ? shortRttNanos
+                : longRttNanos * (1 - factor) + shortRttNanos * factor;
+        // Latency recovered far below the long-term average: let the baseline follow it down faster
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double newLimit;
+        if (dropped) {
+            newLimit = estimatedLimit * BACKOFF_RATIO;
+        } else if (maxInFlight < estimatedLimit / 2) {
+            return;
+        } else {
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+            newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        }
+
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
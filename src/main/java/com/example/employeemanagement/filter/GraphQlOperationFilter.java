@@ -0,0 +1,198 @@
+package com.example.employeemanagement.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tells GraphQL queries apart from mutations for the filters after it.
+ *
+ * Every GraphQL operation is a POST to /api/graphql, so the HTTP method says nothing about whether it
+ * writes. The body is read once, the request is marked as a read when its document holds only queries,
+ * and the buffered body is passed on to the GraphQL handler. ConcurrencyLimitFilter and
+ * ReadYourWritesFilter use the mark to treat queries like GET requests. A document that cannot be
+ * classified, or that holds any mutation or subscription, counts as a write.
+ */
+public class GraphQlOperationFilter extends OncePerRequestFilter {
+
+    static final String READ_ONLY_ATTRIBUTE = GraphQlOperationFilter.class.getName() + ".READ_ONLY";
+
+    private final ObjectMapper objectMapper;
+
+    public GraphQlOperationFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Whether a request was marked as a GraphQL operation by this filter
+     * @param request HTTP request
+     * @return true for GraphQL queries and mutations
+     */
+    static boolean isGraphQlOperation(HttpServletRequest request) {
+        return request.getAttribute(READ_ONLY_ATTRIBUTE) != null;
+    }
+
+    /**
+     * Whether a request only reads: a GET, HEAD or OPTIONS request, or a GraphQL document of queries
+     * @param request HTTP request
+     * @return true when the request does not write
+     */
+    static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)
+                || Boolean.TRUE.equals(request.getAttribute(READ_ONLY_ATTRIBUTE));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        request.setAttribute(READ_ONLY_ATTRIBUTE, isReadOnly(body));
+        filterChain.doFilter(new BufferedBodyRequest(request, body), response);
+    }
+
+    private boolean isReadOnly(byte[] body) {
+        try {
+            JsonNode query = objectMapper.readTree(body).path("query");
+            return query.isTextual() && isReadOnly(query.asText());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether a GraphQL document holds only queries
+     * Looks at the words outside of selection sets, strings and comments, which is where the operation
+     * types are; the operation name of the request is not needed, since any mutation makes it a write
+     * @param document GraphQL document
+     * @return true when no operation of the document is a mutation or subscription
+     */
+    static boolean isReadOnly(String document) {
+        int depth = 0;
+        int i = 0;
+        while (i < document.length()) {
+            char c = document.charAt(i);
+            if (c == '#') {
+                while (i < document.length() && document.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '"') {
+                i = skipString(document, i);
+            } else if (c == '{') {
+                depth++;
+                i++;
+            } else if (c == '}') {
+                depth--;
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < document.length() && (Character.isLetterOrDigit(document.charAt(i)) || document.charAt(i) == '_')) {
+                    i++;
+                }
+                boolean variable = start > 0 && document.charAt(start - 1) == '$';
+                String word = document.substring(start, i);
+                if (depth == 0 && !variable && ("mutation".equals(word) || "subscription".equals(word))) {
+                    return false;
+                }
+            } else {
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Index after the string or block string starting at an index
+     */
+    private static int skipString(String document, int start) {
+        if (document.startsWith("\"\"\"", start)) {
+            int end = document.indexOf("\"\"\"", start + 3);
+            return end < 0 ? document.length() : end + 3;
+        }
+        int i = start + 1;
+        while (i < document.length() && document.charAt(i) != '"') {
+            i += document.charAt(i) == '\\' ? 2 : 1;
+        }
+        return i + 1;
+    }
+
+    /**
+     * Request whose body, already read by the filter, can be read again
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Body is already buffered");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.employeemanagement.filter;
+
+import com.example.employeemanagement.config.ReplicaRoutingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Pins a client to the primary database for a while after it wrote.
+ *
+ * A write sets a cookie holding the time until which the client's reads must not go to a replica,
+ * which may not have replayed the write yet. Requests carrying an unexpired cookie run all their
+ * transactions on the primary. The cookie keeps this working across application nodes. GraphQL
+ * queries are reads, as marked by GraphQlOperationFilter; GraphQL mutations are writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-pin-until";
+
+    private final long pinSeconds;
+
+    public ReadYourWritesFilter(long pinSeconds) {
+        this.pinSeconds = pinSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !GraphQlOperationFilter.isRead(request);
+        if (write) {
+            // Set before the response is committed; a failed write pins the client needlessly but harmlessly
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + pinSeconds * 1000));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) pinSeconds);
+            response.addCookie(cookie);
+        }
+
+        ReplicaRoutingDataSource.setPrimaryPinned(write || pinnedUntil(request) > now);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryPinned(false);
+        }
+    }
+
+    private long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
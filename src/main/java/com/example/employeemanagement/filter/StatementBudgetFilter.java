@@ -0,0 +1,66 @@
+package com.example.employeemanagement.filter;
+
+import com.example.employeemanagement.config.StatementStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and database time of every REST request.
+ *
+ * Requests running more statements or spending more time in the database than the budget are logged
+ * as a warning, as are requests running the same statement shape repeatedly, which usually is an N+1:
+ * a lazy association or a per-item query executed once for every entity of a list.
+ */
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementBudgetFilter.class);
+
+    private final int maxStatements;
+    private final long maxDatabaseTimeMillis;
+    private final int repeatedStatementThreshold;
+
+    public StatementBudgetFilter(int maxStatements, long maxDatabaseTimeMillis, int repeatedStatementThreshold) {
+        this.maxStatements = maxStatements;
+        this.maxDatabaseTimeMillis = maxDatabaseTimeMillis;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementStatistics statistics = StatementStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStatistics.end();
+            report(request, statistics);
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementStatistics statistics) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = request.getMethod() + " " + (route != null ? route : request.getRequestURI());
+        int statements = statistics.getStatements();
+        long databaseTimeMillis = statistics.getDatabaseTimeMillis();
+
+        if (statements > maxStatements || databaseTimeMillis > maxDatabaseTimeMillis) {
+            logger.warn("{} ran {} SQL statements taking {} ms, over the budget of {} statements and {} ms",
+                    name, statements, databaseTimeMillis, maxStatements, maxDatabaseTimeMillis);
+        } else {
+            logger.debug("{} ran {} SQL statements taking {} ms", name, statements, databaseTimeMillis);
+        }
+
+        Map<String, Integer> repeated = statistics.getRepeatedStatements(repeatedStatementThreshold);
+        repeated.forEach((shape, count) ->
+                logger.warn("{} ran the same SQL statement {} times, possible N+1: {}", name, count, shape));
+    }
+}
@@ -3,8 +3,10 @@ package com.example.employeemanagement.repository;
 import com.example.employeemanagement.entity.Branch;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +59,24 @@ public interface BranchRepository extends JpaRepository<Branch, Long> {
      */
     @Query("SELECT COUNT(e) FROM Employee e WHERE e.branch.id = :branchId")
     long countEmployeesByBranchId(Long branchId);
+    
+    /**
+     * Count employees of several branches in one query
+     * Branches without employees are not returned
+     * @param branchIds branch ids
+     * @return List<EmployeeCount>
+     */
+    @Query("SELECT e.branch.id AS branchId, COUNT(e) AS employeeCount FROM Employee e "
+            + "WHERE e.branch.id IN :branchIds GROUP BY e.branch.id")
+    List<EmployeeCount> countEmployeesByBranchIds(@Param("branchIds") Collection<Long> branchIds);
+    
+    /**
+     * Number of employees of a branch
+     */
+    interface EmployeeCount {
+        
+        Long getBranchId();
+        
+        long getEmployeeCount();
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.entity.BranchShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for BranchShard entity
+ * Assignments are kept in the global database
+ */
+@Repository
+public interface BranchShardRepository extends JpaRepository<BranchShard, Long> {
+}
@@ -0,0 +1,27 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.entity.ChangeFeedSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+/**
+ * Repository interface for ChangeFeedSequence entity
+ */
+@Repository
+public interface ChangeFeedSequenceRepository extends JpaRepository<ChangeFeedSequence, Integer> {
+    
+    /**
+     * Find the sequence row and lock it until the end of the transaction
+     * @param id sequence row id
+     * @return Optional<ChangeFeedSequence>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeFeedSequence s WHERE s.id = :id")
+    Optional<ChangeFeedSequence> findForUpdate(@Param("id") Integer id);
+}
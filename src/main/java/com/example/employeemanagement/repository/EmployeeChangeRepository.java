@@ -0,0 +1,54 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.entity.EmployeeChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for EmployeeChange entity
+ */
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+    
+    /**
+     * Find changes after a feed sequence number, in feed sequence order
+     * @param feedSeq last feed sequence number already seen
+     * @param pageable page size
+     * @return List<EmployeeChange>
+     */
+    @Query("SELECT c FROM EmployeeChange c WHERE c.feedSeq > :feedSeq ORDER BY c.feedSeq")
+    List<EmployeeChange> findChangesAfter(@Param("feedSeq") Long feedSeq, Pageable pageable);
+    
+    /**
+     * Find the latest feed sequence number
+     * @return Long latest feed sequence number, null when no change has been sequenced
+     */
+    @Query("SELECT MAX(c.feedSeq) FROM EmployeeChange c")
+    Long findLatestFeedSeq();
+    
+    /**
+     * Find committed changes without a feed sequence number yet, in insert order
+     * @param pageable page size
+     * @return List<EmployeeChange>
+     */
+    @Query("SELECT c FROM EmployeeChange c WHERE c.feedSeq IS NULL ORDER BY c.seq")
+    List<EmployeeChange> findUnsequenced(Pageable pageable);
+    
+    /**
+     * Delete changes older than the given time
+     * @param cutoff changed-at cutoff
+     * @return int number of deleted changes
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmployeeChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
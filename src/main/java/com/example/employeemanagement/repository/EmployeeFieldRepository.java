@@ -0,0 +1,20 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeField;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queries of EmployeeRepository that select only some columns of employees
+ */
+public interface EmployeeFieldRepository {
+    
+    /**
+     * Find employees, selecting only the columns of the requested fields
+     * @param fields requested fields
+     * @param branchId branch id, or null for employees of all branches
+     * @return List of property maps, without null values
+     */
+    List<Map<String, Object>> findFields(List<EmployeeField> fields, Long branchId);
+}
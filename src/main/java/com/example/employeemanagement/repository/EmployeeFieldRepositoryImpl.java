@@ -0,0 +1,58 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.dto.EmployeeField;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * JPQL implementation of EmployeeFieldRepository
+ *
+ * The select list is built from the attribute paths of EmployeeField, never from request input.
+ * Paths through the branch use an implicit join, except branch.id, which is the employee's foreign key.
+ */
+public class EmployeeFieldRepositoryImpl implements EmployeeFieldRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Map<String, Object>> findFields(List<EmployeeField> fields, Long branchId) {
+        List<String> attributes = new ArrayList<>();
+        for (EmployeeField field : fields) {
+            for (String attribute : field.getAttributes()) {
+                if (!attributes.contains(attribute)) {
+                    attributes.add(attribute);
+                }
+            }
+        }
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM Employee e");
+        attributes.forEach(attribute -> select.add("e." + attribute));
+        String jpql = branchId == null ? select.toString() : select + " WHERE e.branch.id = :branchId";
+        
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        if (branchId != null) {
+            query.setParameter("branchId", branchId);
+        }
+        List<Tuple> rows = query.getResultList();
+        List<Map<String, Object>> employees = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            for (EmployeeField field : fields) {
+                Object value = field.value(attribute -> row.get(attributes.indexOf(attribute)));
+                if (value != null) {
+                    properties.put(field.getProperty(), value);
+                }
+            }
+            employees.add(properties);
+        }
+        return employees;
+    }
+}
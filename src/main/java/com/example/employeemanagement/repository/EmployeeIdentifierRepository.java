@@ -0,0 +1,12 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.entity.EmployeeIdentifier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for EmployeeIdentifier entity
+ */
+@Repository
+public interface EmployeeIdentifierRepository extends JpaRepository<EmployeeIdentifier, Long> {
+}
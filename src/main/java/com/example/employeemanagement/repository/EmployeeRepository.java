@@ -1,11 +1,14 @@
 package com.example.employeemanagement.repository;
 
 import com.example.employeemanagement.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +16,7 @@ import java.util.Optional;
  * Repository interface for Employee entity
  */
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeFieldRepository {
     
     /**
      * Find employee by employee code
@@ -30,12 +33,21 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
     
     /**
-     * Find employees by branch id
+     * Find employees by branch id, with their branch
      * @param branchId branch id
      * @return List<Employee>
      */
+    @EntityGraph(attributePaths = "branch")
     List<Employee> findByBranchId(Long branchId);
     
+    /**
+     * Find employees of several branches, with their branch
+     * @param branchIds branch ids
+     * @return List<Employee>
+     */
+    @EntityGraph(attributePaths = "branch")
+    List<Employee> findByBranchIdIn(Collection<Long> branchIds);
+    
     /**
      * Find employees by branch code
      * @param branchCode branch code
@@ -50,21 +62,25 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @param lastName last name to search
      * @return List<Employee>
      */
-    List<Employee> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(String firstName, String lastName);
+    @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) "
+            + "OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
+    List<Employee> findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(@Param("firstName") String firstName,
+                                                                                     @Param("lastName") String lastName);
     
     /**
-     * Find employees by first name containing (case insensitive)
+     * Find employees by first name containing (case insensitive), with their branch
      * @param firstName first name to search
      * @return List<Employee>
      */
-    @Query("SELECT e FROM Employee e WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%'))")
+    @Query("SELECT e FROM Employee e JOIN FETCH e.branch WHERE LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Employee> findByFirstNameContainingIgnoreCase(@Param("name") String firstName);
     
     /**
-     * Find employees by position containing (case insensitive)
+     * Find employees by position containing (case insensitive), with their branch
      * @param position position to search
      * @return List<Employee>
      */
+    @EntityGraph(attributePaths = "branch")
     List<Employee> findByPositionContainingIgnoreCase(String position);
     
     /**
@@ -104,6 +120,35 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e JOIN FETCH e.branch")
     List<Employee> findAllWithBranch();
     
+    /**
+     * Find the page of employees following an id, with branch information
+     * Reads a page in a short transaction, so that streamed responses hold no connection while writing
+     * @param afterId id of the last employee of the previous page, 0 for the first page
+     * @param pageable page size; the page number must be 0
+     * @return List<Employee> in id order
+     */
+    @Query("SELECT e FROM Employee e JOIN FETCH e.branch WHERE e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageWithBranchAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Find the page of employees of a branch following an id, with branch information
+     * @param branchId branch id
+     * @param afterId id of the last employee of the previous page, 0 for the first page
+     * @param pageable page size; the page number must be 0
+     * @return List<Employee> in id order
+     */
+    @Query("SELECT e FROM Employee e JOIN FETCH e.branch WHERE e.branch.id = :branchId AND e.id > :afterId ORDER BY e.id")
+    List<Employee> findPageByBranchIdWithBranchAfter(@Param("branchId") Long branchId, @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+    
+    /**
+     * Find employees by ids with branch information
+     * @param ids employee ids
+     * @return List<Employee>
+     */
+    @Query("SELECT e FROM Employee e JOIN FETCH e.branch WHERE e.id IN :ids")
+    List<Employee> findAllWithBranchByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Count employees by branch
      * @param branchId branch id
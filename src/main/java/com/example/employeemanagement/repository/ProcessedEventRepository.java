@@ -0,0 +1,38 @@
+package com.example.employeemanagement.repository;
+
+import com.example.employeemanagement.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ProcessedEvent entity
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+    
+    /**
+     * Find the ids of already processed events among the given ids
+     * @param eventIds event ids to look up
+     * @return List<String> ids that have been processed before
+     */
+    @Query("SELECT p.eventId FROM ProcessedEvent p WHERE p.eventId IN :eventIds")
+    List<String> findProcessedEventIds(@Param("eventIds") Collection<String> eventIds);
+    
+    /**
+     * Delete processed event markers older than the given time
+     * @param cutoff processed-at cutoff
+     * @return int number of deleted markers
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProcessedEvent p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
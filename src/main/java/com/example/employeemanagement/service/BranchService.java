@@ -1,5 +1,6 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.config.MetricsConfig;
 import com.example.employeemanagement.dto.BranchEventDto;
 import com.example.employeemanagement.dto.BranchRequestDto;
 import com.example.employeemanagement.dto.BranchResponseDto;
@@ -7,13 +8,17 @@ import com.example.employeemanagement.entity.Branch;
 import com.example.employeemanagement.exception.DataConflictException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.repository.BranchRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +26,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
 public class BranchService {
     
     private static final Logger logger = LoggerFactory.getLogger(BranchService.class);
@@ -31,6 +37,9 @@ public class BranchService {
     @Autowired
     private KafkaProducerService kafkaProducerService;
     
+    @Autowired
+    private EmployeeShardRouter shardRouter;
+    
     /**
      * Get all branches
      * @return List<BranchResponseDto>
@@ -38,10 +47,7 @@ public class BranchService {
     @Transactional(readOnly = true)
     public List<BranchResponseDto> getAllBranches() {
         logger.info("Retrieving all branches");
-        List<Branch> branches = branchRepository.findAll();
-        return branches.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return convertToResponseDtos(branchRepository.findAll());
     }
     
     /**
@@ -57,6 +63,19 @@ public class BranchService {
         return convertToResponseDto(branch);
     }
     
+    /**
+     * Get branches by ids
+     * @param ids branch ids
+     * @return List<BranchResponseDto> branches that exist, in no particular order
+     */
+    @Transactional(readOnly = true)
+    public List<BranchResponseDto> getBranchesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return convertToResponseDtos(branchRepository.findAllById(ids));
+    }
+    
     /**
      * Get branch by code
      * @param code branch code
@@ -85,23 +104,12 @@ public class BranchService {
         
         Branch branch = convertToEntity(branchRequestDto);
         Branch savedBranch = branchRepository.save(branch);
+        shardRouter.branchCreated(savedBranch);
         logger.info("Branch created successfully with id: {}", savedBranch.getId());
         
-        // Publish branch creation event to Kafka
-        try {
-            BranchEventDto eventDto = new BranchEventDto(
-                "CREATE",
-                savedBranch.getId(),
-                savedBranch.getName(),
-                savedBranch.getAddress(),
-                savedBranch.getPhoneNumber()
-            );
-            kafkaProducerService.publishBranchEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish branch creation event for branch id: {}", savedBranch.getId(), e);
-        }
-        
-        return convertToResponseDto(savedBranch);
+        // Publish branch creation event to Kafka; a new branch has no employees yet
+        publishAfterCommit("CREATE", savedBranch, 0);
+        return convertToResponseDto(savedBranch, 0);
     }
     
     /**
@@ -129,23 +137,13 @@ public class BranchService {
         existingBranch.setPhoneNumber(branchRequestDto.getPhoneNumber());
         
         Branch updatedBranch = branchRepository.save(existingBranch);
+        shardRouter.branchUpdated(updatedBranch);
         logger.info("Branch updated successfully with id: {}", updatedBranch.getId());
         
         // Publish branch update event to Kafka
-        try {
-            BranchEventDto eventDto = new BranchEventDto(
-                "UPDATE",
-                updatedBranch.getId(),
-                updatedBranch.getName(),
-                updatedBranch.getAddress(),
-                updatedBranch.getPhoneNumber()
-            );
-            kafkaProducerService.publishBranchEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish branch update event for branch id: {}", updatedBranch.getId(), e);
-        }
-        
-        return convertToResponseDto(updatedBranch);
+        long employeeCount = countEmployees(id);
+        publishAfterCommit("UPDATE", updatedBranch, employeeCount);
+        return convertToResponseDto(updatedBranch, employeeCount);
     }
     
     /**
@@ -159,29 +157,27 @@ public class BranchService {
                 .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + id));
         
         // Check if branch has employees
-        long employeeCount = branchRepository.countEmployeesByBranchId(id);
+        long employeeCount = countEmployees(id);
         if (employeeCount > 0) {
             throw new DataConflictException("Cannot delete branch with " + employeeCount + " employees. Please reassign employees first.");
         }
         
         // Store branch data for Kafka event before deletion
-        BranchEventDto eventDto = new BranchEventDto(
-            "DELETE",
-            branch.getId(),
-            branch.getName(),
-            branch.getAddress(),
-            branch.getPhoneNumber()
-        );
+        BranchEventDto eventDto = createEventDto("DELETE", branch);
         
         branchRepository.delete(branch);
+        shardRouter.branchDeleted(id);
         logger.info("Branch deleted successfully with id: {}", id);
         
-        // Publish branch deletion event to Kafka
-        try {
-            kafkaProducerService.publishBranchEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish branch deletion event for branch id: {}", id, e);
-        }
+        // Publish branch deletion event to Kafka once the deletion is committed
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                kafkaProducerService.publishBranchEvent(eventDto);
+            } catch (Exception e) {
+                logger.warn("Failed to publish branch deletion event for branch id: {}", id, e);
+            }
+            kafkaProducerService.publishBranchTombstone(id);
+        });
     }
     
     /**
@@ -192,10 +188,25 @@ public class BranchService {
     @Transactional(readOnly = true)
     public List<BranchResponseDto> searchBranchesByName(String name) {
         logger.info("Searching branches by name: {}", name);
-        List<Branch> branches = branchRepository.findByNameContainingIgnoreCase(name);
-        return branches.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return convertToResponseDtos(branchRepository.findByNameContainingIgnoreCase(name));
+    }
+    
+    /**
+     * Publish the event and state of a written branch once the transaction commits, so that nothing is
+     * published for a write that is rolled back. The DTO is built after commit, with the timestamps set by the flush
+     * @param eventType CREATE or UPDATE
+     * @param branch saved Branch entity
+     * @param employeeCount number of employees of the branch, counted before commit
+     */
+    private void publishAfterCommit(String eventType, Branch branch, long employeeCount) {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                kafkaProducerService.publishBranchEvent(createEventDto(eventType, branch));
+            } catch (Exception e) {
+                logger.warn("Failed to publish branch {} event for branch id: {}", eventType, branch.getId(), e);
+            }
+            kafkaProducerService.publishBranchState(convertToResponseDto(branch, employeeCount));
+        });
     }
     
     /**
@@ -204,12 +215,35 @@ public class BranchService {
      * @return BranchResponseDto
      */
     private BranchResponseDto convertToResponseDto(Branch branch) {
-        int employeeCount = branch.getEmployees() != null ? branch.getEmployees().size() : 0;
-        // If employees not loaded, count from repository
-        if (branch.getEmployees() == null) {
-            employeeCount = (int) branchRepository.countEmployeesByBranchId(branch.getId());
+        return convertToResponseDto(branch, countEmployees(branch.getId()));
+    }
+    
+    /**
+     * Convert Branch entities to BranchResponseDtos, counting the employees of all branches in one query per shard
+     * @param branches Branch entities
+     * @return List<BranchResponseDto>
+     */
+    private List<BranchResponseDto> convertToResponseDtos(List<Branch> branches) {
+        if (branches.isEmpty()) {
+            return Collections.emptyList();
         }
-        
+        List<Long> branchIds = branches.stream().map(Branch::getId).collect(Collectors.toList());
+        Map<Long, Long> employeeCounts = shardRouter.onBranches(branchIds, branchRepository::countEmployeesByBranchIds)
+                .stream()
+                .collect(Collectors.toMap(BranchRepository.EmployeeCount::getBranchId,
+                        BranchRepository.EmployeeCount::getEmployeeCount));
+        return branches.stream()
+                .map(branch -> convertToResponseDto(branch, employeeCounts.getOrDefault(branch.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Convert Branch entity to BranchResponseDto
+     * @param branch Branch entity
+     * @param employeeCount number of employees of the branch
+     * @return BranchResponseDto
+     */
+    private BranchResponseDto convertToResponseDto(Branch branch, long employeeCount) {
         return new BranchResponseDto(
             branch.getId(),
             branch.getCode(),
@@ -218,8 +252,35 @@ public class BranchService {
             branch.getPhoneNumber(),
             branch.getCreatedAt(),
             branch.getUpdatedAt(),
-            employeeCount
+            (int) employeeCount
+        );
+    }
+    
+    /**
+     * Count the employees of a branch on the shard holding them
+     * @param branchId branch id
+     * @return long
+     */
+    private long countEmployees(Long branchId) {
+        return shardRouter.onBranch(branchId, () -> branchRepository.countEmployeesByBranchId(branchId));
+    }
+    
+    /**
+     * Create a Kafka event carrying the current state of a branch
+     * @param eventType CREATE, UPDATE or DELETE
+     * @param branch Branch entity
+     * @return BranchEventDto
+     */
+    private BranchEventDto createEventDto(String eventType, Branch branch) {
+        BranchEventDto eventDto = new BranchEventDto(
+            eventType,
+            branch.getId(),
+            branch.getName(),
+            branch.getAddress(),
+            branch.getPhoneNumber()
         );
+        eventDto.setBranchCode(branch.getCode());
+        return eventDto;
     }
     
     /**
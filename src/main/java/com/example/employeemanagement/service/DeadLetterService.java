@@ -0,0 +1,154 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.DeadLetterReplayResponseDto;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Service for replaying dead-lettered Kafka events
+ * Re-publishes records from {topic}-dlt to their original topic, tracking progress with a
+ * dedicated consumer group so that every dead-lettered record is replayed at most once per request
+ */
+@Service
+public class DeadLetterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterService.class);
+
+    private static final List<String> REPLAYABLE_TOPICS = Arrays.asList("employee-events", "branch-events");
+    private static final String REPLAY_GROUP_ID = "employee-management-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Autowired
+    @Qualifier("retryKafkaTemplate")
+    private KafkaTemplate<String, Object> retryKafkaTemplate;
+
+    /**
+     * Replay dead-lettered events back to their original topic
+     * @param topic original topic (employee-events or branch-events)
+     * @param maxRecords maximum number of records to replay
+     * @return DeadLetterReplayResponseDto
+     */
+    public DeadLetterReplayResponseDto replay(String topic, int maxRecords) {
+        if (!REPLAYABLE_TOPICS.contains(topic)) {
+            throw new ResourceNotFoundException("Dead-letter topic not found for: " + topic);
+        }
+
+        String deadLetterTopic = EventRetryService.deadLetterTopic(topic);
+        logger.info("Replaying up to {} records from {} to {}", maxRecords, deadLetterTopic, topic);
+
+        int replayed = 0;
+        try (KafkaConsumer<String, byte[]> consumer = createReplayConsumer(maxRecords)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(deadLetterTopic);
+            if (partitions == null || partitions.isEmpty()) {
+                return new DeadLetterReplayResponseDto(topic, deadLetterTopic, 0);
+            }
+            consumer.assign(partitions.stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .collect(Collectors.toList()));
+
+            while (replayed < maxRecords) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                List<ListenableFuture<SendResult<String, Object>>> sends = new ArrayList<>();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (replayed == maxRecords) {
+                        break;
+                    }
+                    sends.add(retryKafkaTemplate.send(toReplayRecord(topic, record)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                                new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+
+                awaitSends(sends);
+                consumer.commitSync(offsets);
+                // Records polled beyond maxRecords are re-read from the committed offsets next time
+                offsets.forEach((partition, offset) -> consumer.seek(partition, offset.offset()));
+            }
+        }
+
+        logger.info("Replayed {} records from {} to {}", replayed, deadLetterTopic, topic);
+        return new DeadLetterReplayResponseDto(topic, deadLetterTopic, replayed);
+    }
+
+    private KafkaConsumer<String, byte[]> createReplayConsumer(int maxRecords) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.GROUP_ID_CONFIG, REPLAY_GROUP_ID);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, Math.min(maxRecords, 500)));
+        return new KafkaConsumer<>(configProps);
+    }
+
+    /**
+     * Build the record sent back to the original topic
+     * The raw payload and its type headers are kept, retry and failure headers are dropped
+     */
+    private ProducerRecord<String, Object> toReplayRecord(String topic, ConsumerRecord<String, byte[]> record) {
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith(KafkaHeaders.PREFIX + "dlt-") && !header.key().startsWith("x-retry-")) {
+                headers.add(header);
+            }
+        }
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), headers);
+    }
+
+    private void awaitSends(List<ListenableFuture<SendResult<String, Object>>> sends) {
+        try {
+            for (ListenableFuture<SendResult<String, Object>> send : sends) {
+                send.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while replaying dead-lettered records", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to replay dead-lettered records", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeChangeDto;
+import com.example.employeemanagement.dto.EmployeeChangesResponseDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.ChangeFeedSequence;
+import com.example.employeemanagement.entity.EmployeeChange;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ChangeTokenExpiredException;
+import com.example.employeemanagement.repository.ChangeFeedSequenceRepository;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the incremental employee change feed.
+ *
+ * Changes are read from the employee_changes log in feed sequence order and collapsed to the latest
+ * change per employee. Tokens are opaque to clients and carry the last feed sequence number seen plus
+ * the time of that change, which tells whether the changes after it are still retained.
+ *
+ * The insert sequence of a change follows insert order, not commit order, so a slow transaction can
+ * commit a change below one a client has already moved past. Committed changes are therefore given
+ * feed sequence numbers by sequenceChanges, one instance at a time, and only those are served: a change
+ * committing late simply gets a later feed sequence number.
+ */
+@Service
+public class EmployeeChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeedService.class);
+
+    // v1 tokens carried insert sequence numbers
+    private static final String TOKEN_VERSION = "v2";
+    private static final String INSERT_SEQ_TOKEN_VERSION = "v1";
+    private static final int MAX_LIMIT = 1000;
+    private static final int SEQUENCE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Autowired
+    private ChangeFeedSequenceRepository changeFeedSequenceRepository;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Value("${app.changes.retention-days:30}")
+    private long retentionDays;
+
+    /**
+     * Get employee changes after a change token
+     * @param since token from a previous response, or null to start from the latest change
+     * @param limit maximum number of changes to read
+     * @return EmployeeChangesResponseDto
+     */
+    // Not read-only: a lagging replica could serve an older state of an employee whose change the token moves past
+    @Transactional
+    public EmployeeChangesResponseDto getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        if (since == null || since.isEmpty()) {
+            // Clients download the full directory first and then follow the feed from here
+            Long latestSeq = employeeChangeRepository.findLatestFeedSeq();
+            return new EmployeeChangesResponseDto(Collections.emptyList(),
+                    encodeToken(latestSeq != null ? latestSeq : 0L, now), false);
+        }
+
+        long sinceSeq = decodeToken(since);
+        List<EmployeeChange> page = employeeChangeRepository.findChangesAfter(sinceSeq, PageRequest.of(0, limit + 1));
+        boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = page.subList(0, limit);
+        }
+        if (page.isEmpty()) {
+            return new EmployeeChangesResponseDto(Collections.emptyList(), encodeToken(sinceSeq, now), false);
+        }
+
+        EmployeeChange last = page.get(page.size() - 1);
+        return new EmployeeChangesResponseDto(toChangeDtos(page),
+                encodeToken(last.getFeedSeq(), hasMore ? last.getChangedAt() : now), hasMore);
+    }
+
+    /**
+     * Give committed changes their feed sequence numbers, in insert order
+     * The sequence row stays locked until commit, so the numbers of one run become visible together and
+     * after those of the previous run; changes committed meanwhile are picked up by the next run
+     * @return number of changes sequenced
+     */
+    @Scheduled(fixedDelayString = "${app.changes.sequence-interval-ms:200}")
+    @Transactional
+    public int sequenceChanges() {
+        ChangeFeedSequence sequence = changeFeedSequenceRepository.findForUpdate(ChangeFeedSequence.ID)
+                .orElseGet(() -> changeFeedSequenceRepository.save(new ChangeFeedSequence(ChangeFeedSequence.ID, 0L)));
+        List<EmployeeChange> changes = employeeChangeRepository.findUnsequenced(PageRequest.of(0, SEQUENCE_BATCH_SIZE));
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        long feedSeq = sequence.getLastFeedSeq();
+        for (EmployeeChange change : changes) {
+            change.setFeedSeq(++feedSeq);
+        }
+        sequence.setLastFeedSeq(feedSeq);
+        logger.debug("Sequenced {} employee changes up to {}", changes.size(), feedSeq);
+        return changes.size();
+    }
+
+    /**
+     * Purge changes that are older than the retention period
+     * Tokens pointing before the purged range are rejected with 410 Gone, forcing a full resync
+     */
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval-ms:3600000}",
+               initialDelayString = "${app.changes.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = employeeChangeRepository.deleteChangedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("Purged {} employee changes older than {} days", deleted, retentionDays);
+        }
+    }
+
+    /**
+     * Collapse a page of changes to the latest change per employee, keeping change order
+     */
+    private List<EmployeeChangeDto> toChangeDtos(List<EmployeeChange> page) {
+        Map<Long, String> latestChanges = new LinkedHashMap<>();
+        for (EmployeeChange change : page) {
+            latestChanges.remove(change.getEmployeeId());
+            latestChanges.put(change.getEmployeeId(), change.getChangeType());
+        }
+
+        List<Long> upsertedIds = latestChanges.entrySet().stream()
+                .filter(entry -> EmployeeChange.UPSERT.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        Map<Long, EmployeeResponseDto> employees = employeeService.getEmployeesByIds(upsertedIds).stream()
+                .collect(Collectors.toMap(EmployeeResponseDto::getId, Function.identity()));
+
+        List<EmployeeChangeDto> changes = new ArrayList<>(latestChanges.size());
+        latestChanges.forEach((employeeId, changeType) -> {
+            EmployeeResponseDto employee = employees.get(employeeId);
+            // An upserted employee that no longer exists has been deleted by a later change
+            changes.add(employee != null
+                    ? new EmployeeChangeDto(EmployeeChange.UPSERT, employeeId, employee)
+                    : new EmployeeChangeDto(EmployeeChange.DELETE, employeeId, null));
+        });
+        return changes;
+    }
+
+    private String encodeToken(long seq, LocalDateTime changedAt) {
+        long changedAtMillis = changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String token = TOKEN_VERSION + ":" + seq + ":" + changedAtMillis;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeToken(String token) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid change token: " + token, e);
+        }
+        if (parts.length == 3 && INSERT_SEQ_TOKEN_VERSION.equals(parts[0])) {
+            throw new ChangeTokenExpiredException("Change token is no longer supported, reload all employees and start a new feed");
+        }
+        if (parts.length != 3 || !TOKEN_VERSION.equals(parts[0])) {
+            throw new BadRequestException("Invalid change token: " + token);
+        }
+
+        long seq;
+        long changedAtMillis;
+        try {
+            seq = Long.parseLong(parts[1]);
+            changedAtMillis = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid change token: " + token, e);
+        }
+
+        Instant retainedFrom = Instant.now().minus(Duration.ofDays(retentionDays));
+        if (Instant.ofEpochMilli(changedAtMillis).isBefore(retainedFrom)) {
+            throw new ChangeTokenExpiredException("Change token has expired, reload all employees and start a new feed");
+        }
+        return seq;
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.BranchEventDto;
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.BranchRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-process read model of employees joined with their branch, built from employee-events and
+ * branch-events by a consumer group of its own per instance, so that every instance sees every event.
+ *
+ * Every employee is kept as a ready-to-serve EmployeeResponseDto, indexed by id, code and branch,
+ * so that the employee GET endpoints can be answered without touching the database. The model is
+ * seeded from the database by EmployeeReadModelConsumer when its partitions are first assigned, and is
+ * eventually consistent afterwards; its lag behind the write side is published as the read.model.lag timer.
+ *
+ * Events may be delivered more than once or out of order, so an employee state older than the one
+ * held (by updatedAt) is skipped, as is any state of an employee deleted within the retention window;
+ * ids are not reused.
+ */
+@Component
+public class EmployeeReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReadModel.class);
+
+    private final EmployeeService employeeService;
+    private final BranchRepository branchRepository;
+    private final boolean enabled;
+    private final long deletedRetentionMillis;
+    private final Timer employeeLag;
+    private final Timer branchLag;
+
+    private final Map<Long, EmployeeResponseDto> employees = new ConcurrentHashMap<>();
+    private final Map<String, Long> employeeIdsByCode = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> employeeIdsByBranch = new ConcurrentHashMap<>();
+    private final Map<Long, BranchRef> branches = new ConcurrentHashMap<>();
+
+    // Deletion time of deleted employees, so that a redelivered event does not bring them back
+    private final Map<Long, Long> deletedAt = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public EmployeeReadModel(EmployeeService employeeService,
+                             BranchRepository branchRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.read-model.enabled:false}") boolean enabled,
+                             @Value("${app.read-model.deleted-retention-ms:3600000}") long deletedRetentionMillis) {
+        this.employeeService = employeeService;
+        this.branchRepository = branchRepository;
+        this.enabled = enabled;
+        this.deletedRetentionMillis = deletedRetentionMillis;
+        this.employeeLag = Timer.builder("read.model.lag").tag("entity", "employee")
+                .description("Time between an event being published and being applied to the read model")
+                .register(meterRegistry);
+        this.branchLag = Timer.builder("read.model.lag").tag("entity", "branch")
+                .description("Time between an event being published and being applied to the read model")
+                .register(meterRegistry);
+        meterRegistry.gauge("read.model.employees", employees, Map::size);
+    }
+
+    /**
+     * Seed the read model from the database
+     * Called before the read model consumer polls, so events from the offsets it seeks to afterwards are
+     * applied on top; entries already written by the consumer are kept unless the seed is newer
+     * @return true when the read model is seeded
+     */
+    public boolean seed() {
+        if (!enabled) {
+            return false;
+        }
+        logger.info("Seeding employee read model from the database");
+        try {
+            for (Branch branch : branchRepository.findAll()) {
+                branches.putIfAbsent(branch.getId(), new BranchRef(branch.getCode(), branch.getName()));
+            }
+            for (EmployeeResponseDto employee : employeeService.getAllEmployees()) {
+                if (!deletedAt.containsKey(employee.getId())) {
+                    employees.compute(employee.getId(),
+                            (id, previous) -> previous != null && !isOlder(previous, employee) ? previous : index(previous, employee));
+                }
+            }
+            ready = true;
+            logger.info("Employee read model seeded with {} employees and {} branches", employees.size(), branches.size());
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to seed employee read model, employee reads stay on the database", e);
+            return false;
+        }
+    }
+
+    /**
+     * Forget employees deleted longer ago than the retention window
+     * Redelivered events are not expected to arrive that late
+     */
+    @Scheduled(fixedDelayString = "${app.read-model.deleted-purge-interval-ms:60000}")
+    public void purgeDeleted() {
+        long expiredBefore = System.currentTimeMillis() - deletedRetentionMillis;
+        deletedAt.values().removeIf(deletedMillis -> deletedMillis <= expiredBefore);
+    }
+
+    /**
+     * Whether employee reads should be served from the read model
+     * @return true when the read model is enabled and seeded
+     */
+    public boolean isAvailable() {
+        return enabled && ready;
+    }
+
+    /**
+     * Apply employee CREATE or UPDATE events, skipping states older than the one held
+     * @param events employee events in partition order
+     */
+    public void upsertEmployees(List<EmployeeEventDto> events) {
+        if (!enabled) {
+            return;
+        }
+        for (EmployeeEventDto event : events) {
+            if (event.getEmployeeCode() == null) {
+                // Published before events carried the full employee state
+                logger.debug("Skipping employee event {} without employee state", event.getEventId());
+                continue;
+            }
+            BranchRef branch = branches.computeIfAbsent(event.getBranchId(),
+                    id -> new BranchRef(event.getBranchCode(), event.getBranchName()));
+            EmployeeResponseDto employee = new EmployeeResponseDto(
+                event.getEmployeeId(),
+                event.getEmployeeCode(),
+                event.getFirstName(),
+                event.getLastName(),
+                event.getEmail(),
+                event.getPhoneNumber(),
+                event.getHireDate(),
+                event.getPosition(),
+                event.getAddress(),
+                event.getCreatedAt(),
+                event.getUpdatedAt(),
+                event.getBranchId(),
+                branch.code,
+                branch.name
+            );
+            if (deletedAt.containsKey(event.getEmployeeId())) {
+                logger.debug("Skipping employee event {} of deleted employee {}", event.getEventId(), event.getEmployeeId());
+                continue;
+            }
+            employees.compute(event.getEmployeeId(),
+                    (id, previous) -> isOlder(employee, previous) ? previous : index(previous, employee));
+            recordLag(employeeLag, event.getTimestamp());
+        }
+    }
+
+    /**
+     * Apply employee DELETE events
+     * @param events employee events in partition order
+     */
+    public void removeEmployees(List<EmployeeEventDto> events) {
+        if (!enabled) {
+            return;
+        }
+        for (EmployeeEventDto event : events) {
+            deletedAt.put(event.getEmployeeId(), System.currentTimeMillis());
+            employees.computeIfPresent(event.getEmployeeId(), (id, previous) -> index(previous, null));
+            recordLag(employeeLag, event.getTimestamp());
+        }
+    }
+
+    /**
+     * Apply branch CREATE or UPDATE events and refresh the branch data of their employees
+     * @param events branch events in partition order
+     */
+    public void upsertBranches(List<BranchEventDto> events) {
+        if (!enabled) {
+            return;
+        }
+        for (BranchEventDto event : events) {
+            BranchRef branch = new BranchRef(event.getBranchCode(), event.getBranchName());
+            branches.put(event.getBranchId(), branch);
+            for (Long employeeId : employeeIdsByBranch.getOrDefault(event.getBranchId(), Collections.emptySet())) {
+                employees.computeIfPresent(employeeId, (id, previous) -> withBranch(previous, branch));
+            }
+            recordLag(branchLag, event.getTimestamp());
+        }
+    }
+
+    /**
+     * Apply branch DELETE events
+     * @param events branch events in partition order
+     */
+    public void removeBranches(List<BranchEventDto> events) {
+        if (!enabled) {
+            return;
+        }
+        for (BranchEventDto event : events) {
+            branches.remove(event.getBranchId());
+            recordLag(branchLag, event.getTimestamp());
+        }
+    }
+
+    /**
+     * Get all employees
+     * @return List<EmployeeResponseDto>
+     */
+    public List<EmployeeResponseDto> getAllEmployees() {
+        return find(employee -> true);
+    }
+
+    /**
+     * Get employee by id
+     * @param id employee id
+     * @return EmployeeResponseDto
+     */
+    public EmployeeResponseDto getEmployeeById(Long id) {
+        EmployeeResponseDto employee = employees.get(id);
+        if (employee == null) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+        return employee;
+    }
+
+    /**
+     * Get employee by employee code
+     * @param employeeCode employee code
+     * @return EmployeeResponseDto
+     */
+    public EmployeeResponseDto getEmployeeByCode(String employeeCode) {
+        Long id = employeeIdsByCode.get(employeeCode);
+        EmployeeResponseDto employee = id != null ? employees.get(id) : null;
+        if (employee == null) {
+            throw new ResourceNotFoundException("Employee not found with code: " + employeeCode);
+        }
+        return employee;
+    }
+
+    /**
+     * Get employees by branch id
+     * @param branchId branch id
+     * @return List<EmployeeResponseDto>
+     */
+    public List<EmployeeResponseDto> getEmployeesByBranchId(Long branchId) {
+        if (!branches.containsKey(branchId)) {
+            throw new ResourceNotFoundException("Branch not found with id: " + branchId);
+        }
+        return employeeIdsByBranch.getOrDefault(branchId, Collections.emptySet()).stream()
+                .map(employees::get)
+                .filter(employee -> employee != null)
+                .sorted(Comparator.comparing(EmployeeResponseDto::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Search employees by first name
+     * @param name employee name
+     * @return List<EmployeeResponseDto>
+     */
+    public List<EmployeeResponseDto> searchEmployeesByName(String name) {
+        String term = name.toLowerCase(Locale.ROOT);
+        return find(employee -> contains(employee.getFirstName(), term));
+    }
+
+    /**
+     * Search employees by position
+     * @param position employee position
+     * @return List<EmployeeResponseDto>
+     */
+    public List<EmployeeResponseDto> searchEmployeesByPosition(String position) {
+        String term = position.toLowerCase(Locale.ROOT);
+        return find(employee -> contains(employee.getPosition(), term));
+    }
+
+    private List<EmployeeResponseDto> find(Predicate<EmployeeResponseDto> filter) {
+        return employees.values().stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(EmployeeResponseDto::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean contains(String value, String lowerCaseTerm) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    /**
+     * Move the code and branch index entries of an employee from its previous to its current state
+     * Called from within compute() on the employee, so index updates of one employee never interleave
+     * @return the current state, null when the employee was removed
+     */
+    private EmployeeResponseDto index(EmployeeResponseDto previous, EmployeeResponseDto current) {
+        if (previous != null) {
+            employeeIdsByCode.remove(previous.getEmployeeCode(), previous.getId());
+            Set<Long> branchEmployees = employeeIdsByBranch.get(previous.getBranchId());
+            if (branchEmployees != null) {
+                branchEmployees.remove(previous.getId());
+            }
+        }
+        if (current != null) {
+            employeeIdsByCode.put(current.getEmployeeCode(), current.getId());
+            employeeIdsByBranch.computeIfAbsent(current.getBranchId(), id -> ConcurrentHashMap.newKeySet())
+                    .add(current.getId());
+        }
+        return current;
+    }
+
+    /**
+     * Whether a state is older than the one held, so that a redelivered or reordered event cannot roll it back
+     * States without updatedAt, published before events carried it, are never considered older
+     */
+    private static boolean isOlder(EmployeeResponseDto employee, EmployeeResponseDto previous) {
+        return previous != null && previous.getUpdatedAt() != null && employee.getUpdatedAt() != null
+                && employee.getUpdatedAt().isBefore(previous.getUpdatedAt());
+    }
+
+    private static EmployeeResponseDto withBranch(EmployeeResponseDto employee, BranchRef branch) {
+        return new EmployeeResponseDto(
+            employee.getId(),
+            employee.getEmployeeCode(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            employee.getEmail(),
+            employee.getPhoneNumber(),
+            employee.getHireDate(),
+            employee.getPosition(),
+            employee.getAddress(),
+            employee.getCreatedAt(),
+            employee.getUpdatedAt(),
+            employee.getBranchId(),
+            branch.code,
+            branch.name
+        );
+    }
+
+    private static void recordLag(Timer timer, LocalDateTime publishedAt) {
+        if (publishedAt != null) {
+            timer.record(Duration.between(publishedAt, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Branch data joined into the employees of a branch
+     */
+    private static final class BranchRef {
+        private final String code;
+        private final String name;
+
+        private BranchRef(String code, String name) {
+            this.code = code;
+            this.name = name;
+        }
+    }
+}
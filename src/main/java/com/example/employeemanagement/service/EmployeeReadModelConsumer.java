@@ -0,0 +1,106 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.BranchEventDto;
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka consumer keeping the EmployeeReadModel of this node up to date
+ *
+ * The read model is seeded when the partitions are first assigned, before the first poll: the end offsets
+ * are read first, then the database, and the consumer seeks to those offsets. Every event from the offsets
+ * on is applied on top of the seed, and every event before them was published after its transaction
+ * committed, so its change is already in the database; no update falls in between.
+ */
+@Service
+public class EmployeeReadModelConsumer implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReadModelConsumer.class);
+
+    @Autowired
+    private EmployeeReadModel employeeReadModel;
+
+    @Autowired
+    @Qualifier("batchConsumerFactory")
+    private ConsumerFactory<String, Object> consumerFactory;
+
+    private volatile boolean seeded;
+
+    /**
+     * Apply employee and branch events to the read model of this node
+     * Every node uses its own consumer group, so that its read model holds every employee regardless of
+     * how the main consumer group partitions are assigned. The shared dedup is not used: the read model
+     * skips employee states older than the ones it holds, so redelivered events are harmless
+     * @param records Employee and branch event records received in a single poll
+     * @param acknowledgment Acknowledgment used to commit the batch offsets
+     */
+    @KafkaListener(topics = {"employee-events", "branch-events"},
+                   groupId = "#{'employee-management-read-model-' + @kafkaConfig.instanceId}",
+                   containerFactory = "batchKafkaListenerContainerFactory",
+                   // Only used for partitions added after the seed; the seed positions all others
+                   properties = "auto.offset.reset=latest",
+                   // Overrides the container factory setting, so app.kafka.listeners.auto-startup is checked here too
+                   autoStartup = "#{${app.read-model.enabled:false} and ${app.kafka.listeners.auto-startup:true}}")
+    public void applyToReadModel(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof EmployeeEventDto) {
+                EmployeeEventDto event = (EmployeeEventDto) record.value();
+                if ("DELETE".equals(event.getEventType())) {
+                    employeeReadModel.removeEmployees(Collections.singletonList(event));
+                } else {
+                    employeeReadModel.upsertEmployees(Collections.singletonList(event));
+                }
+            } else if (record.value() instanceof BranchEventDto) {
+                BranchEventDto event = (BranchEventDto) record.value();
+                if ("DELETE".equals(event.getEventType())) {
+                    employeeReadModel.removeBranches(Collections.singletonList(event));
+                } else {
+                    employeeReadModel.upsertBranches(Collections.singletonList(event));
+                }
+            }
+        }
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Seed the read model on the first assignment and seek to the end offsets read before the seed
+     * Later assignments resume from the committed offsets
+     * @param assignments assigned partitions with their current offsets
+     * @param callback callback used to seek the assigned partitions
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (seeded || assignments.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, Long> endOffsets = endOffsets(assignments.keySet());
+        if (!employeeReadModel.seed()) {
+            return;
+        }
+        endOffsets.forEach((partition, offset) -> callback.seek(partition.topic(), partition.partition(), offset));
+        seeded = true;
+        logger.info("Read model consumer positioned at the offsets read before the seed: {}", endOffsets);
+    }
+
+    private Map<TopicPartition, Long> endOffsets(Collection<TopicPartition> partitions) {
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer()) {
+            return consumer.endOffsets(partitions);
+        }
+    }
+}
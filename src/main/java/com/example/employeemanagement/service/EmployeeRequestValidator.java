@@ -0,0 +1,254 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeRequestDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validation of employee requests without reflection or allocation, for bulk imports.
+ *
+ * Applies the rules of the Bean Validation annotations of EmployeeRequestDto and the phone number rules
+ * of EmployeeService, reading every field once. The result is a bitmask of Error bits, 0 when the request
+ * is valid; messages are only built for failed requests, with messages(errors).
+ */
+public final class EmployeeRequestValidator {
+
+    /**
+     * Validation errors, each one bit of the error mask
+     */
+    public enum Error {
+        EMPLOYEE_CODE_REQUIRED("Employee code is required"),
+        EMPLOYEE_CODE_LENGTH("Employee code must be between 3 and 20 characters"),
+        FIRST_NAME_REQUIRED("First name is required"),
+        FIRST_NAME_LENGTH("First name must be between 2 and 50 characters"),
+        LAST_NAME_REQUIRED("Last name is required"),
+        LAST_NAME_LENGTH("Last name must be between 2 and 50 characters"),
+        EMAIL_INVALID("Please provide a valid email address"),
+        PHONE_NUMBER_REQUIRED("Phone number is required"),
+        PHONE_NUMBER_TOO_LONG("Phone number cannot exceed 20 characters"),
+        PHONE_NUMBER_DIGITS("Phone number must be exactly 12 digits long"),
+        PHONE_NUMBER_PREFIX("Phone number must start with '08'"),
+        POSITION_LENGTH("Position cannot exceed 50 characters"),
+        ADDRESS_LENGTH("Address cannot exceed 500 characters"),
+        BRANCH_REQUIRED("Branch ID is required");
+
+        private static final Error[] VALUES = values();
+
+        private final String message;
+
+        Error(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Bit of this error in the error mask
+         * @return bit
+         */
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private EmployeeRequestValidator() {
+    }
+
+    /**
+     * Validate an employee request
+     * @param request employee request data
+     * @return error mask, 0 if the request is valid
+     */
+    public static int validate(EmployeeRequestDto request) {
+        int errors = requiredLength(request.getEmployeeCode(), 3, 20,
+                Error.EMPLOYEE_CODE_REQUIRED, Error.EMPLOYEE_CODE_LENGTH);
+        errors |= requiredLength(request.getFirstName(), 2, 50, Error.FIRST_NAME_REQUIRED, Error.FIRST_NAME_LENGTH);
+        errors |= requiredLength(request.getLastName(), 2, 50, Error.LAST_NAME_REQUIRED, Error.LAST_NAME_LENGTH);
+        if (request.getEmail() != null && !isValidEmail(request.getEmail())) {
+            errors |= Error.EMAIL_INVALID.bit();
+        }
+        errors |= validatePhoneNumber(request.getPhoneNumber());
+        if (request.getPosition() != null && request.getPosition().length() > 50) {
+            errors |= Error.POSITION_LENGTH.bit();
+        }
+        if (request.getAddress() != null && request.getAddress().length() > 500) {
+            errors |= Error.ADDRESS_LENGTH.bit();
+        }
+        if (request.getBranchId() == null) {
+            errors |= Error.BRANCH_REQUIRED.bit();
+        }
+        return errors;
+    }
+
+    /**
+     * Validate a phone number: 12 digits starting with 08, other characters such as spaces and dashes are ignored
+     * @param phoneNumber phone number
+     * @return error mask of the phone number errors, 0 if the phone number is valid
+     */
+    public static int validatePhoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return Error.PHONE_NUMBER_REQUIRED.bit();
+        }
+        int length = phoneNumber.length();
+        int digits = 0;
+        boolean blank = true;
+        boolean prefix = false;
+        for (int i = 0; i < length; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0) {
+                    prefix = c == '0';
+                } else if (digits == 1) {
+                    prefix &= c == '8';
+                }
+                digits++;
+            }
+            if (c > ' ') {
+                blank = false;
+            }
+        }
+        if (blank) {
+            return Error.PHONE_NUMBER_REQUIRED.bit();
+        }
+        int errors = length > 20 ? Error.PHONE_NUMBER_TOO_LONG.bit() : 0;
+        if (digits != 12) {
+            errors |= Error.PHONE_NUMBER_DIGITS.bit();
+        } else if (!prefix) {
+            errors |= Error.PHONE_NUMBER_PREFIX.bit();
+        }
+        return errors;
+    }
+
+    /**
+     * Errors of an error mask, in declaration order
+     * @param errors error mask
+     * @return List<Error>
+     */
+    public static List<Error> errors(int errors) {
+        List<Error> result = new ArrayList<>(Integer.bitCount(errors));
+        for (Error error : Error.VALUES) {
+            if ((errors & error.bit()) != 0) {
+                result.add(error);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Messages of an error mask, in declaration order
+     * @param errors error mask
+     * @return List<String>
+     */
+    public static List<String> messages(int errors) {
+        List<String> result = new ArrayList<>(Integer.bitCount(errors));
+        for (Error error : errors(errors)) {
+            result.add(error.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Message of the first error of an error mask
+     * @param errors error mask, not 0
+     * @return message
+     */
+    public static String firstMessage(int errors) {
+        return Error.VALUES[Integer.numberOfTrailingZeros(errors)].getMessage();
+    }
+
+    /**
+     * @NotBlank and @Size check of a required field
+     */
+    private static int requiredLength(String value, int min, int max, Error required, Error length) {
+        if (value == null || isBlank(value)) {
+            return required.bit();
+        }
+        return value.length() < min || value.length() > max ? length.bit() : 0;
+    }
+
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            // Same as trim(), which @NotBlank uses
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Email check following the rules of Hibernate Validator's @Email: a local part of dot-separated atoms,
+     * an @ and a domain of dot-separated labels of letters, digits and inner hyphens, or an IP literal
+     */
+    private static boolean isValidEmail(String email) {
+        int length = email.length();
+        if (length == 0) {
+            return true;
+        }
+        // Local part up to the @: no empty atoms, so no leading, trailing or consecutive dots
+        int at = 0;
+        char previous = '.';
+        for (; at < length; at++) {
+            char c = email.charAt(at);
+            if (c == '@') {
+                break;
+            }
+            if (c == '.') {
+                if (previous == '.') {
+                    return false;
+                }
+            } else if (!isAtomChar(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        if (at == 0 || at > 64 || at >= length - 1 || previous == '.') {
+            return false;
+        }
+        if (email.charAt(at + 1) == '[') {
+            return email.charAt(length - 1) == ']' && length - at - 3 > 0;
+        }
+        // Domain: labels of at most 63 characters, not starting or ending with a hyphen
+        int labelLength = 0;
+        previous = '.';
+        for (int i = at + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || previous == '-') {
+                    return false;
+                }
+                labelLength = 0;
+            } else if (c == '-') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labelLength++;
+            } else if (Character.isLetterOrDigit(c)) {
+                labelLength++;
+            } else {
+                return false;
+            }
+            if (labelLength > 63) {
+                return false;
+            }
+            previous = c;
+        }
+        return labelLength > 0 && previous != '-';
+    }
+
+    private static boolean isAtomChar(char c) {
+        if (Character.isLetterOrDigit(c) || c > 0x7f) {
+            return true;
+        }
+        switch (c) {
+            case '!': case '#': case '$': case '%': case '&': case '\'': case '*': case '+': case '-': case '/':
+            case '=': case '?': case '^': case '_': case '`': case '{': case '|': case '}': case '~':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the JSON encoding of single employees, for the GET by id and by code endpoints.
+ *
+ * An entry is only served for the version of the employee it was encoded from: its updatedAt and the
+ * branch fields the response embeds, since a branch rename does not touch the employee. Writes through
+ * EmployeeService evict the entry right away. The gzip encoding is created on the first request
+ * accepting it. When the cache is full, arbitrary entries are evicted to make room.
+ */
+@Component
+public class EmployeeResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int gzipMinSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public EmployeeResponseCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.response-cache.enabled:true}") boolean enabled,
+                                 @Value("${app.response-cache.max-entries:10000}") int maxEntries,
+                                 @Value("${app.response-cache.gzip-min-size:256}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.gzipMinSize = gzipMinSize;
+        this.hits = Counter.builder("employee.response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("employee.response.cache").tag("result", "miss").register(meterRegistry);
+        meterRegistry.gauge("employee.response.cache.size", entries, Map::size);
+    }
+
+    /**
+     * Encoded response of an employee, from the cache if it holds the same version
+     * @param employee current state of the employee
+     * @return EncodedResponse
+     */
+    public EncodedResponse get(EmployeeResponseDto employee) {
+        if (!enabled || employee.getId() == null || employee.getUpdatedAt() == null) {
+            return new EncodedResponse(encode(employee), null);
+        }
+        Entry entry = entries.get(employee.getId());
+        if (entry != null && entry.matches(employee)) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        entry = new Entry(employee, encode(employee));
+        if (entries.size() >= maxEntries) {
+            evictSome();
+        }
+        entries.put(employee.getId(), entry);
+        return entry;
+    }
+
+    /**
+     * Evict the cached response of an employee after it was written
+     * @param id employee id
+     */
+    public void evict(Long id) {
+        entries.remove(id);
+    }
+
+    /**
+     * Whether a response of this size is worth compressing
+     * @param json JSON encoding
+     * @return true if at least app.response-cache.gzip-min-size bytes
+     */
+    public boolean isCompressible(byte[] json) {
+        return json.length >= gzipMinSize;
+    }
+
+    private byte[] encode(EmployeeResponseDto employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode employee " + employee.getId(), e);
+        }
+    }
+
+    private void evictSome() {
+        // A tenth of the entries, in map iteration order, which is unrelated to their age
+        Iterator<Long> ids = entries.keySet().iterator();
+        for (int i = 0; i < Math.max(1, maxEntries / 10) && ids.hasNext(); i++) {
+            ids.next();
+            ids.remove();
+        }
+    }
+
+    /**
+     * JSON encoding of an employee, with its gzip encoding created on demand
+     */
+    public static class EncodedResponse {
+
+        private final byte[] json;
+        private volatile byte[] gzip;
+
+        EncodedResponse(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Gzip encoding of the JSON, created once
+         * @return gzip-compressed JSON
+         */
+        public byte[] getGzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                // Racing requests may both compress; either result is the same
+                compressed = compress(json);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+
+        private static byte[] compress(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static class Entry extends EncodedResponse {
+
+        private final LocalDateTime updatedAt;
+        private final Long branchId;
+        private final String branchCode;
+        private final String branchName;
+
+        Entry(EmployeeResponseDto employee, byte[] json) {
+            super(json, null);
+            this.updatedAt = employee.getUpdatedAt();
+            this.branchId = employee.getBranchId();
+            this.branchCode = employee.getBranchCode();
+            this.branchName = employee.getBranchName();
+        }
+
+        boolean matches(EmployeeResponseDto employee) {
+            return updatedAt.equals(employee.getUpdatedAt())
+                    && Objects.equals(branchId, employee.getBranchId())
+                    && Objects.equals(branchCode, employee.getBranchCode())
+                    && Objects.equals(branchName, employee.getBranchName());
+        }
+    }
+}
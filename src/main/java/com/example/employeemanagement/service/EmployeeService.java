@@ -1,41 +1,82 @@
 package com.example.employeemanagement.service;
 
+import com.example.employeemanagement.config.MetricsConfig;
 import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeField;
 import com.example.employeemanagement.dto.EmployeeRequestDto;
 import com.example.employeemanagement.dto.EmployeeResponseDto;
 import com.example.employeemanagement.entity.Branch;
 import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.entity.EmployeeChange;
+import com.example.employeemanagement.entity.EmployeeIdentifier;
+import com.example.employeemanagement.exception.BadRequestException;
 import com.example.employeemanagement.exception.DataConflictException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import com.example.employeemanagement.repository.EmployeeIdentifierRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Service class for Employee operations
+ *
+ * Employee repository calls go through EmployeeShardRouter, which runs them on the shard of the branch
+ * or on all shards when sharding is enabled. Branches and the change log stay in the global database.
  */
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_INVOCATIONS)
 public class EmployeeService {
     
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
     
+    private static final int MAX_BULK_SIZE = 1000;
+    
     @Autowired
     private EmployeeRepository employeeRepository;
     
     @Autowired
     private BranchRepository branchRepository;
     
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    
+    @Autowired
+    private EmployeeIdentifierRepository employeeIdentifierRepository;
+    
     @Autowired
     private KafkaProducerService kafkaProducerService;
     
+    @Autowired
+    private EmployeeShardRouter shardRouter;
+    
+    @Autowired
+    private EmployeeResponseCache employeeResponseCache;
+    
+    @Value("${app.streaming.page-size:500}")
+    private int streamingPageSize;
+    
     /**
      * Get all employees
      * @return List<EmployeeResponseDto>
@@ -43,10 +84,32 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public List<EmployeeResponseDto> getAllEmployees() {
         logger.info("Retrieving all employees");
-        List<Employee> employees = employeeRepository.findAllWithBranch();
-        return employees.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return shardRouter.queryAll(() -> convertToResponseDtos(employeeRepository.findAllWithBranch()),
+                EmployeeResponseDto::getBranchId);
+    }
+    
+    /**
+     * Get all employees with only the requested fields, selecting only their columns
+     * @param fields requested fields
+     * @return List of property maps
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllEmployeeFields(List<EmployeeField> fields) {
+        logger.info("Retrieving all employees with fields: {}", fields);
+        if (!shardRouter.isSharded()) {
+            return employeeRepository.findFields(fields, null);
+        }
+        // The branch id tells which rows belong to the shard they were read from
+        List<EmployeeField> fieldsWithBranch = new ArrayList<>(fields);
+        if (!fields.contains(EmployeeField.BRANCH_ID)) {
+            fieldsWithBranch.add(EmployeeField.BRANCH_ID);
+        }
+        List<Map<String, Object>> employees = shardRouter.queryAll(() -> employeeRepository.findFields(fieldsWithBranch, null),
+                employee -> (Long) employee.get(EmployeeField.BRANCH_ID.getProperty()));
+        if (!fields.contains(EmployeeField.BRANCH_ID)) {
+            employees.forEach(employee -> employee.remove(EmployeeField.BRANCH_ID.getProperty()));
+        }
+        return employees;
     }
     
     /**
@@ -57,9 +120,7 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public EmployeeResponseDto getEmployeeById(Long id) {
         logger.info("Retrieving employee with id: {}", id);
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        return convertToResponseDto(employee);
+        return convertToResponseDto(findEmployee(id));
     }
     
     /**
@@ -70,9 +131,9 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public EmployeeResponseDto getEmployeeByCode(String employeeCode) {
         logger.info("Retrieving employee with code: {}", employeeCode);
-        Employee employee = employeeRepository.findByEmployeeCode(employeeCode)
+        return shardRouter.findFirst(() -> employeeRepository.findByEmployeeCode(employeeCode).map(this::convertToResponseDto),
+                        EmployeeResponseDto::getBranchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with code: " + employeeCode));
-        return convertToResponseDto(employee);
     }
     
     /**
@@ -89,10 +150,79 @@ public class EmployeeService {
             throw new ResourceNotFoundException("Branch not found with id: " + branchId);
         }
         
-        List<Employee> employees = employeeRepository.findByBranchId(branchId);
-        return employees.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return shardRouter.onBranch(branchId, () -> convertToResponseDtos(employeeRepository.findByBranchId(branchId)));
+    }
+    
+    /**
+     * Get employees of several branches in one query per shard
+     * @param branchIds branch ids
+     * @return List<EmployeeResponseDto> employees of the branches that exist, in no particular order
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDto> getEmployeesByBranchIds(Collection<Long> branchIds) {
+        if (branchIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        logger.info("Retrieving employees for {} branches", branchIds.size());
+        return shardRouter.onBranches(branchIds, ids -> convertToResponseDtos(employeeRepository.findByBranchIdIn(ids)));
+    }
+    
+    /**
+     * Stream all employees without loading them into memory at once
+     * Employees are read in pages of app.streaming.page-size, each in its own transaction, so a slow
+     * consumer holds no database connection
+     * @param consumer consumer invoked for every employee, in id order (per shard when sharding is enabled)
+     */
+    public void streamAllEmployees(Consumer<EmployeeResponseDto> consumer) {
+        logger.info("Streaming all employees");
+        shardRouter.forEachPage(
+                afterId -> convertToResponseDtos(employeeRepository.findPageWithBranchAfter(afterId, streamPage())),
+                EmployeeResponseDto::getId, EmployeeResponseDto::getBranchId, page -> page.forEach(consumer));
+    }
+    
+    /**
+     * Stream employees of a branch without loading them into memory at once
+     * @param branchId branch id
+     * @param consumer consumer invoked for every employee, in id order
+     */
+    public void streamEmployeesByBranchId(Long branchId, Consumer<EmployeeResponseDto> consumer) {
+        logger.info("Streaming employees for branch id: {}", branchId);
+        shardRouter.forEachPageOfBranch(branchId,
+                afterId -> convertToResponseDtos(
+                        employeeRepository.findPageByBranchIdWithBranchAfter(branchId, afterId, streamPage())),
+                EmployeeResponseDto::getId, page -> page.forEach(consumer));
+    }
+    
+    /**
+     * Get employees by branch id with only the requested fields, selecting only their columns
+     * @param branchId branch id
+     * @param fields requested fields
+     * @return List of property maps
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getEmployeeFieldsByBranchId(Long branchId, List<EmployeeField> fields) {
+        logger.info("Retrieving employees for branch id: {} with fields: {}", branchId, fields);
+        
+        // Verify branch exists
+        if (!branchRepository.existsById(branchId)) {
+            throw new ResourceNotFoundException("Branch not found with id: " + branchId);
+        }
+        
+        return shardRouter.onBranch(branchId, () -> employeeRepository.findFields(fields, branchId));
+    }
+    
+    /**
+     * Get employees by ids
+     * @param ids employee ids
+     * @return List<EmployeeResponseDto> employees that exist, in no particular order
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeResponseDto> getEmployeesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return shardRouter.queryAll(() -> convertToResponseDtos(employeeRepository.findAllWithBranchByIdIn(ids)),
+                EmployeeResponseDto::getBranchId);
     }
     
     /**
@@ -103,45 +233,55 @@ public class EmployeeService {
     public EmployeeResponseDto createEmployee(EmployeeRequestDto employeeRequestDto) {
         logger.info("Creating new employee with code: {}", employeeRequestDto.getEmployeeCode());
         
-        // Validate phone number format
-        validatePhoneNumber(employeeRequestDto.getPhoneNumber());
-        
-        // Check if employee with same code already exists
-        if (employeeRepository.existsByEmployeeCode(employeeRequestDto.getEmployeeCode())) {
-            throw new DataConflictException("Employee with code '" + employeeRequestDto.getEmployeeCode() + "' already exists");
+        Employee employee = prepareNewEmployee(employeeRequestDto);
+        Employee savedEmployee = shardRouter.onBranchForWrite(employee.getBranch().getId(),
+                () -> employeeRepository.save(employee));
+        EmployeeResponseDto responseDto = convertToResponseDto(savedEmployee);
+        registerIdentifiers(Collections.singletonList(responseDto));
+        employeeCreated(savedEmployee);
+        return responseDto;
+    }
+    
+    /**
+     * Create employees in one transaction, checking all requests before the first employee is written
+     * With sharding enabled, all employees must belong to branches on the same shard, so that they are
+     * written in a single shard transaction
+     * @param employeeRequestDtos employee request data
+     * @return List<EmployeeResponseDto> in request order
+     * @throws BadRequestException if there are too many requests, one of them is invalid, or their branches are on
+     *         different shards
+     */
+    public List<EmployeeResponseDto> createEmployees(List<EmployeeRequestDto> employeeRequestDtos) {
+        logger.info("Creating {} employees", employeeRequestDtos.size());
+        if (employeeRequestDtos.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("At most " + MAX_BULK_SIZE + " employees can be created at once");
         }
-        
-        // Check if employee with same email already exists
-        if (employeeRequestDto.getEmail() != null && 
-            employeeRepository.existsByEmail(employeeRequestDto.getEmail())) {
-            throw new DataConflictException("Employee with email '" + employeeRequestDto.getEmail() + "' already exists");
+        Set<String> employeeCodes = new HashSet<>();
+        for (int i = 0; i < employeeRequestDtos.size(); i++) {
+            EmployeeRequestDto employeeRequestDto = employeeRequestDtos.get(i);
+            if (employeeRequestDto == null) {
+                throw new BadRequestException("Employee " + i + ": request is missing");
+            }
+            int errors = EmployeeRequestValidator.validate(employeeRequestDto);
+            if (errors != 0) {
+                throw new BadRequestException("Employee " + i + ": " + EmployeeRequestValidator.firstMessage(errors));
+            }
+            if (!employeeCodes.add(employeeRequestDto.getEmployeeCode())) {
+                throw new DataConflictException("Employee code '" + employeeRequestDto.getEmployeeCode() + "' appears more than once");
+            }
         }
         
-        // Verify branch exists
-        Branch branch = branchRepository.findById(employeeRequestDto.getBranchId())
-                .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + employeeRequestDto.getBranchId()));
-        
-        Employee employee = convertToEntity(employeeRequestDto, branch);
-        Employee savedEmployee = employeeRepository.save(employee);
-        logger.info("Employee created successfully with id: {}", savedEmployee.getId());
-        
-        // Publish employee creation event to Kafka
-        try {
-            EmployeeEventDto eventDto = new EmployeeEventDto(
-                "CREATE",
-                savedEmployee.getId(),
-                savedEmployee.getFirstName() + " " + savedEmployee.getLastName(),
-                savedEmployee.getEmail(),
-                savedEmployee.getPhoneNumber(),
-                savedEmployee.getBranch().getId(),
-                savedEmployee.getBranch().getName()
-            );
-            kafkaProducerService.publishEmployeeEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish employee creation event for employee id: {}", savedEmployee.getId(), e);
+        List<Employee> employees = new ArrayList<>(employeeRequestDtos.size());
+        for (EmployeeRequestDto employeeRequestDto : employeeRequestDtos) {
+            employees.add(prepareNewEmployee(employeeRequestDto));
         }
-        
-        return convertToResponseDto(savedEmployee);
+        Set<Long> branchIds = employees.stream().map(employee -> employee.getBranch().getId()).collect(Collectors.toSet());
+        List<Employee> savedEmployees = shardRouter.onBranchesForWrite(branchIds,
+                () -> employees.stream().map(employeeRepository::save).collect(Collectors.toList()));
+        List<EmployeeResponseDto> createdEmployees = convertToResponseDtos(savedEmployees);
+        registerIdentifiers(createdEmployees);
+        savedEmployees.forEach(this::employeeCreated);
+        return createdEmployees;
     }
     
     /**
@@ -156,19 +296,19 @@ public class EmployeeService {
         // Validate phone number format
         validatePhoneNumber(employeeRequestDto.getPhoneNumber());
         
-        Employee existingEmployee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+        Employee existingEmployee = findEmployee(id);
+        Long previousBranchId = existingEmployee.getBranch().getId();
         
         // Check if employee code is being changed and if new code already exists
         if (!existingEmployee.getEmployeeCode().equals(employeeRequestDto.getEmployeeCode()) && 
-            employeeRepository.existsByEmployeeCodeAndIdNot(employeeRequestDto.getEmployeeCode(), id)) {
+            shardRouter.anyMatch(() -> employeeRepository.existsByEmployeeCodeAndIdNot(employeeRequestDto.getEmployeeCode(), id))) {
             throw new DataConflictException("Employee with code '" + employeeRequestDto.getEmployeeCode() + "' already exists");
         }
         
         // Check if email is being changed and if new email already exists
         if (employeeRequestDto.getEmail() != null && 
             !employeeRequestDto.getEmail().equals(existingEmployee.getEmail()) &&
-            employeeRepository.existsByEmailAndIdNot(employeeRequestDto.getEmail(), id)) {
+            shardRouter.anyMatch(() -> employeeRepository.existsByEmailAndIdNot(employeeRequestDto.getEmail(), id))) {
             throw new DataConflictException("Employee with email '" + employeeRequestDto.getEmail() + "' already exists");
         }
         
@@ -187,26 +327,22 @@ public class EmployeeService {
         existingEmployee.setAddress(employeeRequestDto.getAddress());
         existingEmployee.setBranch(branch);
         
-        Employee updatedEmployee = employeeRepository.save(existingEmployee);
-        logger.info("Employee updated successfully with id: {}", updatedEmployee.getId());
+        // Claim the new code and email before the employee is written
+        saveIdentifier(new EmployeeIdentifier(id, employeeRequestDto.getEmployeeCode(), employeeRequestDto.getEmail()));
         
-        // Publish employee update event to Kafka
-        try {
-            EmployeeEventDto eventDto = new EmployeeEventDto(
-                "UPDATE",
-                updatedEmployee.getId(),
-                updatedEmployee.getFirstName() + " " + updatedEmployee.getLastName(),
-                updatedEmployee.getEmail(),
-                updatedEmployee.getPhoneNumber(),
-                updatedEmployee.getBranch().getId(),
-                updatedEmployee.getBranch().getName()
-            );
-            kafkaProducerService.publishEmployeeEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish employee update event for employee id: {}", updatedEmployee.getId(), e);
-        }
+        // The employee is written on the shard of its previous branch and then moved if the new branch lives elsewhere
+        shardRouter.checkWritable(branch.getId());
+        Employee savedEmployee = shardRouter.onBranchForWrite(previousBranchId,
+                () -> employeeRepository.save(existingEmployee));
+        EmployeeResponseDto responseDto = convertToResponseDto(savedEmployee);
+        shardRouter.moveEmployee(id, previousBranchId, branch.getId());
+        employeeChangeRepository.save(new EmployeeChange(responseDto.getId(), EmployeeChange.UPSERT));
+        employeeResponseCache.evict(id);
+        logger.info("Employee updated successfully with id: {}", responseDto.getId());
         
-        return convertToResponseDto(updatedEmployee);
+        // Publish employee update event to Kafka
+        publishAfterCommit("UPDATE", savedEmployee);
+        return responseDto;
     }
     
     /**
@@ -216,29 +352,28 @@ public class EmployeeService {
     public void deleteEmployee(Long id) {
         logger.info("Deleting employee with id: {}", id);
         
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+        Employee employee = findEmployee(id);
         
         // Store employee data for Kafka event before deletion
-        EmployeeEventDto eventDto = new EmployeeEventDto(
-            "DELETE",
-            employee.getId(),
-            employee.getFirstName() + " " + employee.getLastName(),
-            employee.getEmail(),
-            employee.getPhoneNumber(),
-            employee.getBranch().getId(),
-            employee.getBranch().getName()
-        );
+        EmployeeEventDto eventDto = createEventDto("DELETE", convertToResponseDto(employee));
         
-        employeeRepository.delete(employee);
+        shardRouter.runOnBranchForWrite(employee.getBranch().getId(), () -> employeeRepository.delete(employee));
+        if (employeeIdentifierRepository.existsById(id)) {
+            employeeIdentifierRepository.deleteById(id);
+        }
+        employeeChangeRepository.save(new EmployeeChange(id, EmployeeChange.DELETE));
+        employeeResponseCache.evict(id);
         logger.info("Employee deleted successfully with id: {}", id);
         
-        // Publish employee deletion event to Kafka
-        try {
-            kafkaProducerService.publishEmployeeEvent(eventDto);
-        } catch (Exception e) {
-            logger.warn("Failed to publish employee deletion event for employee id: {}", id, e);
-        }
+        // Publish employee deletion event to Kafka once the deletion is committed
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                kafkaProducerService.publishEmployeeEvent(eventDto);
+            } catch (Exception e) {
+                logger.warn("Failed to publish employee deletion event for employee id: {}", id, e);
+            }
+            kafkaProducerService.publishEmployeeTombstone(id);
+        });
     }
     
     /**
@@ -249,10 +384,8 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public List<EmployeeResponseDto> searchEmployeesByName(String name) {
         logger.info("Searching employees by name: {}", name);
-        List<Employee> employees = employeeRepository.findByFirstNameContainingIgnoreCase(name);
-        return employees.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return shardRouter.queryAll(() -> convertToResponseDtos(employeeRepository.findByFirstNameContainingIgnoreCase(name)),
+                EmployeeResponseDto::getBranchId);
     }
     
     /**
@@ -263,10 +396,8 @@ public class EmployeeService {
     @Transactional(readOnly = true)
     public List<EmployeeResponseDto> searchEmployeesByPosition(String position) {
         logger.info("Searching employees by position: {}", position);
-        List<Employee> employees = employeeRepository.findByPositionContainingIgnoreCase(position);
-        return employees.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        return shardRouter.queryAll(() -> convertToResponseDtos(employeeRepository.findByPositionContainingIgnoreCase(position)),
+                EmployeeResponseDto::getBranchId);
     }
     
     /**
@@ -274,31 +405,133 @@ public class EmployeeService {
      * @param phoneNumber phone number to validate
      * @throws DataConflictException if phone number format is invalid
      */
-    private void validatePhoneNumber(String phoneNumber) {
-        if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            throw new DataConflictException("Phone number is required");
+    void validatePhoneNumber(String phoneNumber) {
+        int errors = EmployeeRequestValidator.validatePhoneNumber(phoneNumber);
+        if (errors != 0) {
+            throw new DataConflictException(EmployeeRequestValidator.firstMessage(errors));
         }
+    }
+    
+    /**
+     * Check a new employee against the existing ones and build its entity
+     * @param employeeRequestDto employee request data
+     * @return Employee entity, not saved yet
+     */
+    private Employee prepareNewEmployee(EmployeeRequestDto employeeRequestDto) {
+        // Validate phone number format
+        validatePhoneNumber(employeeRequestDto.getPhoneNumber());
         
-        // Remove spaces and other characters, keep only digits
-        String cleanPhoneNumber = phoneNumber.replaceAll("[^0-9]", "");
+        // Check if employee with same code already exists
+        if (shardRouter.anyMatch(() -> employeeRepository.existsByEmployeeCode(employeeRequestDto.getEmployeeCode()))) {
+            throw new DataConflictException("Employee with code '" + employeeRequestDto.getEmployeeCode() + "' already exists");
+        }
         
-        // Check if phone number has exactly 12 digits
-        if (cleanPhoneNumber.length() != 12) {
-            throw new DataConflictException("Phone number must be exactly 12 digits long");
+        // Check if employee with same email already exists
+        if (employeeRequestDto.getEmail() != null && 
+            shardRouter.anyMatch(() -> employeeRepository.existsByEmail(employeeRequestDto.getEmail()))) {
+            throw new DataConflictException("Employee with email '" + employeeRequestDto.getEmail() + "' already exists");
         }
         
-        // Check if phone number starts with "08"
-        if (!cleanPhoneNumber.startsWith("08")) {
-            throw new DataConflictException("Phone number must start with '08'");
+        // Verify branch exists
+        Branch branch = branchRepository.findById(employeeRequestDto.getBranchId())
+                .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + employeeRequestDto.getBranchId()));
+        
+        return convertToEntity(employeeRequestDto, branch);
+    }
+    
+    /**
+     * Register the codes and emails of newly saved employees in the global lookup table, which keeps them unique
+     * across all branches. With sharding enabled the employees are already committed on their shard, so they are
+     * removed again if a code or email turns out to be taken
+     * @param employees saved employees
+     * @throws DataConflictException if a code or email belongs to another employee
+     */
+    private void registerIdentifiers(List<EmployeeResponseDto> employees) {
+        try {
+            employeeIdentifierRepository.saveAllAndFlush(employees.stream()
+                    .map(employee -> new EmployeeIdentifier(employee.getId(), employee.getEmployeeCode(), employee.getEmail()))
+                    .collect(Collectors.toList()));
+        } catch (DataIntegrityViolationException e) {
+            if (shardRouter.isSharded()) {
+                employees.forEach(employee -> shardRouter.runOnBranchForWrite(employee.getBranchId(),
+                        () -> employeeRepository.deleteById(employee.getId())));
+            }
+            throw new DataConflictException("Employee code or email already exists");
+        }
+    }
+    
+    /**
+     * Store the code and email of an employee in the global lookup table
+     * @param identifier employee code and email
+     * @throws DataConflictException if the code or email belongs to another employee
+     */
+    private void saveIdentifier(EmployeeIdentifier identifier) {
+        try {
+            employeeIdentifierRepository.saveAndFlush(identifier);
+        } catch (DataIntegrityViolationException e) {
+            throw new DataConflictException("Employee code '" + identifier.getEmployeeCode() + "' or email '"
+                    + identifier.getEmail() + "' already exists");
         }
     }
     
+    /**
+     * Record a saved employee in the change log and publish its creation
+     * @param employee saved Employee entity
+     */
+    private void employeeCreated(Employee employee) {
+        employeeChangeRepository.save(new EmployeeChange(employee.getId(), EmployeeChange.UPSERT));
+        logger.info("Employee created successfully with id: {}", employee.getId());
+        
+        // Publish employee creation event to Kafka
+        publishAfterCommit("CREATE", employee);
+    }
+    
+    /**
+     * Publish the event and state of a written employee once the transaction commits, so that nothing is
+     * published for a write that is rolled back. The DTO is built after commit, with the timestamps set by the flush
+     * @param eventType CREATE or UPDATE
+     * @param employee saved Employee entity
+     */
+    private void publishAfterCommit(String eventType, Employee employee) {
+        TransactionCallbacks.afterCommit(() -> {
+            EmployeeResponseDto committedDto = convertToResponseDto(employee);
+            try {
+                kafkaProducerService.publishEmployeeEvent(createEventDto(eventType, committedDto));
+            } catch (Exception e) {
+                logger.warn("Failed to publish employee {} event for employee id: {}", eventType, employee.getId(), e);
+            }
+            kafkaProducerService.publishEmployeeState(committedDto);
+        });
+    }
+    
+    /**
+     * Find an employee on the shard holding it, with its branch loaded so it can be used after the shard transaction
+     * @param id employee id
+     * @return Employee entity
+     * @throws ResourceNotFoundException if the employee does not exist
+     */
+    private Employee findEmployee(Long id) {
+        return shardRouter.findFirst(() -> employeeRepository.findById(id).map(employee -> {
+                    Hibernate.initialize(employee.getBranch());
+                    return employee;
+                }), employee -> employee.getBranch().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+    
+    /**
+     * Page request for reading streamed employees
+     * @return first page of app.streaming.page-size employees
+     */
+    private Pageable streamPage() {
+        return PageRequest.of(0, streamingPageSize);
+    }
+    
     /**
      * Convert Employee entity to EmployeeResponseDto
      * @param employee Employee entity
      * @return EmployeeResponseDto
      */
-    private EmployeeResponseDto convertToResponseDto(Employee employee) {
+    EmployeeResponseDto convertToResponseDto(Employee employee) {
         return new EmployeeResponseDto(
             employee.getId(),
             employee.getEmployeeCode(),
@@ -317,6 +550,46 @@ public class EmployeeService {
         );
     }
     
+    /**
+     * Convert Employee entities to EmployeeResponseDtos
+     * @param employees Employee entities
+     * @return List<EmployeeResponseDto>
+     */
+    private List<EmployeeResponseDto> convertToResponseDtos(List<Employee> employees) {
+        return employees.stream()
+                .map(this::convertToResponseDto)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Create a Kafka event carrying the current state of an employee
+     * Built from the response DTO, as the entity may come from a shard transaction that has ended
+     * @param eventType CREATE, UPDATE or DELETE
+     * @param employee converted employee
+     * @return EmployeeEventDto
+     */
+    private EmployeeEventDto createEventDto(String eventType, EmployeeResponseDto employee) {
+        EmployeeEventDto eventDto = new EmployeeEventDto(
+            eventType,
+            employee.getId(),
+            employee.getFirstName() + " " + employee.getLastName(),
+            employee.getEmail(),
+            employee.getPhoneNumber(),
+            employee.getBranchId(),
+            employee.getBranchName()
+        );
+        eventDto.setEmployeeCode(employee.getEmployeeCode());
+        eventDto.setFirstName(employee.getFirstName());
+        eventDto.setLastName(employee.getLastName());
+        eventDto.setHireDate(employee.getHireDate());
+        eventDto.setPosition(employee.getPosition());
+        eventDto.setAddress(employee.getAddress());
+        eventDto.setBranchCode(employee.getBranchCode());
+        eventDto.setCreatedAt(employee.getCreatedAt());
+        eventDto.setUpdatedAt(employee.getUpdatedAt());
+        return eventDto;
+    }
+    
     /**
      * Convert EmployeeRequestDto to Employee entity
      * @param employeeRequestDto EmployeeRequestDto
@@ -0,0 +1,395 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.config.StatementStatistics;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs employee repository operations on the shard that holds the employees.
+ *
+ * Operations on a single branch run on the shard of that branch; queries over all employees run on
+ * every shard in parallel and their results are merged in shard order. While a branch is being moved its
+ * employees exist on two shards, so queries over all shards only keep the rows of branches currently
+ * mapped to the shard they were read from. Each shard operation runs in
+ * its own transaction, so the caller's transaction stays on the global database, and it must convert
+ * lazily loaded entities before returning.
+ *
+ * Without app.sharding.enabled every operation simply runs in the caller's transaction.
+ */
+@Service
+public class EmployeeShardRouter implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeShardRouter.class);
+
+    @Autowired(required = false)
+    private ShardMap shardMap;
+
+    @Autowired(required = false)
+    private ShardMigrationService shardMigrationService;
+
+    @Autowired(required = false)
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.sharding.query-threads:8}")
+    private int queryThreads;
+
+    private ExecutorService queryExecutor;
+
+    @PostConstruct
+    void init() {
+        if (isSharded()) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            queryExecutor = Executors.newFixedThreadPool(queryThreads, runnable -> {
+                Thread thread = new Thread(runnable, "shard-query-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Whether employees are spread over several databases
+     * @return true if sharding is enabled
+     */
+    public boolean isSharded() {
+        return shardMap != null;
+    }
+
+    /**
+     * Run a read on the shard of a branch
+     * @param branchId branch id
+     * @param action read to run
+     * @return result of the action
+     */
+    public <T> T onBranch(Long branchId, Supplier<T> action) {
+        if (!isSharded()) {
+            return action.get();
+        }
+        return onShard(shardMap.shardFor(branchId), true, action);
+    }
+
+    /**
+     * Run a read over several branches, once per shard holding any of them
+     * @param branchIds branch ids
+     * @param query read to run with the ids of the branches on one shard
+     * @return results of all shards, in shard order
+     */
+    public <T> List<T> onBranches(Collection<Long> branchIds, Function<Collection<Long>, List<T>> query) {
+        if (!isSharded()) {
+            return query.apply(branchIds);
+        }
+        Map<String, List<Long>> branchIdsByShard = branchIds.stream()
+                .collect(Collectors.groupingBy(shardMap::shardFor, LinkedHashMap::new, Collectors.toList()));
+        List<CompletableFuture<List<T>>> futures = branchIdsByShard.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(StatementStatistics.propagate(
+                        () -> onShard(entry.getKey(), true, () -> query.apply(entry.getValue()))), queryExecutor))
+                .collect(Collectors.toList());
+        List<T> merged = new ArrayList<>();
+        join(futures).forEach(merged::addAll);
+        return merged;
+    }
+
+    /**
+     * Run a write on the shard of a branch
+     * @param branchId branch id
+     * @param action write to run
+     * @return result of the action
+     * @throws com.example.employeemanagement.exception.DataConflictException if the branch is being moved
+     */
+    public <T> T onBranchForWrite(Long branchId, Supplier<T> action) {
+        if (!isSharded()) {
+            return action.get();
+        }
+        return onShard(shardMap.writableShardFor(branchId), false, action);
+    }
+
+    /**
+     * Run a write over the employees of several branches in a single transaction on their shard
+     * @param branchIds branch ids
+     * @param action write to run
+     * @return result of the action
+     * @throws BadRequestException if the branches are on different shards, which cannot be written atomically
+     * @throws com.example.employeemanagement.exception.DataConflictException if one of the branches is being moved
+     */
+    public <T> T onBranchesForWrite(Collection<Long> branchIds, Supplier<T> action) {
+        if (!isSharded() || branchIds.isEmpty()) {
+            return action.get();
+        }
+        Set<String> shards = branchIds.stream()
+                .distinct()
+                .map(shardMap::writableShardFor)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (shards.size() > 1) {
+            throw new BadRequestException("Employees of branches on different shards (" + String.join(", ", shards)
+                    + ") cannot be written in one request");
+        }
+        return onShard(shards.iterator().next(), false, action);
+    }
+
+    /**
+     * Run a write without a result on the shard of a branch
+     * @param branchId branch id
+     * @param action write to run
+     */
+    public void runOnBranchForWrite(Long branchId, Runnable action) {
+        onBranchForWrite(branchId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Check that the employees of a branch can be written, before a write that moves an employee there
+     * @param branchId branch id
+     */
+    public void checkWritable(Long branchId) {
+        if (isSharded()) {
+            shardMap.writableShardFor(branchId);
+        }
+    }
+
+    /**
+     * Run a query on every shard in parallel and concatenate the results
+     * @param query query to run
+     * @param branchIdOf branch id of a result, to drop copies of a branch being moved to or from a shard
+     * @return results of all shards, in shard order
+     */
+    public <T> List<T> queryAll(Supplier<List<T>> query, Function<T, Long> branchIdOf) {
+        if (!isSharded()) {
+            return query.get();
+        }
+        List<T> merged = new ArrayList<>();
+        scatter(query).forEach((shard, results) -> results.stream()
+                .filter(result -> isMappedTo(shard, branchIdOf.apply(result)))
+                .forEach(merged::add));
+        return merged;
+    }
+
+    /**
+     * Run a lookup on every shard in parallel
+     * @param query lookup to run
+     * @param branchIdOf branch id of a result, to drop copies of a branch being moved to or from a shard
+     * @return the first result found, in shard order
+     */
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> query, Function<T, Long> branchIdOf) {
+        if (!isSharded()) {
+            return query.get();
+        }
+        return scatter(query).entrySet().stream()
+                .filter(entry -> entry.getValue().isPresent())
+                .map(entry -> entry.getValue().filter(result -> isMappedTo(entry.getKey(), branchIdOf.apply(result))))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+    }
+
+    /**
+     * Run a check on every shard in parallel
+     * @param check check to run
+     * @return true if the check passed on any shard
+     */
+    public boolean anyMatch(BooleanSupplier check) {
+        if (!isSharded()) {
+            return check.getAsBoolean();
+        }
+        return scatter(check::getAsBoolean).containsValue(Boolean.TRUE);
+    }
+
+    /**
+     * Read all employees page by page, one shard after the other, for streaming results without buffering them
+     * Every page is read in its own short transaction, so no connection is held while a page is consumed
+     * @param pageAfter read of the page following a key, 0 for the first page; empty once there are no more
+     * @param keyOf key of a result, increasing in page order
+     * @param branchIdOf branch id of a result, to drop copies of a branch being moved to or from a shard
+     * @param consumer consumer of every page
+     */
+    public <T> void forEachPage(Function<Long, List<T>> pageAfter, Function<T, Long> keyOf, Function<T, Long> branchIdOf,
+                                Consumer<List<T>> consumer) {
+        if (!isSharded()) {
+            readPages(null, pageAfter, keyOf, consumer);
+            return;
+        }
+        for (String shard : shardMap.getShards()) {
+            readPages(shard, pageAfter, keyOf, page -> {
+                List<T> mapped = page.stream()
+                        .filter(result -> isMappedTo(shard, branchIdOf.apply(result)))
+                        .collect(Collectors.toList());
+                if (!mapped.isEmpty()) {
+                    consumer.accept(mapped);
+                }
+            });
+        }
+    }
+
+    /**
+     * Read the employees of a branch page by page, each page in its own short transaction
+     * @param branchId branch id
+     * @param pageAfter read of the page following a key, 0 for the first page; empty once there are no more
+     * @param keyOf key of a result, increasing in page order
+     * @param consumer consumer of every page
+     */
+    public <T> void forEachPageOfBranch(Long branchId, Function<Long, List<T>> pageAfter, Function<T, Long> keyOf,
+                                        Consumer<List<T>> consumer) {
+        readPages(isSharded() ? shardMap.shardFor(branchId) : null, pageAfter, keyOf, consumer);
+    }
+
+    /**
+     * Move an employee whose branch changed to the shard of its new branch
+     * @param employeeId employee id
+     * @param fromBranchId previous branch id
+     * @param toBranchId new branch id
+     */
+    public void moveEmployee(Long employeeId, Long fromBranchId, Long toBranchId) {
+        if (!isSharded() || fromBranchId.equals(toBranchId)) {
+            return;
+        }
+        String sourceShard = shardMap.writableShardFor(fromBranchId);
+        String targetShard = shardMap.assignedShardFor(toBranchId);
+        if (!sourceShard.equals(targetShard)) {
+            shardMigrationService.moveEmployee(employeeId, sourceShard, targetShard);
+        }
+    }
+
+    /**
+     * Place a new branch on a shard and copy it to every shard once it is committed
+     * @param branch saved Branch entity
+     */
+    public void branchCreated(Branch branch) {
+        if (isSharded()) {
+            shardMap.assign(branch.getId());
+            afterCommit(() -> shardMigrationService.replicateBranch(branch));
+        }
+    }
+
+    /**
+     * Copy a changed branch to every shard once it is committed
+     * @param branch saved Branch entity
+     */
+    public void branchUpdated(Branch branch) {
+        if (isSharded()) {
+            afterCommit(() -> shardMigrationService.replicateBranch(branch));
+        }
+    }
+
+    /**
+     * Remove a deleted branch from the shard map and, once the deletion is committed, from every shard
+     * @param branchId branch id
+     */
+    public void branchDeleted(Long branchId) {
+        if (isSharded()) {
+            shardMap.unassign(branchId);
+            afterCommit(() -> shardMigrationService.removeBranch(branchId));
+        }
+    }
+
+    private <T> T onShard(String shard, boolean readOnly, Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(readOnly);
+        return ShardRoutingDataSource.callOnShard(shard, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    private <T> void readPages(String shard, Function<Long, List<T>> pageAfter, Function<T, Long> keyOf,
+                               Consumer<List<T>> consumer) {
+        long afterKey = 0L;
+        List<T> page;
+        while (!(page = readPage(shard, pageAfter, afterKey)).isEmpty()) {
+            consumer.accept(page);
+            afterKey = keyOf.apply(page.get(page.size() - 1));
+        }
+    }
+
+    private <T> List<T> readPage(String shard, Function<Long, List<T>> pageAfter, long afterKey) {
+        if (shard != null) {
+            return onShard(shard, true, () -> pageAfter.apply(afterKey));
+        }
+        if (transactionManager == null) {
+            return pageAfter.apply(afterKey);
+        }
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> pageAfter.apply(afterKey));
+    }
+
+    private boolean isMappedTo(String shard, Long branchId) {
+        return shardMap.shardFor(branchId).equals(shard);
+    }
+
+    private <T> Map<String, T> scatter(Supplier<T> query) {
+        List<String> shards = shardMap.getShards();
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        StatementStatistics.propagate(() -> onShard(shard, true, query)), queryExecutor))
+                .collect(Collectors.toList());
+        List<T> results = join(futures);
+        Map<String, T> resultsByShard = new LinkedHashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            resultsByShard.put(shards.get(i), results.get(i));
+        }
+        return resultsByShard;
+    }
+
+    private <T> List<T> join(List<CompletableFuture<T>> futures) {
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The branch is committed already; the copies are fixed by the next update of the branch
+                logger.error("Failed to update the branch copies on the shards", e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (queryExecutor != null) {
+            queryExecutor.shutdown();
+            if (!queryExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                queryExecutor.shutdownNow();
+            }
+        }
+    }
+}
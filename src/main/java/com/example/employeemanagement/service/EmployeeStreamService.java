@@ -0,0 +1,297 @@
+package com.example.employeemanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events fan-out of employee and branch changes.
+ *
+ * Every change is serialized once and offered to the bounded buffer of each matching subscriber.
+ * A small pool of delivery threads drains the buffers, at most one thread per subscriber at a time,
+ * so idle subscribers hold no thread at all. A subscriber whose buffer is full is disconnected
+ * instead of slowing down delivery to the others; clients reconnect and resync.
+ *
+ * Sending blocks while a client is not reading, until the connector's write timeout. A send taking
+ * longer than app.stream.send-timeout-ms drops its subscriber, and the pool gets an extra thread for as
+ * long as the send stays blocked, so stalled clients never hold up delivery to the others.
+ */
+@Service
+public class EmployeeStreamService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeStreamService.class);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final Counter droppedSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public EmployeeStreamService(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${app.stream.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${app.stream.delivery-threads:4}") int deliveryThreads,
+                                 @Value("${app.stream.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.deliveryExecutor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-delivery-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.droppedSubscribers = meterRegistry.counter("stream.subscribers.dropped");
+        meterRegistry.gauge("stream.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Subscribe to employee and branch changes
+     * @param branchId only send changes of this branch, null for all changes
+     * @return SseEmitter for the subscription
+     */
+    public SseEmitter subscribe(Long branchId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter, branchId);
+        return emitter;
+    }
+
+    /**
+     * Register an emitter as a subscriber
+     * @param emitter emitter to send events to
+     * @param branchId only send changes of this branch, null for all changes
+     */
+    void register(SseEmitter emitter, Long branchId) {
+        Subscriber subscriber = new Subscriber(emitter, branchId, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        logger.debug("New stream subscriber for branch {}, {} subscribers", branchId, subscribers.size());
+    }
+
+    /**
+     * Publish a change to all subscribers interested in its branch
+     * @param eventName SSE event name
+     * @param eventId event id, sent as the SSE id
+     * @param branchId branch the change belongs to
+     * @param payload change, serialized as JSON
+     */
+    public void publish(String eventName, String eventId, Long branchId, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize {} event {} for the stream", eventName, eventId, e);
+            return;
+        }
+        StreamEvent event = new StreamEvent(eventId, eventName, json);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.branchId == null || subscriber.branchId.equals(branchId)) {
+                offer(subscriber, event);
+            }
+        }
+    }
+
+    /**
+     * Send a comment to every subscriber so that dead connections are detected and proxies keep idle ones open
+     */
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval-ms:20000}")
+    public void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, StreamEvent.HEARTBEAT);
+        }
+    }
+
+    /**
+     * Drop subscribers whose current send has been blocked for longer than the send timeout
+     * Their delivery thread is replaced until the send returns; the emitter is completed by that thread,
+     * since the emitter is locked while it sends
+     */
+    @Scheduled(fixedDelayString = "${app.stream.stall-check-interval-ms:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendState.get() == Subscriber.SENDING
+                    && now - subscriber.sendStartedAt > sendTimeoutNanos
+                    && subscriber.sendState.compareAndSet(Subscriber.SENDING, Subscriber.STALLED)) {
+                logger.warn("Dropping stalled stream subscriber for branch {}, a send blocked for over {} ms",
+                           subscriber.branchId, TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                droppedSubscribers.increment();
+                subscribers.remove(subscriber);
+                subscriber.buffer.clear();
+                resizeDeliveryPool(1);
+            }
+        }
+    }
+
+    /**
+     * Number of connected subscribers
+     * @return subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void offer(Subscriber subscriber, StreamEvent event) {
+        if (subscriber.buffer.offer(event)) {
+            scheduleDrain(subscriber);
+        } else {
+            logger.warn("Dropping slow stream subscriber for branch {} after {} undelivered events",
+                       subscriber.branchId, bufferSize);
+            droppedSubscribers.increment();
+            remove(subscriber, null);
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Exception failure = null;
+        boolean stalled = false;
+        try {
+            StreamEvent event;
+            while (!stalled && (event = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedAt = System.nanoTime();
+                subscriber.sendState.set(Subscriber.SENDING);
+                try {
+                    subscriber.emitter.send(event.toSseEvent());
+                } finally {
+                    stalled = !subscriber.sendState.compareAndSet(Subscriber.SENDING, Subscriber.IDLE);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            failure = e;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (stalled) {
+            // Dropped by dropStalledSubscribers while this send was blocked
+            resizeDeliveryPool(-1);
+            subscriber.emitter.completeWithError(failure != null ? failure : new TimeoutException("Stream send timed out"));
+        } else if (failure != null) {
+            remove(subscriber, failure);
+        } else if (!subscriber.buffer.isEmpty() && subscribers.contains(subscriber)) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Add or remove a delivery thread, keeping the configured number of threads free of stalled sends
+     * @param delta +1 for a newly stalled send, -1 once it has returned
+     */
+    private synchronized void resizeDeliveryPool(int delta) {
+        int size = deliveryExecutor.getCorePoolSize() + delta;
+        if (delta > 0) {
+            deliveryExecutor.setMaximumPoolSize(size);
+            deliveryExecutor.setCorePoolSize(size);
+        } else {
+            deliveryExecutor.setCorePoolSize(size);
+            deliveryExecutor.setMaximumPoolSize(size);
+        }
+    }
+
+    private void remove(Subscriber subscriber, Throwable error) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.buffer.clear();
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber, null);
+        }
+        deliveryExecutor.shutdown();
+        if (!deliveryExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            deliveryExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * A connected client with its own bounded buffer of undelivered events
+     */
+    private static final class Subscriber {
+        private static final int IDLE = 0;
+        private static final int SENDING = 1;
+        private static final int STALLED = 2;
+
+        private final SseEmitter emitter;
+        private final Long branchId;
+        private final Queue<StreamEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, Long branchId, int bufferSize) {
+            this.emitter = emitter;
+            this.branchId = branchId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * An event serialized once and shared by all subscribers
+     */
+    private static final class StreamEvent {
+        private static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        private final String id;
+        private final String name;
+        private final String json;
+
+        private StreamEvent(String id, String name, String json) {
+            this.id = id;
+            this.name = name;
+            this.json = json;
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent() {
+            if (json == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(json, MediaType.APPLICATION_JSON);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.employeemanagement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ListenerUtils;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking retry handling for consumed Kafka events.
+ *
+ * Events that fail in the main listeners are re-published to a chain of retry topics
+ * ({topic}-retry-1 .. {topic}-retry-N), each with a longer delay, and finally to a dead-letter topic
+ * ({topic}-dlt). The due time of a retry travels in a header so the retry listeners can wait for it
+ * without blocking the main topic partitions. Dead-letter records carry the failure cause and the
+ * original coordinates in the standard Spring Kafka DLT headers.
+ *
+ * Retried events are processed out of band, so they may be applied after later events of the same key.
+ */
+@Service
+public class EventRetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventRetryService.class);
+
+    private static final LogAccessor logAccessor = new LogAccessor(EventRetryService.class);
+
+    public static final String RETRY_ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String RETRY_DUE_AT_HEADER = "x-retry-due-at";
+
+    private static final int MAX_STACKTRACE_LENGTH = 4096;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+
+    @Autowired
+    @Qualifier("retryKafkaTemplate")
+    private KafkaTemplate<String, Object> retryKafkaTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.kafka.consumer.retry-topics.attempts:3}")
+    private int attempts;
+
+    @Value("${app.kafka.consumer.retry-topics.initial-delay-ms:1000}")
+    private long initialDelayMs;
+
+    @Value("${app.kafka.consumer.retry-topics.multiplier:4.0}")
+    private double multiplier;
+
+    /**
+     * Name of the retry topic for the given attempt
+     * @param topic original topic
+     * @param attempt retry attempt, starting at 1
+     * @return retry topic name
+     */
+    public static String retryTopic(String topic, int attempt) {
+        return topic + "-retry-" + attempt;
+    }
+
+    /**
+     * Name of the dead-letter topic
+     * @param topic original topic
+     * @return dead-letter topic name
+     */
+    public static String deadLetterTopic(String topic) {
+        return topic + "-dlt";
+    }
+
+    /**
+     * Names of all retry topics of an original topic
+     * @param topic original topic
+     * @return retry topic names, in attempt order
+     */
+    public List<String> retryTopics(String topic) {
+        List<String> topics = new ArrayList<>(attempts);
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            topics.add(retryTopic(topic, attempt));
+        }
+        return topics;
+    }
+
+    /**
+     * Schedule a failed event for another attempt, or dead-letter it when the attempts are exhausted
+     * @param originalTopic topic the event was originally published to
+     * @param record failed record
+     * @param cause failure cause
+     */
+    public void scheduleRetry(String originalTopic, ConsumerRecord<String, ?> record, Exception cause) {
+        int attempt = attemptOf(record) + 1;
+        if (attempt > attempts) {
+            sendToDeadLetter(originalTopic, record, cause);
+            return;
+        }
+
+        long delay = (long) (initialDelayMs * Math.pow(multiplier, attempt - 1));
+        Headers headers = forwardedHeaders(originalTopic, record, cause);
+        headers.add(RETRY_ATTEMPT_HEADER, String.valueOf(attempt).getBytes(StandardCharsets.UTF_8));
+        headers.add(RETRY_DUE_AT_HEADER, longToBytes(System.currentTimeMillis() + delay));
+
+        String retryTopic = retryTopic(originalTopic, attempt);
+        logger.warn("Scheduling retry {} of {} for record {}-{}@{} in {} ms: {}",
+                   attempt, attempts, record.topic(), record.partition(), record.offset(), delay, cause.toString());
+        send(new ProducerRecord<>(retryTopic, null, record.key(), valueOf(record), headers));
+        meterRegistry.counter("kafka.consumer.retry", "topic", originalTopic, "outcome", "retry").increment();
+    }
+
+    /**
+     * Publish an event that cannot be processed to the dead-letter topic
+     * @param originalTopic topic the event was originally published to
+     * @param record failed record
+     * @param cause failure cause
+     */
+    public void sendToDeadLetter(String originalTopic, ConsumerRecord<String, ?> record, Exception cause) {
+        Headers headers = forwardedHeaders(originalTopic, record, cause);
+        headers.add(KafkaHeaders.DLT_EXCEPTION_STACKTRACE, stackTraceOf(cause).getBytes(StandardCharsets.UTF_8));
+        headers.add(RETRY_ATTEMPT_HEADER, String.valueOf(attemptOf(record)).getBytes(StandardCharsets.UTF_8));
+
+        String deadLetterTopic = deadLetterTopic(originalTopic);
+        logger.error("Sending record {}-{}@{} to dead-letter topic {}",
+                    record.topic(), record.partition(), record.offset(), deadLetterTopic, cause);
+        send(new ProducerRecord<>(deadLetterTopic, null, record.key(), valueOf(record), headers));
+        meterRegistry.counter("kafka.consumer.retry", "topic", originalTopic, "outcome", "dead_letter").increment();
+    }
+
+    /**
+     * Time left until a retry record is due
+     * @param record record consumed from a retry topic
+     * @return remaining delay in milliseconds, 0 when the record is due
+     */
+    public long remainingDelayMillis(ConsumerRecord<?, ?> record) {
+        Header dueAt = record.headers().lastHeader(RETRY_DUE_AT_HEADER);
+        if (dueAt == null || dueAt.value().length != Long.BYTES) {
+            return 0;
+        }
+        return Math.max(0, ByteBuffer.wrap(dueAt.value()).getLong() - System.currentTimeMillis());
+    }
+
+    /**
+     * Deserialization failure of a record value, if the ErrorHandlingDeserializer reported one
+     * @param record consumed record
+     * @return the deserialization exception, or null when the value was deserialized
+     */
+    public DeserializationException deserializationFailureOf(ConsumerRecord<?, ?> record) {
+        if (record.value() != null) {
+            return null;
+        }
+        return ListenerUtils.getExceptionFromHeader(record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, logAccessor);
+    }
+
+    private int attemptOf(ConsumerRecord<?, ?> record) {
+        Header attempt = record.headers().lastHeader(RETRY_ATTEMPT_HEADER);
+        return attempt == null ? 0 : Integer.parseInt(new String(attempt.value(), StandardCharsets.UTF_8));
+    }
+
+    private Object valueOf(ConsumerRecord<String, ?> record) {
+        DeserializationException failure = deserializationFailureOf(record);
+        // Forward the raw payload of records that could not be deserialized
+        return failure != null ? failure.getData() : record.value();
+    }
+
+    private Headers forwardedHeaders(String originalTopic, ConsumerRecord<String, ?> record, Exception cause) {
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!isReplacedHeader(header.key())) {
+                headers.add(header);
+            }
+        }
+        // Keep the coordinates of the very first failure
+        if (headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC) == null) {
+            headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, originalTopic.getBytes(StandardCharsets.UTF_8));
+            headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+            headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, longToBytes(record.offset()));
+        }
+        Throwable rootCause = cause.getCause() != null ? cause.getCause() : cause;
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN, rootCause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    private boolean isReplacedHeader(String key) {
+        return Arrays.asList(RETRY_ATTEMPT_HEADER, RETRY_DUE_AT_HEADER,
+                KafkaHeaders.DLT_EXCEPTION_FQCN, KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN,
+                KafkaHeaders.DLT_EXCEPTION_MESSAGE, KafkaHeaders.DLT_EXCEPTION_STACKTRACE).contains(key)
+                || key.startsWith(SerializationUtils.DESERIALIZER_EXCEPTION_HEADER_PREFIX);
+    }
+
+    /**
+     * Send synchronously so that the consumed record is only acknowledged once it has been handed over
+     */
+    private void send(ProducerRecord<String, Object> producerRecord) {
+        try {
+            retryKafkaTemplate.send(producerRecord).get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while publishing to " + producerRecord.topic(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to publish to " + producerRecord.topic(), e);
+        }
+    }
+
+    private static byte[] longToBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    private static String stackTraceOf(Throwable throwable) {
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        String stackTrace = writer.toString();
+        return stackTrace.length() > MAX_STACKTRACE_LENGTH ? stackTrace.substring(0, MAX_STACKTRACE_LENGTH) : stackTrace;
+    }
+}
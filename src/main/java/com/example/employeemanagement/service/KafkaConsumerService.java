@@ -2,11 +2,24 @@ package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.BranchEventDto;
 import com.example.employeemanagement.dto.EmployeeEventDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Kafka Consumer Service for Employee Management System
  * Handles consuming events from Kafka topics
@@ -16,67 +29,159 @@ public class KafkaConsumerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaConsumerService.class);
 
+    private static final String EMPLOYEE_EVENTS_TOPIC = "employee-events";
+    private static final String BRANCH_EVENTS_TOPIC = "branch-events";
+    private static final int MARK_PROCESSED_ATTEMPTS = 3;
+    private static final long MARK_PROCESSED_BACKOFF_MS = 100;
+
+    @Autowired
+    private KeyOrderedEventProcessor eventProcessor;
+
+    @Autowired
+    private ProcessedEventStore processedEventStore;
+
+    @Autowired
+    private EmployeeStreamService employeeStreamService;
+
+    @Autowired
+    private EventRetryService eventRetryService;
+
+    @Autowired
+    private KafkaTracing kafkaTracing;
+
     /**
-     * Consume employee events from Kafka topic
-     * @param employeeEvent Employee event data
+     * Consume employee events from Kafka topic in batches
+     * Events that fail are handed to the retry topics, so the batch is always acknowledged and the
+     * partition keeps flowing; events that were already handled are skipped by their event id
+     * @param records Employee event records received in a single poll
+     * @param acknowledgment Acknowledgment used to commit the batch offsets
      */
-    @KafkaListener(topics = "employee-events", groupId = "employee-management-group")
-    public void consumeEmployeeEvent(EmployeeEventDto employeeEvent) {
-        try {
-            logger.info("Received employee event: {} for employee ID: {} at {}",
-                       employeeEvent.getEventType(),
-                       employeeEvent.getEmployeeId(),
-                       employeeEvent.getTimestamp());
-
-            // Process the employee event based on event type
-            switch (employeeEvent.getEventType()) {
-                case "CREATE":
-                    handleEmployeeCreated(employeeEvent);
-                    break;
-                case "UPDATE":
-                    handleEmployeeUpdated(employeeEvent);
-                    break;
-                case "DELETE":
-                    handleEmployeeDeleted(employeeEvent);
-                    break;
-                default:
-                    logger.warn("Unknown employee event type: {}", employeeEvent.getEventType());
-            }
+    @KafkaListener(topics = EMPLOYEE_EVENTS_TOPIC, groupId = "employee-management-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeEmployeeEvents(List<ConsumerRecord<String, EmployeeEventDto>> records, Acknowledgment acknowledgment) {
+        logger.info("Received batch of {} employee events", records.size());
+        kafkaTracing.processBatch(EMPLOYEE_EVENTS_TOPIC, records, () -> {
+            List<ConsumerRecord<String, EmployeeEventDto>> unprocessed = processedEventStore.filterUnprocessed(
+                    EMPLOYEE_EVENTS_TOPIC, deadLetterPoisonRecords(EMPLOYEE_EVENTS_TOPIC, records), record -> record.value().getEventId());
+            eventProcessor.process(unprocessed, record -> record.value().getEmployeeId(), this::processEmployeeRecords);
+        });
+        acknowledgment.acknowledge();
+    }
 
-        } catch (Exception e) {
-            logger.error("Error processing employee event: {}", employeeEvent, e);
-        }
+    /**
+     * Consume branch events from Kafka topic in batches
+     * Events that fail are handed to the retry topics, so the batch is always acknowledged and the
+     * partition keeps flowing; events that were already handled are skipped by their event id
+     * @param records Branch event records received in a single poll
+     * @param acknowledgment Acknowledgment used to commit the batch offsets
+     */
+    @KafkaListener(topics = BRANCH_EVENTS_TOPIC, groupId = "employee-management-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeBranchEvents(List<ConsumerRecord<String, BranchEventDto>> records, Acknowledgment acknowledgment) {
+        logger.info("Received batch of {} branch events", records.size());
+        kafkaTracing.processBatch(BRANCH_EVENTS_TOPIC, records, () -> {
+            List<ConsumerRecord<String, BranchEventDto>> unprocessed = processedEventStore.filterUnprocessed(
+                    BRANCH_EVENTS_TOPIC, deadLetterPoisonRecords(BRANCH_EVENTS_TOPIC, records), record -> record.value().getEventId());
+            eventProcessor.process(unprocessed, record -> record.value().getBranchId(), this::processBranchRecords);
+        });
+        acknowledgment.acknowledge();
     }
 
     /**
-     * Consume branch events from Kafka topic
-     * @param branchEvent Branch event data
+     * Retry employee events from the employee-events retry topics once their delay has elapsed
+     * @param record Employee event record from a retry topic
+     * @param acknowledgment Acknowledgment used to commit or delay the record
      */
-    @KafkaListener(topics = "branch-events", groupId = "employee-management-group")
-    public void consumeBranchEvent(BranchEventDto branchEvent) {
-        try {
-            logger.info("Received branch event: {} for branch ID: {} at {}",
-                       branchEvent.getEventType(),
-                       branchEvent.getBranchId(),
-                       branchEvent.getTimestamp());
-
-            // Process the branch event based on event type
-            switch (branchEvent.getEventType()) {
-                case "CREATE":
-                    handleBranchCreated(branchEvent);
-                    break;
-                case "UPDATE":
-                    handleBranchUpdated(branchEvent);
-                    break;
-                case "DELETE":
-                    handleBranchDeleted(branchEvent);
-                    break;
-                default:
-                    logger.warn("Unknown branch event type: {}", branchEvent.getEventType());
+    @KafkaListener(topicPattern = EMPLOYEE_EVENTS_TOPIC + "-retry-\\d+", groupId = "employee-management-group",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void retryEmployeeEvent(ConsumerRecord<String, EmployeeEventDto> record, Acknowledgment acknowledgment) {
+        retryRecord(EMPLOYEE_EVENTS_TOPIC, record, acknowledgment, EmployeeEventDto::getEventId, this::processEmployeeRecords);
+    }
+
+    /**
+     * Retry branch events from the branch-events retry topics once their delay has elapsed
+     * @param record Branch event record from a retry topic
+     * @param acknowledgment Acknowledgment used to commit or delay the record
+     */
+    @KafkaListener(topicPattern = BRANCH_EVENTS_TOPIC + "-retry-\\d+", groupId = "employee-management-group",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void retryBranchEvent(ConsumerRecord<String, BranchEventDto> record, Acknowledgment acknowledgment) {
+        retryRecord(BRANCH_EVENTS_TOPIC, record, acknowledgment, BranchEventDto::getEventId, this::processBranchRecords);
+    }
+
+    /**
+     * Fan employee and branch events out to the stream subscribers of this node
+     * Every node uses its own consumer group, named after the instance so that it is reused after a restart,
+     * so that each node sees every event regardless of how the main consumer group partitions are assigned
+     * @param records Employee and branch event records received in a single poll
+     * @param acknowledgment Acknowledgment used to commit the batch offsets
+     */
+    @KafkaListener(topics = {EMPLOYEE_EVENTS_TOPIC, BRANCH_EVENTS_TOPIC},
+                   groupId = "#{'employee-management-stream-' + @kafkaConfig.instanceId}",
+                   containerFactory = "batchKafkaListenerContainerFactory",
+                   properties = "auto.offset.reset=latest",
+                   // Overrides the container factory setting, so app.kafka.listeners.auto-startup is checked here too
+                   autoStartup = "#{${app.stream.enabled:true} and ${app.kafka.listeners.auto-startup:true}}")
+    public void streamEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof EmployeeEventDto) {
+                EmployeeEventDto event = (EmployeeEventDto) record.value();
+                employeeStreamService.publish("employee", event.getEventId(), event.getBranchId(), event);
+            } else if (record.value() instanceof BranchEventDto) {
+                BranchEventDto event = (BranchEventDto) record.value();
+                employeeStreamService.publish("branch", event.getEventId(), event.getBranchId(), event);
             }
+        }
+        acknowledgment.acknowledge();
+    }
 
-        } catch (Exception e) {
-            logger.error("Error processing branch event: {}", branchEvent, e);
+    /**
+     * Process employee event records that share an ordering lane
+     * @param records Employee event records in partition order
+     */
+    private void processEmployeeRecords(List<ConsumerRecord<String, EmployeeEventDto>> records) {
+        processRecords(EMPLOYEE_EVENTS_TOPIC, records, EmployeeEventDto::getEventType,
+                       EmployeeEventDto::getEventId, this::dispatchEmployeeEvents);
+    }
+
+    /**
+     * Process branch event records that share an ordering lane
+     * @param records Branch event records in partition order
+     */
+    private void processBranchRecords(List<ConsumerRecord<String, BranchEventDto>> records) {
+        processRecords(BRANCH_EVENTS_TOPIC, records, BranchEventDto::getEventType,
+                       BranchEventDto::getEventId, this::dispatchBranchEvents);
+    }
+
+    private void dispatchEmployeeEvents(String eventType, List<EmployeeEventDto> events) {
+        switch (eventType) {
+            case "CREATE":
+                handleEmployeesCreated(events);
+                break;
+            case "UPDATE":
+                handleEmployeesUpdated(events);
+                break;
+            case "DELETE":
+                handleEmployeesDeleted(events);
+                break;
+            default:
+                logger.warn("Unknown employee event type: {} ({} events)", eventType, events.size());
+        }
+    }
+
+    private void dispatchBranchEvents(String eventType, List<BranchEventDto> events) {
+        switch (eventType) {
+            case "CREATE":
+                handleBranchesCreated(events);
+                break;
+            case "UPDATE":
+                handleBranchesUpdated(events);
+                break;
+            case "DELETE":
+                handleBranchesDeleted(events);
+                break;
+            default:
+                logger.warn("Unknown branch event type: {} ({} events)", eventType, events.size());
         }
     }
 
@@ -99,84 +204,236 @@ public class KafkaConsumerService {
 
     // Private methods for handling specific event types
 
-    private void handleEmployeeCreated(EmployeeEventDto event) {
-        logger.info("Processing employee creation event for: {} (ID: {})",
-                   event.getEmployeeName(), event.getEmployeeId());
+    /**
+     * Hand consecutive events of the same type to the handlers together, preserving order.
+     * When a run fails, its events are retried one by one so that only the failing events are
+     * sent to the retry topics. Recording handled events as processed is not part of that: a run
+     * that was dispatched is never dispatched again because its dedup insert failed.
+     * @param topic original topic of the records
+     * @param records records in partition order
+     * @param typeExtractor function returning the event type of an event
+     * @param idExtractor function returning the event id of an event
+     * @param dispatcher handler invoked with an event type and the events of a run
+     */
+    private <T> void processRecords(String topic, List<ConsumerRecord<String, T>> records,
+                                    Function<T, String> typeExtractor, Function<T, String> idExtractor,
+                                    BiConsumer<String, List<T>> dispatcher) {
+        for (List<ConsumerRecord<String, T>> run : splitByEventType(records, record -> typeExtractor.apply(record.value()))) {
+            String eventType = String.valueOf(typeExtractor.apply(run.get(0).value()));
+            List<T> events = run.stream().map(ConsumerRecord::value).collect(Collectors.toList());
+            try {
+                dispatcher.accept(eventType, events);
+            } catch (Exception e) {
+                if (run.size() > 1) {
+                    logger.warn("Failed to process {} {} events from {} together, processing them one by one",
+                               run.size(), eventType, topic, e);
+                }
+                for (ConsumerRecord<String, T> record : run) {
+                    processSingleRecord(topic, record, eventType, idExtractor, dispatcher, run.size() > 1 ? null : e);
+                }
+                continue;
+            }
+            markProcessed(topic, events.stream().map(idExtractor).collect(Collectors.toList()));
+        }
+    }
+
+    private <T> void processSingleRecord(String topic, ConsumerRecord<String, T> record, String eventType,
+                                         Function<T, String> idExtractor, BiConsumer<String, List<T>> dispatcher,
+                                         Exception knownFailure) {
+        Exception failure = knownFailure;
+        if (failure == null) {
+            try {
+                dispatcher.accept(eventType, Collections.singletonList(record.value()));
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            eventRetryService.scheduleRetry(topic, record, failure);
+        } else {
+            markProcessed(topic, Collections.singletonList(idExtractor.apply(record.value())));
+        }
+    }
+
+    /**
+     * Record dispatched events as processed, retrying the insert a few times
+     * If it keeps failing, the batch fails and is redelivered, which handles these events again
+     * @param topic original topic of the events
+     * @param eventIds ids of the dispatched events
+     */
+    private void markProcessed(String topic, List<String> eventIds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                processedEventStore.markProcessed(topic, eventIds);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MARK_PROCESSED_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warn("Failed to record {} events from {} as processed (attempt {}), retrying",
+                           eventIds.size(), topic, attempt, e);
+                try {
+                    Thread.sleep(MARK_PROCESSED_BACKOFF_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Split a batch into runs of consecutive events sharing the same event type
+     * @param events events in partition order
+     * @param typeExtractor function returning the event type of an event
+     * @return runs of events, in the original order
+     */
+    private <T> List<List<T>> splitByEventType(List<T> events, Function<T, String> typeExtractor) {
+        List<List<T>> runs = new ArrayList<>();
+        List<T> currentRun = null;
+        String currentType = null;
+        for (T event : events) {
+            String eventType = String.valueOf(typeExtractor.apply(event));
+            if (currentRun == null || !eventType.equals(currentType)) {
+                currentRun = new ArrayList<>();
+                currentType = eventType;
+                runs.add(currentRun);
+            }
+            currentRun.add(event);
+        }
+        return runs;
+    }
+
+    /**
+     * Send records whose value could not be deserialized straight to the dead-letter topic
+     * @param topic original topic of the records
+     * @param records records received in a single poll
+     * @return records with a usable value
+     */
+    private <T> List<ConsumerRecord<String, T>> deadLetterPoisonRecords(String topic, List<ConsumerRecord<String, T>> records) {
+        List<ConsumerRecord<String, T>> valid = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, T> record : records) {
+            DeserializationException failure = eventRetryService.deserializationFailureOf(record);
+            if (failure != null) {
+                eventRetryService.sendToDeadLetter(topic, record, failure);
+            } else if (record.value() != null) {
+                valid.add(record);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Process a record from a retry topic, delaying it until it is due
+     * @param topic original topic of the record
+     * @param record record from a retry topic
+     * @param acknowledgment Acknowledgment used to commit or delay the record
+     * @param idExtractor function returning the event id of an event
+     * @param processor processor for records of the original topic
+     */
+    private <T> void retryRecord(String topic, ConsumerRecord<String, T> record, Acknowledgment acknowledgment,
+                                 Function<T, String> idExtractor, Consumer<List<ConsumerRecord<String, T>>> processor) {
+        long remainingDelay = eventRetryService.remainingDelayMillis(record);
+        if (remainingDelay > 0) {
+            // Pauses this retry partition and redelivers the record once it is due
+            acknowledgment.nack(Duration.ofMillis(remainingDelay));
+            return;
+        }
+
+        logger.info("Retrying record {}-{}@{}", record.topic(), record.partition(), record.offset());
+        kafkaTracing.processRecord(record.topic(), record, () -> {
+            List<ConsumerRecord<String, T>> valid = deadLetterPoisonRecords(topic, Collections.singletonList(record));
+            if (!valid.isEmpty()) {
+                processor.accept(processedEventStore.filterUnprocessed(topic, valid, retried -> idExtractor.apply(retried.value())));
+            }
+        });
+        acknowledgment.acknowledge();
+    }
+
+    private void handleEmployeesCreated(List<EmployeeEventDto> events) {
+        logger.debug("Processing {} employee creation events", events.size());
         
-        // Add business logic here:
-        // - Send welcome email
-        // - Create user account
+        // Add business logic here (once per batch):
+        // - Send welcome emails
+        // - Create user accounts
         // - Update analytics
         // - Notify managers
         
-        logger.debug("Employee created - Name: {}, Email: {}, Branch: {}",
-                    event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        for (EmployeeEventDto event : events) {
+            logger.debug("Employee created - ID: {}, Name: {}, Email: {}, Branch: {}",
+                        event.getEmployeeId(), event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        }
     }
 
-    private void handleEmployeeUpdated(EmployeeEventDto event) {
-        logger.info("Processing employee update event for: {} (ID: {})",
-                   event.getEmployeeName(), event.getEmployeeId());
+    private void handleEmployeesUpdated(List<EmployeeEventDto> events) {
+        logger.debug("Processing {} employee update events", events.size());
         
-        // Add business logic here:
+        // Add business logic here (once per batch):
         // - Update external systems
         // - Sync with HR systems
         // - Log audit trail
         
-        logger.debug("Employee updated - Name: {}, Email: {}, Branch: {}",
-                    event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        for (EmployeeEventDto event : events) {
+            logger.debug("Employee updated - ID: {}, Name: {}, Email: {}, Branch: {}",
+                        event.getEmployeeId(), event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        }
     }
 
-    private void handleEmployeeDeleted(EmployeeEventDto event) {
-        logger.info("Processing employee deletion event for: {} (ID: {})",
-                   event.getEmployeeName(), event.getEmployeeId());
+    private void handleEmployeesDeleted(List<EmployeeEventDto> events) {
+        logger.debug("Processing {} employee deletion events", events.size());
         
-        // Add business logic here:
+        // Add business logic here (once per batch):
         // - Deactivate accounts
         // - Archive data
         // - Update reports
         // - Notify stakeholders
         
-        logger.debug("Employee deleted - Name: {}, Email: {}, Branch: {}",
-                    event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        for (EmployeeEventDto event : events) {
+            logger.debug("Employee deleted - ID: {}, Name: {}, Email: {}, Branch: {}",
+                        event.getEmployeeId(), event.getEmployeeName(), event.getEmail(), event.getBranchName());
+        }
     }
 
-    private void handleBranchCreated(BranchEventDto event) {
-        logger.info("Processing branch creation event for: {} (ID: {})",
-                   event.getBranchName(), event.getBranchId());
+    private void handleBranchesCreated(List<BranchEventDto> events) {
+        logger.debug("Processing {} branch creation events", events.size());
         
-        // Add business logic here:
+        // Add business logic here (once per batch):
         // - Setup branch infrastructure
         // - Create default configurations
         // - Notify regional managers
         
-        logger.debug("Branch created - Name: {}, Address: {}, Phone: {}",
-                    event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        for (BranchEventDto event : events) {
+            logger.debug("Branch created - ID: {}, Name: {}, Address: {}, Phone: {}",
+                        event.getBranchId(), event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        }
     }
 
-    private void handleBranchUpdated(BranchEventDto event) {
-        logger.info("Processing branch update event for: {} (ID: {})",
-                   event.getBranchName(), event.getBranchId());
+    private void handleBranchesUpdated(List<BranchEventDto> events) {
+        logger.debug("Processing {} branch update events", events.size());
         
-        // Add business logic here:
+        // Add business logic here (once per batch):
         // - Update external directories
         // - Sync location data
         // - Update mapping services
         
-        logger.debug("Branch updated - Name: {}, Address: {}, Phone: {}",
-                    event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        for (BranchEventDto event : events) {
+            logger.debug("Branch updated - ID: {}, Name: {}, Address: {}, Phone: {}",
+                        event.getBranchId(), event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        }
     }
 
-    private void handleBranchDeleted(BranchEventDto event) {
-        logger.info("Processing branch deletion event for: {} (ID: {})",
-                   event.getBranchName(), event.getBranchId());
+    private void handleBranchesDeleted(List<BranchEventDto> events) {
+        logger.debug("Processing {} branch deletion events", events.size());
         
-        // Add business logic here:
+        // Add business logic here (once per batch):
         // - Archive branch data
         // - Reassign employees
         // - Update reporting structures
         
-        logger.debug("Branch deleted - Name: {}, Address: {}, Phone: {}",
-                    event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        for (BranchEventDto event : events) {
+            logger.debug("Branch deleted - ID: {}, Name: {}, Address: {}, Phone: {}",
+                        event.getBranchId(), event.getBranchName(), event.getAddress(), event.getPhoneNumber());
+        }
     }
 
     private void handleNotification(Object notification) {
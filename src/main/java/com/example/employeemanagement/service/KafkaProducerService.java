@@ -1,7 +1,9 @@
 package com.example.employeemanagement.service;
 
 import com.example.employeemanagement.dto.BranchEventDto;
+import com.example.employeemanagement.dto.BranchResponseDto;
 import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,10 +24,15 @@ public class KafkaProducerService {
     private static final String EMPLOYEE_EVENTS_TOPIC = "employee-events";
     private static final String BRANCH_EVENTS_TOPIC = "branch-events";
     private static final String NOTIFICATION_EVENTS_TOPIC = "notification-events";
+    private static final String EMPLOYEE_STATE_TOPIC = "employee-state";
+    private static final String BRANCH_STATE_TOPIC = "branch-state";
 
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Autowired
+    private KafkaTracing kafkaTracing;
+
     /**
      * Publish employee event to Kafka topic
      * @param eventDto Employee event data
@@ -38,7 +45,8 @@ public class KafkaProducerService {
             logger.info("Publishing employee event: {} for employee ID: {}", 
                        eventDto.getEventType(), eventDto.getEmployeeId());
 
-            kafkaTemplate.send(EMPLOYEE_EVENTS_TOPIC, eventDto.getEventId(), eventDto);
+            // Key by employee so that all events of one employee land on the same partition, in order
+            kafkaTracing.send(kafkaTemplate, EMPLOYEE_EVENTS_TOPIC, String.valueOf(eventDto.getEmployeeId()), eventDto);
             
             logger.info("Employee event published successfully: {}", eventDto.getEventId());
 
@@ -59,7 +67,8 @@ public class KafkaProducerService {
             logger.info("Publishing branch event: {} for branch ID: {}", 
                        eventDto.getEventType(), eventDto.getBranchId());
 
-            kafkaTemplate.send(BRANCH_EVENTS_TOPIC, eventDto.getEventId(), eventDto);
+            // Key by branch so that all events of one branch land on the same partition, in order
+            kafkaTracing.send(kafkaTemplate, BRANCH_EVENTS_TOPIC, String.valueOf(eventDto.getBranchId()), eventDto);
             
             logger.info("Branch event published successfully: {}", eventDto.getEventId());
 
@@ -68,6 +77,54 @@ public class KafkaProducerService {
         }
     }
 
+    /**
+     * Publish the current state of an employee to the compacted employee-state topic
+     * Branch data in the state reflects the time of the employee write; join with branch-state
+     * by branchId for the current branch code and name
+     * @param employee Employee state
+     */
+    public void publishEmployeeState(EmployeeResponseDto employee) {
+        publishState(EMPLOYEE_STATE_TOPIC, employee.getId(), employee);
+    }
+
+    /**
+     * Publish a tombstone for a deleted employee to the compacted employee-state topic
+     * @param employeeId Employee id
+     */
+    public void publishEmployeeTombstone(Long employeeId) {
+        publishState(EMPLOYEE_STATE_TOPIC, employeeId, null);
+    }
+
+    /**
+     * Publish the current state of a branch to the compacted branch-state topic
+     * The employee count reflects the time of the branch write
+     * @param branch Branch state
+     */
+    public void publishBranchState(BranchResponseDto branch) {
+        publishState(BRANCH_STATE_TOPIC, branch.getId(), branch);
+    }
+
+    /**
+     * Publish a tombstone for a deleted branch to the compacted branch-state topic
+     * @param branchId Branch id
+     */
+    public void publishBranchTombstone(Long branchId) {
+        publishState(BRANCH_STATE_TOPIC, branchId, null);
+    }
+
+    /**
+     * Publish an entity state keyed by id, so that compaction keeps only the latest state per entity
+     * A null state is a tombstone that removes the entity from the topic
+     */
+    private void publishState(String topic, Long id, Object state) {
+        try {
+            logger.debug("Publishing {} to {} for ID: {}", state != null ? "state" : "tombstone", topic, id);
+            kafkaTracing.send(kafkaTemplate, topic, String.valueOf(id), state);
+        } catch (Exception e) {
+            logger.error("Error publishing state to {} for ID: {}", topic, id, e);
+        }
+    }
+
     /**
      * Publish generic notification message
      * @param message Notification message
@@ -82,7 +139,7 @@ public class KafkaProducerService {
             // Create simple notification object
             NotificationEvent notification = new NotificationEvent(eventId, message, userId);
 
-            kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, eventId, notification);
+            kafkaTracing.send(kafkaTemplate, NOTIFICATION_EVENTS_TOPIC, eventId, notification);
             
             logger.info("Notification published successfully: {}", eventId);
 
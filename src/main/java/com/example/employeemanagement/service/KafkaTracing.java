@@ -0,0 +1,154 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.TracingConfig;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trace context for Kafka records.
+ *
+ * A send gets a producer span that lasts until the broker acknowledged the record, and the W3C trace
+ * context of that span is added to the record headers. The listeners in KafkaConsumerService run in a
+ * consumer span linked to the trace of every record of the batch, so each event can be followed back
+ * to the request that published it. Retry and dead-letter records keep the headers of the original.
+ */
+@Component
+public class KafkaTracing {
+
+    private static final TextMapSetter<Headers> HEADER_SETTER = (headers, key, value) -> {
+        headers.remove(key);
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+    };
+
+    private static final TextMapGetter<Headers> HEADER_GETTER = new TextMapGetter<Headers>() {
+        @Override
+        public Iterable<String> keys(Headers headers) {
+            List<String> keys = new ArrayList<>();
+            for (Header header : headers) {
+                keys.add(header.key());
+            }
+            return keys;
+        }
+
+        @Override
+        public String get(Headers headers, String key) {
+            Header header = headers != null ? headers.lastHeader(key) : null;
+            return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+        }
+    };
+
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+
+    public KafkaTracing(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION_NAME);
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    /**
+     * Send a record in a producer span, carrying the trace context in its headers
+     * @param kafkaTemplate template to send with
+     * @param topic topic
+     * @param key record key
+     * @param value record value, null for a tombstone
+     * @return future of the send result
+     */
+    public ListenableFuture<SendResult<String, Object>> send(KafkaTemplate<String, Object> kafkaTemplate,
+                                                             String topic, String key, Object value) {
+        Span span = tracer.spanBuilder(topic + " send")
+                .setSpanKind(SpanKind.PRODUCER)
+                .setAttribute("messaging.system", "kafka")
+                .setAttribute("messaging.destination.name", topic)
+                .startSpan();
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, value);
+        try (Scope scope = span.makeCurrent()) {
+            propagator.inject(Context.current(), record.headers(), HEADER_SETTER);
+            ListenableFuture<SendResult<String, Object>> future = kafkaTemplate.send(record);
+            future.addCallback(result -> span.end(), e -> {
+                span.recordException(e);
+                span.setStatus(StatusCode.ERROR);
+                span.end();
+            });
+            return future;
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+            throw e;
+        }
+    }
+
+    /**
+     * Process a batch of records in a consumer span linked to the trace of every record
+     * @param topic topic the records were consumed from
+     * @param records records of the batch
+     * @param processing processing of the batch
+     */
+    public void processBatch(String topic, List<? extends ConsumerRecord<?, ?>> records, Runnable processing) {
+        SpanBuilder spanBuilder = consumerSpan(topic)
+                .setNoParent()
+                .setAttribute("messaging.batch.message_count", records.size());
+        for (ConsumerRecord<?, ?> record : records) {
+            SpanContext producer = Span.fromContext(extract(record)).getSpanContext();
+            if (producer.isValid()) {
+                spanBuilder.addLink(producer);
+            }
+        }
+        run(spanBuilder.startSpan(), processing);
+    }
+
+    /**
+     * Process a single record in a consumer span that continues the trace of the record
+     * @param topic topic the record was consumed from
+     * @param record record
+     * @param processing processing of the record
+     */
+    public void processRecord(String topic, ConsumerRecord<?, ?> record, Runnable processing) {
+        run(consumerSpan(topic).setParent(extract(record)).startSpan(), processing);
+    }
+
+    private SpanBuilder consumerSpan(String topic) {
+        return tracer.spanBuilder(topic + " process")
+                .setSpanKind(SpanKind.CONSUMER)
+                .setAttribute("messaging.system", "kafka")
+                .setAttribute("messaging.destination.name", topic);
+    }
+
+    private Context extract(ConsumerRecord<?, ?> record) {
+        return propagator.extract(Context.root(), record.headers(), HEADER_GETTER);
+    }
+
+    private void run(Span span, Runnable processing) {
+        try (Scope scope = span.makeCurrent()) {
+            processing.run();
+        } catch (RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
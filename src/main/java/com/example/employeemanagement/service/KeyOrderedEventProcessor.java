@@ -0,0 +1,137 @@
+package com.example.employeemanagement.service;
+
+import io.opentelemetry.context.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fans the records of one Kafka batch out to a pool of worker lanes while keeping ordering per key.
+ * Every key is pinned to a single-threaded lane, so events of the same employee are always handled
+ * sequentially and in partition order, while different keys are handled in parallel.
+ *
+ * The calling listener thread waits until every lane has finished its share of the batch, so the
+ * container only commits offsets for fully processed batches and does not poll again while the
+ * workers are busy. A slow key therefore holds up the next batch of every lane. The wait is bounded
+ * below max.poll.interval.ms: a batch that takes longer fails and is redelivered by the error handler
+ * instead of the consumer being removed from the group. Records whose lane had not finished by then
+ * are queued again behind the running ones on the same lane, so ordering per key holds, but they may
+ * be handled twice because they were not marked as processed yet.
+ */
+@Component
+public class KeyOrderedEventProcessor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedEventProcessor.class);
+
+    private final boolean enabled;
+    private final ExecutorService[] lanes;
+    private final long batchTimeoutMillis;
+
+    public KeyOrderedEventProcessor(@Value("${app.kafka.consumer.parallel.enabled:false}") boolean enabled,
+                                    @Value("${app.kafka.consumer.parallel.workers:0}") int workers,
+                                    @Value("${app.kafka.consumer.max-poll-interval-ms:300000}") long maxPollIntervalMillis) {
+        this.enabled = enabled;
+        // The rest of the interval is left for filtering and acknowledging the batch
+        this.batchTimeoutMillis = maxPollIntervalMillis * 4 / 5;
+        int laneCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ExecutorService[enabled ? laneCount : 0];
+        AtomicInteger threadCounter = new AtomicInteger();
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "event-worker-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        if (enabled) {
+            logger.info("Key-ordered parallel event processing enabled with {} worker lanes", laneCount);
+        }
+    }
+
+    /**
+     * Process a batch of events, in parallel across keys and sequentially within a key
+     * @param events events in partition order
+     * @param keyExtractor function returning the ordering key of an event
+     * @param handler handler invoked with the events of one lane, in their original order
+     * @throws RuntimeException the first failure raised by a lane, after all lanes have finished
+     * @throws IllegalStateException if the lanes did not finish within four fifths of max.poll.interval.ms
+     */
+    public <T> void process(List<T> events, Function<T, Object> keyExtractor, Consumer<List<T>> handler) {
+        if (!enabled || lanes.length == 1 || events.size() <= 1) {
+            handler.accept(events);
+            return;
+        }
+
+        List<List<T>> laneEvents = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            laneEvents.add(new ArrayList<>());
+        }
+        for (T event : events) {
+            laneEvents.get(laneFor(keyExtractor.apply(event))).add(event);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            List<T> assigned = laneEvents.get(i);
+            if (!assigned.isEmpty()) {
+                // The lanes continue the trace of the consuming thread
+                futures.add(CompletableFuture.runAsync(Context.current().wrap(() -> handler.accept(assigned)), lanes[i]));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(batchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Batch of " + events.size() + " events not processed within "
+                    + batchTimeoutMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the worker lanes", e);
+        }
+    }
+
+    /**
+     * Number of worker lanes, 0 when parallel processing is disabled
+     * @return lane count
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    private int laneFor(Object key) {
+        return Math.floorMod(Objects.hashCode(key), lanes.length);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+}
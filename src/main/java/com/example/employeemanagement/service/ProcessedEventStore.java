@@ -0,0 +1,192 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.entity.ProcessedEvent;
+import com.example.employeemanagement.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplication store for consumed Kafka events, keyed by event id.
+ *
+ * Recently processed ids are kept in a bounded, time-windowed in-memory set so that redeliveries
+ * after a rebalance or a failed batch are skipped without touching the database. Older ids fall back
+ * to the compact processed_events table, which is checked with one query per batch and purged once
+ * entries exceed the retention period.
+ */
+@Service
+public class ProcessedEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    private static final String METRIC_NAME = "kafka.consumer.dedup";
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final MeterRegistry meterRegistry;
+    private final int cacheSize;
+    private final long cacheWindowMillis;
+    private final Duration retention;
+
+    // eventId -> processed-at millis, in insertion order so the oldest entries are evicted first
+    private final LinkedHashMap<String, Long> recentEvents = new LinkedHashMap<>();
+
+    public ProcessedEventStore(ProcessedEventRepository processedEventRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.kafka.consumer.dedup.cache-size:100000}") int cacheSize,
+                               @Value("${app.kafka.consumer.dedup.cache-window-minutes:60}") long cacheWindowMinutes,
+                               @Value("${app.kafka.consumer.dedup.retention-hours:168}") long retentionHours) {
+        this.processedEventRepository = processedEventRepository;
+        this.meterRegistry = meterRegistry;
+        this.cacheSize = cacheSize;
+        this.cacheWindowMillis = Duration.ofMinutes(cacheWindowMinutes).toMillis();
+        this.retention = Duration.ofHours(retentionHours);
+        meterRegistry.gauge("kafka.consumer.dedup.cache.size", recentEvents, this::cachedCount);
+    }
+
+    /**
+     * Remove events that have already been processed, including duplicates within the batch itself
+     * @param topic topic the events were consumed from
+     * @param events events in partition order
+     * @param idExtractor function returning the event id of an event
+     * @return events that still have to be processed, in their original order
+     */
+    public <T> List<T> filterUnprocessed(String topic, List<T> events, Function<T, String> idExtractor) {
+        Set<String> candidateIds = new HashSet<>();
+        int memoryHits = 0;
+        synchronized (recentEvents) {
+            long now = System.currentTimeMillis();
+            for (T event : events) {
+                String eventId = idExtractor.apply(event);
+                if (eventId != null && !isRecent(eventId, now)) {
+                    candidateIds.add(eventId);
+                }
+            }
+        }
+
+        Set<String> storedIds = candidateIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(processedEventRepository.findProcessedEventIds(candidateIds));
+
+        List<T> unprocessed = new ArrayList<>(events.size());
+        Set<String> seenInBatch = new HashSet<>();
+        int storeHits = 0;
+        for (T event : events) {
+            String eventId = idExtractor.apply(event);
+            if (eventId == null) {
+                unprocessed.add(event);
+            } else if (!candidateIds.contains(eventId) || !seenInBatch.add(eventId)) {
+                memoryHits++;
+            } else if (storedIds.contains(eventId)) {
+                storeHits++;
+            } else {
+                unprocessed.add(event);
+            }
+        }
+
+        record(topic, "memory_hit", memoryHits);
+        record(topic, "store_hit", storeHits);
+        record(topic, "miss", unprocessed.size());
+        if (memoryHits + storeHits > 0) {
+            logger.info("Skipped {} already processed events from {}", memoryHits + storeHits, topic);
+        }
+        return unprocessed;
+    }
+
+    /**
+     * Record events as processed so that later redeliveries are skipped
+     * @param topic topic the events were consumed from
+     * @param eventIds ids of the successfully processed events
+     */
+    public void markProcessed(String topic, Collection<String> eventIds) {
+        List<String> ids = eventIds.stream()
+                .filter(id -> id != null)
+                .distinct()
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime processedAt = LocalDateTime.now();
+        try {
+            processedEventRepository.saveAll(toEntities(topic, ids, processedAt));
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer marked some of these ids first; store only the missing ones
+            Set<String> existing = new HashSet<>(processedEventRepository.findProcessedEventIds(ids));
+            List<String> missing = ids.stream()
+                    .filter(id -> !existing.contains(id))
+                    .collect(Collectors.toList());
+            processedEventRepository.saveAll(toEntities(topic, missing, processedAt));
+        }
+
+        synchronized (recentEvents) {
+            long now = System.currentTimeMillis();
+            for (String id : ids) {
+                recentEvents.put(id, now);
+            }
+            evictExpired(now);
+        }
+    }
+
+    /**
+     * Delete processed event markers that are older than the retention period
+     */
+    @Scheduled(fixedDelayString = "${app.kafka.consumer.dedup.purge-interval-ms:3600000}",
+               initialDelayString = "${app.kafka.consumer.dedup.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Purged {} processed event markers older than {}", deleted, retention);
+        }
+    }
+
+    private boolean isRecent(String eventId, long now) {
+        Long processedAt = recentEvents.get(eventId);
+        return processedAt != null && now - processedAt <= cacheWindowMillis;
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Long>> iterator = recentEvents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            if (recentEvents.size() <= cacheSize && now - eldest.getValue() <= cacheWindowMillis) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private double cachedCount(Map<String, Long> events) {
+        synchronized (recentEvents) {
+            return events.size();
+        }
+    }
+
+    private List<ProcessedEvent> toEntities(String topic, List<String> ids, LocalDateTime processedAt) {
+        return ids.stream()
+                .map(id -> new ProcessedEvent(id, topic, processedAt))
+                .collect(Collectors.toList());
+    }
+
+    private void record(String topic, String result, int count) {
+        if (count > 0) {
+            meterRegistry.counter(METRIC_NAME, "topic", topic, "result", result).increment(count);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.entity.BranchShard;
+import com.example.employeemanagement.exception.DataConflictException;
+import com.example.employeemanagement.repository.BranchShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Map from branch to the shard holding its employees.
+ *
+ * A branch is placed on a shard by hashing its id when it is created, and the placement is stored
+ * in the global branch_shards table, so adding shards later does not move existing branches.
+ * Reads and writes use a copy of the table refreshed every few seconds, so a branch that is being
+ * moved rejects writes on every node once it has refreshed; ShardMigrationService waits a refresh
+ * interval after marking a branch before copying it.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardMap {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardMap.class);
+
+    @Autowired
+    private BranchShardRepository branchShardRepository;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    private volatile Map<Long, BranchShard> assignments = Collections.emptyMap();
+
+    /**
+     * Names of all shards
+     * @return shard names
+     */
+    public List<String> getShards() {
+        return shardRoutingDataSource.getShardNames();
+    }
+
+    /**
+     * Shard to read the employees of a branch from
+     * @param branchId branch id
+     * @return shard name
+     */
+    public String shardFor(Long branchId) {
+        BranchShard assignment = assignments.get(branchId);
+        return assignment != null ? assignment.getShard() : hashedShard(branchId);
+    }
+
+    /**
+     * Shard to write the employees of a branch to
+     * @param branchId branch id
+     * @return shard name
+     * @throws DataConflictException if the branch is being moved to another shard
+     */
+    public String writableShardFor(Long branchId) {
+        BranchShard assignment = assignments.get(branchId);
+        if (assignment == null) {
+            return hashedShard(branchId);
+        }
+        if (BranchShard.MOVING.equals(assignment.getStatus())) {
+            throw new DataConflictException("Branch " + branchId + " is being moved to another shard, retry shortly");
+        }
+        return assignment.getShard();
+    }
+
+    /**
+     * Shard a branch is assigned to, checked against the stored assignment whether or not it is being moved
+     * @param branchId branch id
+     * @return shard name
+     */
+    public String assignedShardFor(Long branchId) {
+        return branchShardRepository.findById(branchId)
+                .map(BranchShard::getShard)
+                .orElseGet(() -> hashedShard(branchId));
+    }
+
+    /**
+     * Store the initial placement of a new branch
+     * @param branchId branch id
+     * @return shard name
+     */
+    public String assign(Long branchId) {
+        String shard = hashedShard(branchId);
+        BranchShard assignment = new BranchShard(branchId, shard, BranchShard.ACTIVE);
+        branchShardRepository.save(assignment);
+        updateAssignments(copy -> copy.put(branchId, assignment));
+        return shard;
+    }
+
+    /**
+     * Remove the placement of a deleted branch
+     * @param branchId branch id
+     */
+    public void unassign(Long branchId) {
+        if (branchShardRepository.existsById(branchId)) {
+            branchShardRepository.deleteById(branchId);
+        }
+        updateAssignments(copy -> copy.remove(branchId));
+    }
+
+    /**
+     * Reload the assignments from the global database
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.sharding.map-refresh-interval-ms:5000}",
+               initialDelayString = "${app.sharding.map-refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        assignments = branchShardRepository.findAll().stream()
+                .collect(Collectors.toMap(BranchShard::getBranchId, Function.identity()));
+        logger.debug("Loaded {} branch shard assignments", assignments.size());
+    }
+
+    private synchronized void updateAssignments(Consumer<Map<Long, BranchShard>> change) {
+        Map<Long, BranchShard> copy = new HashMap<>(assignments);
+        change.accept(copy);
+        assignments = copy;
+    }
+
+    private String hashedShard(Long branchId) {
+        List<String> shards = getShards();
+        return shards.get(Math.floorMod(Long.hashCode(branchId), shards.size()));
+    }
+}
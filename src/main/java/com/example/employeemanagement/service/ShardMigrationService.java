@@ -0,0 +1,308 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.dto.BranchShardMoveResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.BranchShard;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.DataConflictException;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.BranchShardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Service moving employee rows between shards and keeping the branch copies on the shards in sync.
+ *
+ * Every shard holds a copy of all branches, so employees can reference and join their branch
+ * locally. Rows are copied with plain JDBC and keep their ids; shards hand out ids from
+ * interleaved sequences (see db/sharding/shard-schema.sql), so ids never collide.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+public class ShardMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardMigrationService.class);
+    private static final int MAX_MOVES = 100;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @Autowired
+    private BranchShardRepository branchShardRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Value("${app.sharding.move-batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.sharding.move-grace-ms:2000}")
+    private long graceMillis;
+
+    @Value("${app.sharding.map-refresh-interval-ms:5000}")
+    private long mapRefreshIntervalMillis;
+
+    private final ExecutorService moveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-move");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Moves started on this node in start order; the oldest are forgotten beyond MAX_MOVES
+    private final Map<String, BranchShardMoveResponseDto> moves = Collections.synchronizedMap(
+            new LinkedHashMap<String, BranchShardMoveResponseDto>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, BranchShardMoveResponseDto> eldest) {
+                    return size() > MAX_MOVES;
+                }
+            });
+
+    /**
+     * Start moving all employees of a branch to another shard in the background
+     * Moves run one at a time on this node; their state is kept on this node only
+     * @param branchId branch id
+     * @param targetShard shard to move the branch to
+     * @return BranchShardMoveResponseDto of the queued move
+     * @throws DataConflictException if the branch is already being moved
+     */
+    public BranchShardMoveResponseDto startBranchMove(Long branchId, String targetShard) {
+        Branch branch = branchRepository.findById(branchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Branch not found with id: " + branchId));
+        if (!shardMap.getShards().contains(targetShard)) {
+            throw new BadRequestException("Unknown shard: " + targetShard);
+        }
+        String sourceShard = shardMap.writableShardFor(branchId);
+
+        BranchShardMoveResponseDto move;
+        synchronized (moves) {
+            if (moves.values().stream().anyMatch(other -> other.getBranchId().equals(branchId) && isPending(other))) {
+                throw new DataConflictException("Branch " + branchId + " is already being moved to another shard");
+            }
+            move = new BranchShardMoveResponseDto(UUID.randomUUID().toString(), branchId, sourceShard, targetShard,
+                    BranchShardMoveResponseDto.QUEUED, 0, null, LocalDateTime.now(), null);
+            moves.put(move.getMoveId(), move);
+        }
+        moveExecutor.execute(() -> runBranchMove(move, branch));
+        return move;
+    }
+
+    /**
+     * Get the state of a branch move started on this node
+     * @param moveId move id
+     * @return BranchShardMoveResponseDto
+     */
+    public BranchShardMoveResponseDto getBranchMove(String moveId) {
+        BranchShardMoveResponseDto move = moves.get(moveId);
+        if (move == null) {
+            throw new ResourceNotFoundException("Shard move not found with id: " + moveId);
+        }
+        return move;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        moveExecutor.shutdownNow();
+    }
+
+    private void runBranchMove(BranchShardMoveResponseDto move, Branch branch) {
+        updateMove(move, BranchShardMoveResponseDto.RUNNING, 0, null);
+        try {
+            int moved = moveBranch(branch, move.getSourceShard(), move.getTargetShard());
+            updateMove(move, BranchShardMoveResponseDto.COMPLETED, moved, null);
+        } catch (RuntimeException e) {
+            updateMove(move, BranchShardMoveResponseDto.FAILED, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Move all employees of a branch to another shard while the application keeps serving requests
+     *
+     * The branch is marked as moving, which rejects writes to its employees once every node has picked
+     * up the mark, and the employees are copied. The assignment then switches to the target shard; reads
+     * keep working throughout because the source rows are only deleted once every node has picked up the
+     * new assignment, and queries over all shards only return the rows of the shard a node currently maps
+     * the branch to.
+     */
+    private int moveBranch(Branch branch, String sourceShard, String targetShard) {
+        Long branchId = branch.getId();
+        if (sourceShard.equals(targetShard)) {
+            return 0;
+        }
+
+        logger.info("Moving branch {} from {} to {}", branchId, sourceShard, targetShard);
+        branchShardRepository.save(new BranchShard(branchId, sourceShard, BranchShard.MOVING));
+        shardMap.refresh();
+        int moved;
+        try {
+            // Other nodes keep accepting writes until their next refresh, and writes that checked the
+            // assignment before it changed may still be running
+            pause(mapRefreshIntervalMillis + graceMillis);
+            replicateBranch(branch, targetShard);
+            moved = copyEmployees(sourceShard, targetShard, "branch_id", branchId);
+        } catch (RuntimeException e) {
+            logger.error("Failed to move branch {} to {}, keeping it on {}", branchId, targetShard, sourceShard, e);
+            branchShardRepository.save(new BranchShard(branchId, sourceShard, BranchShard.ACTIVE));
+            shardMap.refresh();
+            try {
+                // Queries ignore the copied rows, as the branch stays mapped to the source, but they take up space
+                new JdbcTemplate(shardRoutingDataSource.getShardDataSource(targetShard))
+                        .update("DELETE FROM employees WHERE branch_id = ?", branchId);
+            } catch (RuntimeException cleanupFailure) {
+                e.addSuppressed(cleanupFailure);
+            }
+            throw e;
+        }
+
+        branchShardRepository.save(new BranchShard(branchId, targetShard, BranchShard.ACTIVE));
+        shardMap.refresh();
+        // Other nodes keep reading from the source until their next refresh
+        pause(mapRefreshIntervalMillis + graceMillis);
+        new JdbcTemplate(shardRoutingDataSource.getShardDataSource(sourceShard))
+                .update("DELETE FROM employees WHERE branch_id = ?", branchId);
+        logger.info("Moved {} employees of branch {} from {} to {}", moved, branchId, sourceShard, targetShard);
+        return moved;
+    }
+
+    /**
+     * Move a single employee to another shard, after it was transferred to a branch on that shard
+     * @param employeeId employee id
+     * @param sourceShard shard currently holding the employee
+     * @param targetShard shard of the employee's new branch
+     */
+    public void moveEmployee(Long employeeId, String sourceShard, String targetShard) {
+        copyEmployees(sourceShard, targetShard, "id", employeeId);
+        try {
+            new JdbcTemplate(shardRoutingDataSource.getShardDataSource(sourceShard))
+                    .update("DELETE FROM employees WHERE id = ?", employeeId);
+        } catch (RuntimeException e) {
+            // Without the copy the employee stays where the branch change, which is rolled back, left it
+            try {
+                new JdbcTemplate(shardRoutingDataSource.getShardDataSource(targetShard))
+                        .update("DELETE FROM employees WHERE id = ?", employeeId);
+            } catch (RuntimeException cleanupFailure) {
+                e.addSuppressed(cleanupFailure);
+            }
+            throw e;
+        }
+        logger.info("Moved employee {} from {} to {}", employeeId, sourceShard, targetShard);
+    }
+
+    /**
+     * Create or update the copy of a branch on every shard
+     * @param branch Branch entity
+     */
+    public void replicateBranch(Branch branch) {
+        for (String shard : shardMap.getShards()) {
+            replicateBranch(branch, shard);
+        }
+    }
+
+    /**
+     * Remove the copy of a branch from every shard
+     * @param branchId branch id
+     */
+    public void removeBranch(Long branchId) {
+        for (String shard : shardMap.getShards()) {
+            new JdbcTemplate(shardRoutingDataSource.getShardDataSource(shard))
+                    .update("DELETE FROM branches WHERE id = ?", branchId);
+        }
+    }
+
+    private void replicateBranch(Branch branch, String shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(shard));
+        int updated = jdbcTemplate.update(
+                "UPDATE branches SET code = ?, name = ?, address = ?, phone_number = ?, created_at = ?, updated_at = ? "
+                        + "WHERE id = ?",
+                branch.getCode(), branch.getName(), branch.getAddress(), branch.getPhoneNumber(),
+                branch.getCreatedAt(), branch.getUpdatedAt(), branch.getId());
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO branches (id, code, name, address, phone_number, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    branch.getId(), branch.getCode(), branch.getName(), branch.getAddress(), branch.getPhoneNumber(),
+                    branch.getCreatedAt(), branch.getUpdatedAt());
+        }
+    }
+
+    /**
+     * Copy employee rows matching a column value in id order and in batches, replacing leftovers of an earlier attempt
+     */
+    private int copyEmployees(String sourceShard, String targetShard, String column, Long value) {
+        JdbcTemplate source = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(sourceShard));
+        JdbcTemplate target = new JdbcTemplate(shardRoutingDataSource.getShardDataSource(targetShard));
+        target.update("DELETE FROM employees WHERE " + column + " = ?", value);
+
+        int copied = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = source.queryForList(
+                    "SELECT * FROM employees WHERE " + column + " = ? AND id > ? ORDER BY id LIMIT " + batchSize,
+                    value, lastId);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            insertRows(target, rows);
+            copied += rows.size();
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+        }
+    }
+
+    private void insertRows(JdbcTemplate target, List<Map<String, Object>> rows) {
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "INSERT INTO employees (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            values.add(columns.stream().map(row::get).toArray());
+        }
+        target.batchUpdate(sql, values);
+    }
+
+    private static boolean isPending(BranchShardMoveResponseDto move) {
+        return isPending(move.getStatus());
+    }
+
+    private static boolean isPending(String status) {
+        return BranchShardMoveResponseDto.QUEUED.equals(status) || BranchShardMoveResponseDto.RUNNING.equals(status);
+    }
+
+    /**
+     * Replace the state of a move, so that readers always see a consistent snapshot
+     */
+    private void updateMove(BranchShardMoveResponseDto move, String status, int movedEmployees, String error) {
+        moves.put(move.getMoveId(), new BranchShardMoveResponseDto(move.getMoveId(), move.getBranchId(),
+                move.getSourceShard(), move.getTargetShard(), status, movedEmployees, error, move.getStartedAt(),
+                isPending(status) ? null : LocalDateTime.now()));
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving a branch", e);
+        }
+    }
+}
@@ -15,3 +15,7 @@ INSERT INTO employees (employee_code, first_name, last_name, email, phone_number
 ('EMP006', 'Rina', 'Pratiwi', 'rina.pratiwi@company.com', '081234567895', '2023-06-18', 'Marketing Specialist', 'Jl. Cihampelas No. 600, Bandung', 3, NOW(), NOW()),
 ('EMP007', 'Agus', 'Setiawan', 'agus.setiawan@company.com', '081234567896', '2023-07-25', 'Operations Manager', 'Jl. Darmo No. 700, Surabaya', 4, NOW(), NOW()),
 ('EMP008', 'Dewi', 'Lestari', 'dewi.lestari@company.com', '081234567897', '2023-08-30', 'Customer Service', 'Jl. Gubeng No. 800, Surabaya', 4, NOW(), NOW());
+
+-- Register the sample employees in the global code and email lookup
+INSERT INTO employee_identifiers (employee_id, employee_code, email)
+SELECT id, employee_code, email FROM employees;
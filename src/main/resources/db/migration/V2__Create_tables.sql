@@ -0,0 +1,52 @@
+-- Initial schema (PostgreSQL)
+-- IF NOT EXISTS lets this run on databases whose tables were created by Hibernate before migrations existed
+
+CREATE TABLE IF NOT EXISTS branches (
+    id BIGSERIAL PRIMARY KEY,
+    code VARCHAR(10) UNIQUE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    address TEXT,
+    phone_number VARCHAR(20),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGSERIAL PRIMARY KEY,
+    employee_code VARCHAR(10) UNIQUE NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) UNIQUE NOT NULL,
+    phone_number VARCHAR(20),
+    hire_date DATE NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    address TEXT,
+    salary DECIMAL(15,2),
+    is_active BOOLEAN DEFAULT TRUE,
+    branch_id BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    FOREIGN KEY (branch_id) REFERENCES branches(id)
+);
+
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id VARCHAR(36) PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS employee_changes (
+    seq BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_employee_changes_changed_at ON employee_changes (changed_at);
+
+CREATE TABLE IF NOT EXISTS branch_shards (
+    branch_id BIGINT PRIMARY KEY,
+    shard VARCHAR(50) NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
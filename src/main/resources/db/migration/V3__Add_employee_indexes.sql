@@ -0,0 +1,19 @@
+-- Indexes for the employee queries of EmployeeRepository and BranchRepository
+-- Plain CREATE INDEX locks writes to employees while it runs; on a large table, create the indexes
+-- by hand with CREATE INDEX CONCURRENTLY first, and this migration skips them
+
+-- findByBranchId, countByBranchId, countEmployeesByBranchId, findByBranchCode
+CREATE INDEX IF NOT EXISTS idx_employees_branch_id ON employees (branch_id);
+
+-- Name and position searches match '%term%', which only trigram indexes can serve
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- findByFirstNameContainingIgnoreCase, findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_trgm ON employees USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_trgm ON employees USING gin (LOWER(last_name) gin_trgm_ops);
+
+-- findByPositionContainingIgnoreCase; derived IgnoreCase queries compare with UPPER
+CREATE INDEX IF NOT EXISTS idx_employees_position_trgm ON employees USING gin (UPPER(position) gin_trgm_ops);
+
+-- Range filters and ordering by hire date
+CREATE INDEX IF NOT EXISTS idx_employees_hire_date ON employees (hire_date);
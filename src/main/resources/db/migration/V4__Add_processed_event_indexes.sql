@@ -0,0 +1,2 @@
+-- ProcessedEventRepository.deleteProcessedBefore purges by age
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events (processed_at);
@@ -0,0 +1,21 @@
+-- Feed sequence numbers of the employee change log, assigned after commit by EmployeeChangeFeedService
+-- Changes logged before this migration have all committed and keep their insert sequence number
+
+ALTER TABLE employee_changes ADD COLUMN IF NOT EXISTS feed_seq BIGINT;
+UPDATE employee_changes SET feed_seq = seq WHERE feed_seq IS NULL;
+
+-- findChangesAfter, findLatestFeedSeq
+CREATE UNIQUE INDEX IF NOT EXISTS idx_employee_changes_feed_seq ON employee_changes (feed_seq);
+
+-- findUnsequenced; only the changes waiting for a feed sequence number are indexed
+CREATE INDEX IF NOT EXISTS idx_employee_changes_unsequenced ON employee_changes (seq) WHERE feed_seq IS NULL;
+
+-- Last feed sequence number handed out; its single row is locked while changes are sequenced
+CREATE TABLE IF NOT EXISTS employee_change_sequence (
+    id INTEGER PRIMARY KEY,
+    last_feed_seq BIGINT NOT NULL
+);
+
+INSERT INTO employee_change_sequence (id, last_feed_seq)
+SELECT 1, COALESCE(MAX(feed_seq), 0) FROM employee_changes
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,13 @@
+-- Employee code and email of every employee, unique across all branches
+-- Unique keys of the employees table only hold per branch once it is partitioned by branch_id
+-- (V7__Partition_employees.sql or db/offline/partition-employees.sql), and per shard when sharding is enabled
+
+CREATE TABLE IF NOT EXISTS employee_identifiers (
+    employee_id BIGINT PRIMARY KEY,
+    employee_code VARCHAR(10) UNIQUE NOT NULL,
+    email VARCHAR(255) UNIQUE
+);
+
+INSERT INTO employee_identifiers (employee_id, employee_code, email)
+SELECT id, employee_code, email FROM employees
+ON CONFLICT (employee_id) DO NOTHING;
@@ -0,0 +1,94 @@
+-- Partition employees by hash of branch_id (PostgreSQL 11+)
+-- Queries on a single branch (WHERE branch_id = ?) only scan the partition of that branch, also
+-- for prepared statements with a generic plan, where pruning happens when the query starts.
+-- Vacuum, analyze and index maintenance run per partition.
+--
+-- Partitioning copies every row under an exclusive lock on employees, which blocks all reads and
+-- writes for the whole copy, so this migration only partitions an empty table (a new database).
+-- A populated table is left as it is and is partitioned offline with db/offline/partition-employees.sql,
+-- which calls partition_employees() defined here, while the application is stopped.
+-- Every employee needs a branch_id, which becomes part of the primary key.
+
+CREATE OR REPLACE FUNCTION partition_employees() RETURNS BOOLEAN AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('employees') AND relkind = 'p') THEN
+        RETURN FALSE;
+    END IF;
+
+    LOCK TABLE employees IN ACCESS EXCLUSIVE MODE;
+
+    ALTER TABLE employees RENAME TO employees_unpartitioned;
+    ALTER TABLE employees_unpartitioned RENAME CONSTRAINT employees_pkey TO employees_unpartitioned_pkey;
+    ALTER SEQUENCE employees_id_seq OWNED BY NONE;
+
+    -- Primary and unique keys of a partitioned table must contain the partition key, so employee_code and
+    -- email are unique per branch here; employee_identifiers keeps them unique across all branches
+    CREATE TABLE employees (
+        id BIGINT NOT NULL DEFAULT nextval('employees_id_seq'),
+        employee_code VARCHAR(10) NOT NULL,
+        first_name VARCHAR(100) NOT NULL,
+        last_name VARCHAR(100) NOT NULL,
+        email VARCHAR(255) NOT NULL,
+        phone_number VARCHAR(20),
+        hire_date DATE NOT NULL,
+        position VARCHAR(100) NOT NULL,
+        address TEXT,
+        salary DECIMAL(15,2),
+        is_active BOOLEAN DEFAULT TRUE,
+        branch_id BIGINT NOT NULL,
+        created_at TIMESTAMP,
+        updated_at TIMESTAMP,
+        PRIMARY KEY (id, branch_id),
+        UNIQUE (employee_code, branch_id),
+        UNIQUE (email, branch_id),
+        FOREIGN KEY (branch_id) REFERENCES branches(id)
+    ) PARTITION BY HASH (branch_id);
+
+    -- Adding partitions later means repartitioning, so start with enough for the expected number of branches
+    CREATE TABLE employees_p0 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+    CREATE TABLE employees_p1 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+    CREATE TABLE employees_p2 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+    CREATE TABLE employees_p3 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+    CREATE TABLE employees_p4 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+    CREATE TABLE employees_p5 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+    CREATE TABLE employees_p6 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+    CREATE TABLE employees_p7 PARTITION OF employees FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+    -- Copy only the columns both tables have; Hibernate may have added or left out columns over time
+    INSERT INTO employees (id, employee_code, first_name, last_name, email, phone_number, hire_date,
+                           position, address, branch_id, created_at, updated_at)
+    SELECT id, employee_code, first_name, last_name, email, phone_number, hire_date,
+           position, address, branch_id, created_at, updated_at
+    FROM employees_unpartitioned;
+
+    -- Drops the indexes of V3__Add_employee_indexes.sql with it, so they are created again below
+    DROP TABLE employees_unpartitioned;
+
+    ALTER SEQUENCE employees_id_seq OWNED BY employees.id;
+    PERFORM setval('employees_id_seq', COALESCE((SELECT MAX(id) FROM employees), 0) + 1, false);
+
+    -- Lookups by id, code and email cannot be pruned and check every partition through these indexes
+    CREATE INDEX idx_employees_id ON employees (id);
+    CREATE INDEX idx_employees_employee_code ON employees (employee_code);
+    CREATE INDEX idx_employees_email ON employees (email);
+
+    -- Indexes of V3__Add_employee_indexes.sql; branch_id narrows down to a branch within its partition
+    CREATE INDEX idx_employees_branch_id ON employees (branch_id);
+    CREATE INDEX idx_employees_first_name_trgm ON employees USING gin (LOWER(first_name) gin_trgm_ops);
+    CREATE INDEX idx_employees_last_name_trgm ON employees USING gin (LOWER(last_name) gin_trgm_ops);
+    CREATE INDEX idx_employees_position_trgm ON employees USING gin (UPPER(position) gin_trgm_ops);
+    CREATE INDEX idx_employees_hire_date ON employees (hire_date);
+
+    RETURN TRUE;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM employees) THEN
+        RAISE NOTICE 'employees holds rows and is not partitioned at startup, run db/offline/partition-employees.sql';
+    ELSE
+        PERFORM partition_employees();
+    END IF;
+END
+$$;
@@ -0,0 +1,17 @@
+-- Partition a populated employees table by hash of branch_id (PostgreSQL 11+)
+--
+-- V7__Partition_employees.sql only partitions employees when it is empty, because the copy holds an
+-- exclusive lock on employees that blocks every read and write until it commits. Run this script in a
+-- maintenance window instead, after the application has applied V7 and with every node stopped:
+--   psql -v ON_ERROR_STOP=1 -d employeedb -f partition-employees.sql
+--
+-- The copy needs free disk space for a second copy of employees and its indexes until the old table
+-- is dropped at the end. It runs in one transaction, so a failed run leaves the table as it was.
+-- On a table that is partitioned already it does nothing.
+
+BEGIN;
+SELECT partition_employees() AS partitioned;
+COMMIT;
+
+-- Statistics of the new partitions, so the first queries after the restart get pruned plans
+ANALYZE employees;
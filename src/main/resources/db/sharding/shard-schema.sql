@@ -0,0 +1,49 @@
+-- Schema of an employee shard (PostgreSQL), used when app.sharding.enabled=true
+--
+-- Run once per shard, numbering shards from 0 in the order of app.sharding.shards:
+--   psql -d employeedb_shard0 -v shard_number=0 -v shard_count=2 -f shard-schema.sql
+--   psql -d employeedb_shard1 -v shard_number=1 -v shard_count=2 -f shard-schema.sql
+--
+-- Employee ids come from interleaved sequences (shard 0 hands out 1, 3, 5, ..., shard 1 hands out
+-- 2, 4, 6, ...), so ids stay unique across shards and employees keep their id when they move.
+-- For more shards than shard_count, start over with a larger shard_count on fresh sequences above
+-- the highest id in use.
+
+-- Copy of the branches of the global database; ids are assigned there, so there is no sequence
+CREATE TABLE IF NOT EXISTS branches (
+    id BIGINT PRIMARY KEY,
+    code VARCHAR(10) UNIQUE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    address TEXT,
+    phone_number VARCHAR(20),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+SELECT :shard_number + 1 AS shard_start \gset
+CREATE SEQUENCE IF NOT EXISTS employees_id_seq
+    INCREMENT BY :shard_count
+    START WITH :shard_start;
+
+-- Employee codes and emails are unique per shard only; the application checks all shards before writing
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT PRIMARY KEY DEFAULT nextval('employees_id_seq'),
+    employee_code VARCHAR(10) UNIQUE NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(255) UNIQUE NOT NULL,
+    phone_number VARCHAR(20),
+    hire_date DATE NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    address TEXT,
+    salary DECIMAL(15,2),
+    is_active BOOLEAN DEFAULT TRUE,
+    branch_id BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    FOREIGN KEY (branch_id) REFERENCES branches(id)
+);
+
+ALTER SEQUENCE employees_id_seq OWNED BY employees.id;
+
+CREATE INDEX IF NOT EXISTS idx_employees_branch_id ON employees (branch_id);
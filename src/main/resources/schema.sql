@@ -27,3 +27,47 @@ CREATE TABLE IF NOT EXISTS employees (
     updated_at TIMESTAMP,
     FOREIGN KEY (branch_id) REFERENCES branches(id)
 );
+
+-- Indexes for per-branch queries and hire date filters; the trigram search indexes are in db/migration/V3
+CREATE INDEX IF NOT EXISTS idx_employees_branch_id ON employees (branch_id);
+CREATE INDEX IF NOT EXISTS idx_employees_hire_date ON employees (hire_date);
+
+-- Create employee_identifiers table keeping employee codes and emails unique across all branches,
+-- also once employees is partitioned or sharded by branch
+CREATE TABLE IF NOT EXISTS employee_identifiers (
+    employee_id BIGINT PRIMARY KEY,
+    employee_code VARCHAR(10) UNIQUE NOT NULL,
+    email VARCHAR(255) UNIQUE
+);
+
+-- Create processed_events table for Kafka consumer deduplication
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id VARCHAR(36) PRIMARY KEY,
+    topic VARCHAR(100) NOT NULL,
+    processed_at TIMESTAMP NOT NULL
+);
+
+-- Create employee_changes table for the employee change feed
+CREATE TABLE IF NOT EXISTS employee_changes (
+    seq BIGSERIAL PRIMARY KEY,
+    feed_seq BIGINT UNIQUE,
+    employee_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_employee_changes_changed_at ON employee_changes (changed_at);
+
+-- Create employee_change_sequence table holding the last feed sequence number of employee_changes
+CREATE TABLE IF NOT EXISTS employee_change_sequence (
+    id INTEGER PRIMARY KEY,
+    last_feed_seq BIGINT NOT NULL
+);
+
+-- Create branch_shards table for the shard map (global database, used when app.sharding.enabled=true)
+CREATE TABLE IF NOT EXISTS branch_shards (
+    branch_id BIGINT PRIMARY KEY,
+    shard VARCHAR(50) NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
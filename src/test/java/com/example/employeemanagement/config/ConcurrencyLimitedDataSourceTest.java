@@ -0,0 +1,87 @@
+package com.example.employeemanagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, 2, 50);
+    }
+
+    @Test
+    void getConnection_WhenLimitReached_ShouldTimeOut() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        assertEquals(2, dataSource.getActiveConnections());
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void close_WhenCalledTwice_ShouldReleasePermitOnce() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act
+        first.close();
+        first.close();
+
+        // Assert
+        assertEquals(1, dataSource.getActiveConnections());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_WhenTargetFails_ShouldReleasePermit() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("database down"));
+
+        // Act
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        // Assert
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void getConnection_ShouldDelegateOtherCallsToTargetConnection() throws SQLException {
+        // Arrange
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        // Act
+        Connection limited = dataSource.getConnection();
+
+        // Assert
+        assertFalse(limited.getAutoCommit());
+        verify(connection).getAutoCommit();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.employeemanagement.config;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GraphQlDocumentCache
+ */
+class GraphQlDocumentCacheTest {
+
+    private static final String QUERY = "{ branches { code employees { employeeCode } } }";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GraphQlDocumentCache cache;
+    private AtomicInteger parsed;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new GraphQlDocumentCache(meterRegistry, 3);
+        parsed = new AtomicInteger();
+    }
+
+    @Test
+    void getDocument_WhenQuerySeenBefore_ShouldNotParseAgain() {
+        // Act
+        PreparsedDocumentEntry first = cache.getDocument(input(QUERY), parse());
+        PreparsedDocumentEntry second = cache.getDocument(input(QUERY), parse());
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, parsed.get());
+        assertEquals(1.0, meterRegistry.counter("graphql.document.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("graphql.document.cache", "result", "miss").count());
+    }
+
+    @Test
+    void getDocument_WhenDocumentHasErrors_ShouldNotCacheIt() {
+        // Arrange
+        Function<ExecutionInput, PreparsedDocumentEntry> invalid = executionInput -> {
+            parsed.incrementAndGet();
+            return new PreparsedDocumentEntry(Collections.singletonList(
+                    GraphqlErrorBuilder.newError().message("Invalid syntax").build()));
+        };
+
+        // Act
+        cache.getDocument(input("{ branches {"), invalid);
+        PreparsedDocumentEntry result = cache.getDocument(input("{ branches {"), invalid);
+
+        // Assert
+        assertTrue(result.hasErrors());
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    void getDocument_WhenFull_ShouldStayWithinMaxEntries() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            cache.getDocument(input("{ branch(id: " + i + ") { code } }"), parse());
+        }
+
+        // Assert
+        assertTrue(meterRegistry.get("graphql.document.cache.size").gauge().value() <= 3);
+    }
+
+    private Function<ExecutionInput, PreparsedDocumentEntry> parse() {
+        return executionInput -> {
+            parsed.incrementAndGet();
+            return new PreparsedDocumentEntry(Document.newDocument().build());
+        };
+    }
+
+    private ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput().query(query).build();
+    }
+}
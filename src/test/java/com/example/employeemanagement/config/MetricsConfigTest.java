@@ -0,0 +1,86 @@
+package com.example.employeemanagement.config;
+
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.service.BranchService;
+import com.example.employeemanagement.service.EmployeeShardRouter;
+import com.example.employeemanagement.service.KafkaProducerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsConfigTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Spy
+    private EmployeeShardRouter shardRouter = new EmployeeShardRouter();
+
+    @InjectMocks
+    private BranchService target;
+
+    private MeterRegistry meterRegistry;
+    private BranchService branchService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new MetricsConfig().timedAspect(meterRegistry));
+        branchService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timedAspect_WhenServiceMethodSucceeds_ShouldRecordServiceTimer() {
+        // Arrange
+        when(branchRepository.findAll()).thenReturn(Collections.<Branch>emptyList());
+
+        // Act
+        branchService.getAllBranches();
+        branchService.getAllBranches();
+
+        // Assert
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_INVOCATIONS)
+                .tags("class", BranchService.class.getName(), "method", "getAllBranches", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void timedAspect_WhenServiceMethodThrows_ShouldTagTimerWithException() {
+        // Arrange
+        when(branchRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(ResourceNotFoundException.class, () -> branchService.getBranchById(99L));
+
+        // Assert
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_INVOCATIONS)
+                .tags("method", "getBranchById", "exception", "ResourceNotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
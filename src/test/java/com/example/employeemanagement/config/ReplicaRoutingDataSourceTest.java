@@ -0,0 +1,147 @@
+package com.example.employeemanagement.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT lag_seconds FROM replication_lag";
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica1 = h2("replica1");
+        replica2 = h2("replica2");
+        setLag(replica1, 0);
+        setLag(replica2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.setPrimaryPinned(false);
+        for (DataSource dataSource : new DataSource[] {primary, replica1, replica2}) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void getConnection_WhenNotReadOnly_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        // Act & Assert
+        assertEquals("primary", databaseOf(routing));
+    }
+
+    @Test
+    void getConnection_WhenReadOnly_ShouldRotateOverReplicas() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals("replica1", databaseOf(routing));
+        assertEquals("replica2", databaseOf(routing));
+        assertEquals("replica1", databaseOf(routing));
+    }
+
+    @Test
+    void getConnection_WhenReplicaLagsTooFar_ShouldSkipIt() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+        setLag(replica1, 30);
+        routing.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals("replica2", databaseOf(routing));
+        assertEquals("replica2", databaseOf(routing));
+    }
+
+    @Test
+    void getConnection_WhenNoReplicaAvailable_ShouldFailOverToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.LEAST_LOADED);
+        setLag(replica1, 30);
+        new JdbcTemplate(replica2).execute("DROP TABLE replication_lag");
+        routing.checkReplicaLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals("primary", databaseOf(routing));
+    }
+
+    @Test
+    void getConnection_WhenReplicaCatchesUp_ShouldPutItBackInRotation() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.LEAST_LOADED);
+        setLag(replica1, 30);
+        setLag(replica2, 30);
+        routing.checkReplicaLag();
+        setLag(replica2, 0);
+
+        // Act
+        routing.checkReplicaLag();
+
+        // Assert
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica2", databaseOf(routing));
+    }
+
+    @Test
+    void getConnection_WhenPinnedToPrimary_ShouldUsePrimaryForReads() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource routing = routing(ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        ReplicaRoutingDataSource.setPrimaryPinned(true);
+
+        // Assert
+        assertEquals("primary", databaseOf(routing));
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaRoutingDataSource.Strategy strategy) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        return new ReplicaRoutingDataSource(primary, replicas, strategy, LAG_QUERY, 5000);
+    }
+
+    private String databaseOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:routing-".length()).split(";")[0];
+        }
+    }
+
+    private void setLag(DataSource replica, double lagSeconds) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replication_lag (lag_seconds DOUBLE)");
+        jdbcTemplate.update("DELETE FROM replication_lag");
+        jdbcTemplate.update("INSERT INTO replication_lag VALUES (?)", lagSeconds);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.employeemanagement.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementStatisticsDataSourceTest {
+
+    private static final String SELECT_BRANCH = "select * from branches where id=?";
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    private StatementStatisticsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new StatementStatisticsDataSource(targetDataSource);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementStatistics.end();
+    }
+
+    @Test
+    void executeQuery_WhenSameStatementRepeated_ShouldReportItAsRepeated() throws SQLException {
+        // Arrange
+        when(connection.prepareStatement(SELECT_BRANCH)).thenReturn(preparedStatement);
+        StatementStatistics statistics = StatementStatistics.begin();
+
+        // Act
+        try (Connection counted = dataSource.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                PreparedStatement select = counted.prepareStatement(SELECT_BRANCH);
+                select.setLong(1, i);
+                select.executeQuery();
+            }
+        }
+
+        // Assert
+        assertEquals(3, statistics.getStatements());
+        assertEquals(Collections.singletonMap(SELECT_BRANCH, 3), statistics.getRepeatedStatements(3));
+        verify(preparedStatement, times(3)).executeQuery();
+    }
+
+    @Test
+    void execute_WithLiteralsInSql_ShouldGroupByShape() throws SQLException {
+        // Arrange
+        when(connection.createStatement()).thenReturn(statement);
+        StatementStatistics statistics = StatementStatistics.begin();
+
+        // Act
+        try (Connection counted = dataSource.getConnection()) {
+            counted.createStatement().execute("select * from branches where code = 'HO' and id = 1");
+            counted.createStatement().execute("select * from branches where code = 'JKT' and id = 22");
+        }
+
+        // Assert
+        assertEquals(Collections.singletonMap("select * from branches where code = ? and id = ?", 2),
+                statistics.getRepeatedStatements(2));
+    }
+
+    @Test
+    void prepareStatement_WithoutScope_ShouldNotWrapStatement() throws SQLException {
+        // Arrange
+        when(connection.prepareStatement(SELECT_BRANCH)).thenReturn(preparedStatement);
+
+        // Act
+        PreparedStatement select = dataSource.getConnection().prepareStatement(SELECT_BRANCH);
+
+        // Assert
+        assertSame(preparedStatement, select);
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.config.WebConfig;
 import com.example.employeemanagement.dto.BranchRequestDto;
 import com.example.employeemanagement.dto.BranchResponseDto;
 import com.example.employeemanagement.service.BranchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +41,9 @@ class BranchControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
     private BranchResponseDto branchResponseDto;
     private BranchRequestDto branchRequestDto;
 
@@ -73,6 +81,24 @@ class BranchControllerTest {
         verify(branchService, times(1)).getAllBranches();
     }
 
+    @Test
+    void getAllBranches_WhenSmileAccepted_ShouldReturnSmile() throws Exception {
+        // Arrange
+        when(branchService.getAllBranches()).thenReturn(Arrays.asList(branchResponseDto));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/branches").accept(WebConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WebConfig.APPLICATION_SMILE))
+                .andReturn();
+
+        // Assert
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        BranchResponseDto[] branches = smileMapper.readValue(result.getResponse().getContentAsByteArray(),
+                BranchResponseDto[].class);
+        assertEquals(Arrays.asList(branchResponseDto), Arrays.asList(branches));
+    }
+
     @Test
     void getBranchById_WhenBranchExists_ShouldReturnBranch() throws Exception {
         // Arrange
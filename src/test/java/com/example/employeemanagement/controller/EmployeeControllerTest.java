@@ -1,22 +1,44 @@
 package com.example.employeemanagement.controller;
 
+import com.example.employeemanagement.config.WebConfig;
+import com.example.employeemanagement.dto.EmployeeField;
 import com.example.employeemanagement.dto.EmployeeRequestDto;
 import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.service.EmployeeChangeFeedService;
+import com.example.employeemanagement.service.EmployeeReadModel;
+import com.example.employeemanagement.service.EmployeeResponseCache;
 import com.example.employeemanagement.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +48,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Unit tests for EmployeeController
  */
 @WebMvcTest(EmployeeController.class)
+@Import({EmployeeResponseCache.class, SimpleMeterRegistry.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -34,9 +57,18 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeReadModel employeeReadModel;
+
+    @MockBean
+    private EmployeeChangeFeedService employeeChangeFeedService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
     private EmployeeResponseDto employeeResponseDto;
     private EmployeeRequestDto employeeRequestDto;
 
@@ -86,6 +118,99 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getAllEmployees();
     }
 
+    @Test
+    void getAllEmployees_WhenNdjsonRequested_ShouldStreamOneEmployeePerLine() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<EmployeeResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(employeeResponseDto);
+            consumer.accept(employeeResponseDto);
+            return null;
+        }).when(employeeService).streamAllEmployees(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("EMP001", objectMapper.readValue(lines[0], EmployeeResponseDto.class).getEmployeeCode());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void getAllEmployees_WhenNoConnectionAvailable_ShouldReturn500() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees())
+                .thenThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(header().doesNotExist("Retry-After"));
+    }
+
+    @Test
+    void getAllEmployees_WhenStreamRejected_ShouldReturn503WithRetryAfter() throws Exception {
+        // Arrange
+        when(employeeService.getAllEmployees())
+                .thenThrow(new TaskRejectedException("Streaming executor is full"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    @Test
+    void getAllEmployees_WithFields_ShouldReturnOnlyRequestedProperties() throws Exception {
+        // Arrange
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("id", 1L);
+        employee.put("employeeCode", "EMP001");
+        when(employeeService.getAllEmployeeFields(anyList())).thenReturn(Arrays.asList(employee));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").param("fields", "employeeCode, id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].employeeCode").value("EMP001"));
+
+        verify(employeeService, times(1)).getAllEmployeeFields(Arrays.asList(EmployeeField.ID, EmployeeField.EMPLOYEE_CODE));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void getAllEmployees_WithFieldsAndReadModelAvailable_ShouldLeaveOutOtherProperties() throws Exception {
+        // Arrange
+        when(employeeReadModel.isAvailable()).thenReturn(true);
+        when(employeeReadModel.getAllEmployees()).thenReturn(Arrays.asList(employeeResponseDto));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").param("fields", "id,fullName,hireDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$[0].hireDate").value("2023-01-15"))
+                .andExpect(jsonPath("$[0].address").doesNotExist())
+                .andExpect(jsonPath("$[0].branchName").doesNotExist());
+    }
+
+    @Test
+    void getAllEmployees_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(employeeService);
+    }
+
     @Test
     void getEmployeeById_WhenEmployeeExists_ShouldReturnEmployee() throws Exception {
         // Arrange
@@ -100,6 +225,111 @@ class EmployeeControllerTest {
         verify(employeeService, times(1)).getEmployeeById(1L);
     }
 
+    @Test
+    void getEmployeeById_WhenReadModelAvailable_ShouldServeFromReadModel() throws Exception {
+        // Arrange
+        when(employeeReadModel.isAvailable()).thenReturn(true);
+        when(employeeReadModel.getEmployeeById(1L)).thenReturn(employeeResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeCode").value("EMP001"))
+                .andExpect(jsonPath("$.branchName").value("Head Office"));
+
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    @Test
+    void getEmployeeById_WhenClientAcceptsGzip_ShouldReturnCompressedJson() throws Exception {
+        // Arrange
+        employeeResponseDto.setAddress(repeat('a', 300));
+        when(employeeService.getEmployeeById(1L)).thenReturn(employeeResponseDto);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+                .andReturn();
+
+        // Assert
+        byte[] json;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            json = in.readAllBytes();
+        }
+        assertEquals(employeeResponseDto, objectMapper.readValue(json, EmployeeResponseDto.class));
+    }
+
+    @Test
+    void getEmployeeById_WhenGzipRefused_ShouldReturnPlainJson() throws Exception {
+        // Arrange
+        employeeResponseDto.setAddress(repeat('a', 300));
+        when(employeeService.getEmployeeById(1L)).thenReturn(employeeResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.address").value(repeat('a', 300)));
+    }
+
+    @Test
+    void getEmployeeById_WhenCborAccepted_ShouldReturnCbor() throws Exception {
+        // Arrange
+        when(employeeService.getEmployeeById(1L)).thenReturn(employeeResponseDto);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        assertEquals(employeeResponseDto,
+                cborMapper.readValue(result.getResponse().getContentAsByteArray(), EmployeeResponseDto.class));
+    }
+
+    @Test
+    void createEmployees_WithSmileBody_ShouldCreateEmployees() throws Exception {
+        // Arrange
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        when(employeeService.createEmployees(anyList())).thenReturn(Arrays.asList(employeeResponseDto));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/bulk")
+                        .contentType(WebConfig.APPLICATION_SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(smileMapper.writeValueAsBytes(Arrays.asList(employeeRequestDto))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].employeeCode").value("EMP001"));
+
+        verify(employeeService, times(1)).createEmployees(argThat(requests ->
+                requests.size() == 1 && "EMP001".equals(requests.get(0).getEmployeeCode())));
+    }
+
+    @Test
+    void prefersJson_ShouldFollowAcceptHeader() {
+        // Act & Assert
+        assertTrue(EmployeeController.prefersJson(accept(null)));
+        assertTrue(EmployeeController.prefersJson(accept("*/*")));
+        assertTrue(EmployeeController.prefersJson(accept("application/cbor;q=0.5, application/json")));
+        assertFalse(EmployeeController.prefersJson(accept("application/cbor, */*;q=0.1")));
+        assertFalse(EmployeeController.prefersJson(accept("application/x-jackson-smile")));
+        assertFalse(EmployeeController.prefersJson(accept("text/csv")));
+    }
+
+    @Test
+    void acceptsGzip_ShouldFollowQualityValues() {
+        // Act & Assert
+        assertTrue(EmployeeController.acceptsGzip("gzip"));
+        assertTrue(EmployeeController.acceptsGzip("br, GZIP;q=0.5"));
+        assertFalse(EmployeeController.acceptsGzip(null));
+        assertFalse(EmployeeController.acceptsGzip("deflate, br"));
+        assertFalse(EmployeeController.acceptsGzip("gzip;q=0.0"));
+    }
+
     @Test
     void createEmployee_WithValidData_ShouldCreateEmployee() throws Exception {
         // Arrange
@@ -188,4 +418,18 @@ class EmployeeControllerTest {
 
         verify(employeeService, times(1)).searchEmployeesByPosition("Manager");
     }
+
+    private String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private HttpHeaders accept(String accept) {
+        HttpHeaders headers = new HttpHeaders();
+        if (accept != null) {
+            headers.set(HttpHeaders.ACCEPT, accept);
+        }
+        return headers;
+    }
 }
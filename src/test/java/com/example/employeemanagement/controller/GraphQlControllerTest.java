@@ -0,0 +1,99 @@
+package com.example.employeemanagement.controller;
+
+import com.example.employeemanagement.dto.BranchResponseDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.service.BranchService;
+import com.example.employeemanagement.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GraphQlController
+ */
+@ExtendWith(MockitoExtension.class)
+class GraphQlControllerTest {
+
+    @Mock
+    private BranchService branchService;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @InjectMocks
+    private GraphQlController graphQlController;
+
+    @Test
+    void employees_ShouldLoadEmployeesOfAllBranchesAtOnce() {
+        // Arrange
+        BranchResponseDto headOffice = branch(1L, "HO");
+        BranchResponseDto surabaya = branch(2L, "SBY");
+        BranchResponseDto bandung = branch(3L, "BDG");
+        EmployeeResponseDto john = employee(1L, headOffice);
+        EmployeeResponseDto jane = employee(2L, headOffice);
+        EmployeeResponseDto budi = employee(3L, surabaya);
+        when(employeeService.getEmployeesByBranchIds(anyCollection())).thenReturn(Arrays.asList(john, budi, jane));
+
+        // Act
+        Map<BranchResponseDto, List<EmployeeResponseDto>> result =
+                graphQlController.employees(Arrays.asList(headOffice, surabaya, bandung));
+
+        // Assert
+        assertEquals(Arrays.asList(john, jane), result.get(headOffice));
+        assertEquals(Collections.singletonList(budi), result.get(surabaya));
+        assertEquals(Collections.emptyList(), result.get(bandung));
+        verify(employeeService, times(1)).getEmployeesByBranchIds(new HashSet<>(Arrays.asList(1L, 2L, 3L)));
+        verifyNoMoreInteractions(employeeService);
+    }
+
+    @Test
+    void branchOfEmployees_ShouldLoadBranchesOfAllEmployeesAtOnce() {
+        // Arrange
+        BranchResponseDto headOffice = branch(1L, "HO");
+        BranchResponseDto surabaya = branch(2L, "SBY");
+        EmployeeResponseDto john = employee(1L, headOffice);
+        EmployeeResponseDto jane = employee(2L, headOffice);
+        EmployeeResponseDto budi = employee(3L, surabaya);
+        when(branchService.getBranchesByIds(anyCollection())).thenReturn(Arrays.asList(surabaya, headOffice));
+
+        // Act
+        Map<EmployeeResponseDto, BranchResponseDto> result =
+                graphQlController.branchOfEmployees(Arrays.asList(john, jane, budi));
+
+        // Assert
+        assertSame(headOffice, result.get(john));
+        assertSame(headOffice, result.get(jane));
+        assertSame(surabaya, result.get(budi));
+        verify(branchService, times(1)).getBranchesByIds(new HashSet<>(Arrays.asList(1L, 2L)));
+    }
+
+    private BranchResponseDto branch(Long id, String code) {
+        return new BranchResponseDto(id, code, "Branch " + code, "Jakarta", "081234567890",
+                LocalDateTime.of(2023, 1, 1, 8, 0), LocalDateTime.of(2023, 1, 1, 8, 0), 0);
+    }
+
+    private EmployeeResponseDto employee(Long id, BranchResponseDto branch) {
+        EmployeeResponseDto employee = new EmployeeResponseDto();
+        employee.setId(id);
+        employee.setEmployeeCode("EMP00" + id);
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setBranchId(branch.getId());
+        employee.setBranchCode(branch.getCode());
+        employee.setBranchName(branch.getName());
+        return employee;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.employeemanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private GradientConcurrencyLimit readLimit;
+    private GradientConcurrencyLimit writeLimit;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        readLimit = new GradientConcurrencyLimit(1, 1, 10, 2.0, 0.2, 5);
+        writeLimit = new GradientConcurrencyLimit(1, 1, 10, 2.0, 0.2, 5);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        filter = new ConcurrencyLimitFilter(readLimit, writeLimit, 3, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void doFilter_WhenUnderLimit_ShouldPassAndReleasePermit() throws ServletException, IOException {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, readLimit.getInFlight());
+    }
+
+    @Test
+    void doFilter_WhenReadLimitReached_ShouldReturn503WithRetryAfter() throws ServletException, IOException {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, chain);
+
+        // Assert
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Service Unavailable"));
+        assertEquals(1.0, meterRegistry.counter("http.server.concurrency.rejected", "type", "read").count());
+    }
+
+    @Test
+    void doFilter_WhenReadLimitReached_ShouldStillAcceptWrites() throws ServletException, IOException {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/employees"), response, chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenStreamRequested_ShouldNotLimit() throws ServletException, IOException {
+        // Arrange
+        assertTrue(readLimit.tryAcquire());
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/stream/employees"),
+                new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertEquals(1, readLimit.getInFlight());
+    }
+}
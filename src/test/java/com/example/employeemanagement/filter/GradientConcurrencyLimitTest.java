@@ -0,0 +1,110 @@
+package com.example.employeemanagement.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldReject() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 2.0, 0.2, 5);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void release_WhenFullyUsedWithStableLatency_ShouldGrowLimit() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 5, 100, 2.0, 0.2, 5);
+
+        // Act
+        runWindows(limit, 10, FAST);
+
+        // Assert
+        assertTrue(limit.getLimit() > 10, "limit should grow, was " + limit.getLimit());
+    }
+
+    @Test
+    void release_WhenLatencyRises_ShouldShrinkLimit() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 5, 100, 2.0, 0.2, 5);
+        runWindows(limit, 5, FAST);
+        int limitBeforeQueueing = limit.getLimit();
+
+        // Act
+        runWindows(limit, 2, SLOW);
+
+        // Assert
+        assertTrue(limit.getLimit() < limitBeforeQueueing,
+                "limit should shrink from " + limitBeforeQueueing + ", was " + limit.getLimit());
+    }
+
+    @Test
+    void release_WhenDropped_ShouldBackOffImmediately() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 5, 100, 2.0, 1.0, 20);
+        assertTrue(limit.tryAcquire());
+
+        // Act
+        limit.release(FAST, true);
+
+        // Assert
+        assertEquals(45, limit.getLimit());
+    }
+
+    @Test
+    void release_WhenMostlyIdle_ShouldKeepLimit() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 5, 100, 2.0, 0.2, 5);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(SLOW, false);
+        }
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldNeverDropBelowMinLimit() {
+        // Arrange
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 8, 100, 2.0, 1.0, 1);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(SLOW, true);
+        }
+
+        // Assert
+        assertEquals(8, limit.getLimit());
+    }
+
+    /**
+     * Fill the limit and release every permit with the given latency
+     */
+    private void runWindows(GradientConcurrencyLimit limit, int windows, long rttNanos) {
+        for (int window = 0; window < windows; window++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.employeemanagement.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.Servlet;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs GraphQL requests through GraphQlOperationFilter, ConcurrencyLimitFilter and ReadYourWritesFilter
+ */
+class GraphQlOperationFilterTest {
+
+    private GradientConcurrencyLimit readLimit;
+    private GradientConcurrencyLimit writeLimit;
+    private GraphQlOperationFilter graphQlOperationFilter;
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    private ReadYourWritesFilter readYourWritesFilter;
+    private AtomicReference<String> handledBody;
+
+    @BeforeEach
+    void setUp() {
+        readLimit = new GradientConcurrencyLimit(10, 1, 10, 2.0, 0.2, 5);
+        writeLimit = new GradientConcurrencyLimit(10, 1, 10, 2.0, 0.2, 5);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        graphQlOperationFilter = new GraphQlOperationFilter(objectMapper);
+        concurrencyLimitFilter = new ConcurrencyLimitFilter(readLimit, writeLimit, 3, objectMapper, new SimpleMeterRegistry());
+        readYourWritesFilter = new ReadYourWritesFilter(5);
+        handledBody = new AtomicReference<>();
+    }
+
+    @Test
+    void doFilter_WhenGraphQlQuery_ShouldTakeReadPermitWithoutPinningToPrimary() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = graphQlRequest("query Branches { branches { code employees { employeeCode } } }");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exhaust(writeLimit);
+
+        // Act
+        chain(handler(false)).doFilter(request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+        assertTrue(handledBody.get().contains("branches"));
+        assertEquals(0, readLimit.getInFlight());
+    }
+
+    @Test
+    void doFilter_WhenGraphQlMutation_ShouldTakeWritePermitAndPinToPrimary() throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = graphQlRequest("# creates\\nmutation { deleteBranch(id: 1) }");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exhaust(readLimit);
+
+        // Act
+        chain(handler(false)).doFilter(request, response);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+        assertTrue(handledBody.get().contains("deleteBranch"));
+    }
+
+    @Test
+    void doFilter_WhenGraphQlQueryCompletesAsynchronously_ShouldSampleLatencyOnCompletion()
+            throws ServletException, IOException {
+        // Arrange
+        MockHttpServletRequest request = graphQlRequest("{ branches { code } }");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain(handler(true)).doFilter(request, response);
+        assertEquals(1, readLimit.getInFlight());
+
+        // Act: an overloaded response backs the limit off only if its latency is sampled
+        response.setStatus(503);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        // Assert
+        assertEquals(0, readLimit.getInFlight());
+        assertEquals(9, readLimit.getLimit());
+    }
+
+    @Test
+    void isReadOnly_ShouldIgnoreMutationOutsideOperationTypes() {
+        // Assert
+        assertTrue(GraphQlOperationFilter.isReadOnly("{ branches { mutation: code } }"));
+        assertTrue(GraphQlOperationFilter.isReadOnly("query Q($mutation: ID!) { branch(id: $mutation) { code } }"));
+        assertTrue(GraphQlOperationFilter.isReadOnly("query { branches { name } } # mutation"));
+        assertTrue(GraphQlOperationFilter.isReadOnly("query { branch(id: \"mutation\") { name } }"));
+        assertFalse(GraphQlOperationFilter.isReadOnly("query A { branches { code } } mutation B { deleteBranch(id: 1) }"));
+        assertFalse(GraphQlOperationFilter.isReadOnly("subscription { employeeChanged { id } }"));
+    }
+
+    private MockFilterChain chain(Servlet servlet) {
+        return new MockFilterChain(servlet, graphQlOperationFilter, concurrencyLimitFilter, readYourWritesFilter);
+    }
+
+    /**
+     * Servlet standing in for the GraphQL handler, reading the body the filters passed on
+     */
+    private Servlet handler(boolean async) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                handledBody.set(StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8));
+                if (async) {
+                    request.startAsync();
+                }
+            }
+        };
+    }
+
+    private MockHttpServletRequest graphQlRequest(String document) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/graphql");
+        request.setContentType("application/json");
+        request.setContent(("{\"query\": \"" + document.replace("\"", "\\\"") + "\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private void exhaust(GradientConcurrencyLimit limit) {
+        while (limit.tryAcquire()) {
+            // hold every permit
+        }
+    }
+}
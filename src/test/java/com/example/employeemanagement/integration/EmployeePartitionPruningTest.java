@@ -0,0 +1,171 @@
+package com.example.employeemanagement.integration;
+
+import com.example.employeemanagement.integration.StatementCapture.CapturedStatement;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the per-branch EmployeeRepository queries only scan one partition of the employees table
+ * partitioned by V7__Partition_employees.sql, by running the SQL Hibernate sent under EXPLAIN.
+ *
+ * Runs on the PostgreSQL database of PostgresTestDatabase, in its own schema.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StatementCapture.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmployeePartitionPruningTest {
+
+    private static final String SCHEMA = "partition_pruning_test";
+    private static final Pattern PARTITION = Pattern.compile("employees_p\\d+");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, SCHEMA);
+    }
+
+    @BeforeAll
+    void setUp() {
+        // Flyway has migrated the schema; rows left by an aborted run are removed
+        jdbcTemplate.execute("TRUNCATE employee_identifiers, employees, branches RESTART IDENTITY CASCADE");
+        for (int branch = 1; branch <= 16; branch++) {
+            jdbcTemplate.update("INSERT INTO branches (code, name) VALUES (?, ?)", "B" + branch, "Branch " + branch);
+        }
+        jdbcTemplate.update("INSERT INTO employees (employee_code, first_name, last_name, email, hire_date, position, branch_id) "
+                + "SELECT 'E' || n, 'First', 'Last', 'e' || n || '@company.com', CURRENT_DATE, 'Staff', 1 + n % 16 "
+                + "FROM generate_series(1, 2000) AS n");
+        jdbcTemplate.execute("ANALYZE employees");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @BeforeEach
+    void clearPersistenceContext() {
+        entityManager.clear();
+    }
+
+    @Test
+    void findByBranchId_ShouldScanOnePartition() {
+        // Act
+        String plan = explain(singleStatement(() -> employeeRepository.findByBranchId(3L)));
+
+        // Assert
+        assertEquals(1, partitionsIn(plan).size(), plan);
+    }
+
+    @Test
+    void countByBranchId_ShouldScanOnePartition() {
+        // Act
+        String plan = explain(singleStatement(() -> employeeRepository.countByBranchId(3L)));
+
+        // Assert
+        assertEquals(1, partitionsIn(plan).size(), plan);
+    }
+
+    @Test
+    void findByBranchId_WithGenericPlan_ShouldPruneWhenQueryStarts() {
+        // Arrange: the JDBC driver switches to server-side prepared statements, which may use a generic plan
+        CapturedStatement statement = singleStatement(() -> employeeRepository.findByBranchId(3L));
+        jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE employees_by_branch AS " + numberedParameters(statement.getSql()));
+
+        // Act
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN (ANALYZE, COSTS OFF) EXECUTE employees_by_branch(3)", String.class));
+        jdbcTemplate.execute("DEALLOCATE employees_by_branch");
+        jdbcTemplate.execute("RESET plan_cache_mode");
+
+        // Assert
+        assertTrue(plan.contains("Subplans Removed: 7"), plan);
+    }
+
+    @Test
+    void findById_ShouldScanAllPartitions() {
+        // Act
+        String plan = explain(singleStatement(() -> employeeRepository.findById(42L)));
+
+        // Assert
+        assertEquals(8, partitionsIn(plan).size(), plan);
+    }
+
+    private CapturedStatement singleStatement(Supplier<?> query) {
+        List<CapturedStatement> statements = StatementCapture.capture(query);
+        assertEquals(1, statements.size(), "Expected one SQL statement but got " + statements);
+        return statements.get(0);
+    }
+
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            List<String> lines = new ArrayList<>();
+            try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN (COSTS OFF) ");
+                 ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    lines.add(resultSet.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        });
+    }
+
+    /**
+     * JDBC placeholders as the $1, $2, ... parameters of PREPARE
+     */
+    private static String numberedParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private Set<String> partitionsIn(String plan) {
+        Set<String> partitions = new TreeSet<>();
+        Matcher matcher = PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group());
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.employeemanagement.integration;
+
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Executes a nested branches to employees GraphQL query over HTTP, through the servlet filters and the
+ * GraphQL handler, and guards the number of SQL statements it runs against N+1 regressions, on H2.
+ *
+ * Statements are counted by Hibernate statistics rather than per thread, since GraphQL data fetchers and
+ * batch loaders may not run on the request thread; scheduled jobs querying the database are held off.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.kafka.listeners.auto-startup=false",
+        // The change feed sequencer would add its statements to the global count
+        "app.changes.sequence-interval-ms=3600000"
+})
+class GraphQlStatementCountTest {
+
+    private static final int BRANCHES = 5;
+    private static final int EMPLOYEES_PER_BRANCH = 3;
+    private static final String BRANCHES_WITH_EMPLOYEES =
+            "{\"query\": \"{ branches { code employeeCount employees { employeeCode branchCode } } }\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        branchRepository.deleteAll();
+        for (int b = 1; b <= BRANCHES; b++) {
+            Branch branch = branchRepository.save(new Branch("BR" + b, "Branch " + b, "Address " + b, "0812345678" + b));
+            for (int e = 1; e <= EMPLOYEES_PER_BRANCH; e++) {
+                Employee employee = new Employee();
+                employee.setEmployeeCode("EMP" + b + e);
+                employee.setFirstName("First" + b + e);
+                employee.setLastName("Last" + b + e);
+                employee.setEmail("emp" + b + e + "@company.com");
+                employee.setHireDate(LocalDate.of(2020, 1, 1));
+                employee.setPosition("Staff");
+                employee.setBranch(branch);
+                employeeRepository.save(employee);
+            }
+        }
+    }
+
+    @Test
+    void branchesWithEmployees_ShouldLoadEmployeesOfAllBranchesInOneQuery() throws Exception {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BRANCHES_WITH_EMPLOYEES))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.branches", hasSize(BRANCHES)))
+                .andExpect(jsonPath("$.data.branches[0].employees", hasSize(EMPLOYEES_PER_BRANCH)))
+                .andExpect(jsonPath("$.data.branches[0].employees[0].branchCode").value("BR1"));
+
+        // Assert: branches, their employee counts and the employees of all branches
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 SQL statements but " + statistics.getPrepareStatementCount() + " were executed");
+        // A query is a read, so the client is not pinned to the primary database
+        assertNull(result.getResponse().getCookie("primary-pin-until"));
+    }
+}
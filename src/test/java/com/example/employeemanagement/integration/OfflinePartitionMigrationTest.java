@@ -0,0 +1,86 @@
+package com.example.employeemanagement.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that V7__Partition_employees.sql leaves a populated employees table unpartitioned when the
+ * application migrates at startup, and that db/offline/partition-employees.sql partitions it with every
+ * row kept.
+ *
+ * Runs on the PostgreSQL database of PostgresTestDatabase, in its own schema.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OfflinePartitionMigrationTest {
+
+    private static final String SCHEMA = "offline_partition_test";
+    private static final int EMPLOYEES = 1000;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        dataSource = PostgresTestDatabase.dataSource(SCHEMA);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void partitionEmployees_WhenTableIsPopulated_ShouldOnlyPartitionOffline() {
+        // Arrange: employees written before the partitioning migrations were released
+        flyway("5").migrate();
+        jdbcTemplate.update("INSERT INTO branches (code, name) SELECT 'B' || n, 'Branch ' || n FROM generate_series(1, 10) AS n");
+        jdbcTemplate.update("INSERT INTO employees (employee_code, first_name, last_name, email, hire_date, position, branch_id) "
+                + "SELECT 'E' || n, 'First', 'Last', 'e' || n || '@company.com', CURRENT_DATE, 'Staff', 1 + n % 10 "
+                + "FROM generate_series(1, ?) AS n", EMPLOYEES);
+
+        // Act
+        flyway(null).migrate();
+        String tableKindAfterStartup = employeesTableKind();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/offline/partition-employees.sql"));
+            return null;
+        });
+
+        // Assert
+        assertEquals("r", tableKindAfterStartup);
+        assertEquals("p", employeesTableKind());
+        assertEquals(8, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits WHERE inhparent = 'employees'::regclass", Integer.class));
+        assertEquals(EMPLOYEES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Integer.class));
+        Long nextId = jdbcTemplate.queryForObject("INSERT INTO employees (employee_code, first_name, last_name, email, "
+                + "hire_date, position, branch_id) VALUES ('NEW', 'First', 'Last', 'new@company.com', CURRENT_DATE, 'Staff', 1) "
+                + "RETURNING id", Long.class);
+        assertEquals(EMPLOYEES + 1L, nextId.longValue());
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .target(target != null ? target : "latest")
+                .load();
+    }
+
+    private String employeesTableKind() {
+        return jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = 'employees'::regclass", String.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.employeemanagement.integration;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+
+/**
+ * PostgreSQL database for the tests that check query plans: a Testcontainers PostgreSQL container started
+ * once and shared by all test classes, or the database in TEST_POSTGRES_URL when it is set, for example:
+ * TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/employeedb TEST_POSTGRES_USER=postgres TEST_POSTGRES_PASSWORD=postgres
+ *
+ * Every test class works in its own schema, migrated by Flyway, and drops it afterwards.
+ */
+final class PostgresTestDatabase {
+
+    private static final DockerImageName IMAGE = DockerImageName.parse("postgres:15-alpine");
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {
+    }
+
+    /**
+     * Point the datasource and Flyway of a test context at a schema of the test database
+     * @param registry dynamic properties of the test context
+     * @param schema schema the test class works in
+     */
+    static void register(DynamicPropertyRegistry registry, String schema) {
+        registry.add("spring.datasource.url", () -> url(schema));
+        registry.add("spring.datasource.username", PostgresTestDatabase::username);
+        registry.add("spring.datasource.password", PostgresTestDatabase::password);
+        registry.add("spring.flyway.schemas", () -> schema);
+    }
+
+    /**
+     * DataSource on a schema of the test database, for tests without a Spring context
+     * @param schema schema the test class works in
+     * @return DataSource opening a new connection per call
+     */
+    static DataSource dataSource(String schema) {
+        return new DriverManagerDataSource(url(schema), username(), password());
+    }
+
+    private static String url(String schema) {
+        // public stays on the path for pg_trgm when it is installed there already
+        String url = isExternal() ? System.getenv("TEST_POSTGRES_URL") : container().getJdbcUrl();
+        return url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema + ",public";
+    }
+
+    private static String username() {
+        return isExternal() ? envOrDefault("TEST_POSTGRES_USER", "postgres") : container().getUsername();
+    }
+
+    private static String password() {
+        return isExternal() ? envOrDefault("TEST_POSTGRES_PASSWORD", "postgres") : container().getPassword();
+    }
+
+    private static boolean isExternal() {
+        String url = System.getenv("TEST_POSTGRES_URL");
+        return url != null && !url.isEmpty();
+    }
+
+    /**
+     * Start the container on first use; Testcontainers removes it when the test JVM exits
+     */
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+
+    private static String envOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
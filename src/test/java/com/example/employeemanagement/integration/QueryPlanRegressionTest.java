@@ -0,0 +1,185 @@
+package com.example.employeemanagement.integration;
+
+import com.example.employeemanagement.integration.StatementCapture.CapturedStatement;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls every EmployeeRepository and BranchRepository query on a seeded PostgreSQL database migrated by
+ * Flyway, runs the SQL and parameters Hibernate sent under EXPLAIN, and fails if a query scans a large
+ * table sequentially.
+ *
+ * Runs on the PostgreSQL database of PostgresTestDatabase, in its own schema; an external database must
+ * allow creating pg_trgm.
+ *
+ * Queries that read whole tables by design (findAll, findAllWithBranch, findAllWithEmployees) are not checked.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StatementCapture.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final String SCHEMA = "query_plan_test";
+    private static final int BRANCHES = 50;
+    private static final int EMPLOYEES = 20000;
+    // Tables with more rows than this must not be scanned sequentially
+    private static final long ROW_THRESHOLD = 1000;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, SCHEMA);
+    }
+
+    @BeforeAll
+    void setUp() {
+        // Flyway has migrated the schema; rows left by an aborted run are removed
+        jdbcTemplate.execute("TRUNCATE employee_identifiers, employees, branches RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO branches (code, name, address, created_at, updated_at) "
+                + "SELECT 'B' || n, 'Branch ' || n, 'Address ' || n, now(), now() FROM generate_series(1, ?) AS n", BRANCHES);
+        jdbcTemplate.update("INSERT INTO employees (employee_code, first_name, last_name, email, phone_number, hire_date, "
+                + "position, address, branch_id, created_at, updated_at) "
+                + "SELECT 'E' || n, 'First' || n, 'Last' || n, 'e' || n || '@company.com', '081234567890', "
+                + "DATE '2020-01-01' + n % 1500, 'Staff ' || n % 500, 'Address ' || n, 1 + n % ?, now(), now() "
+                + "FROM generate_series(1, ?) AS n", BRANCHES, EMPLOYEES);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                // EmployeeRepository
+                query("findById", (employees, branches) -> employees.findById(4242L)),
+                query("findByEmployeeCode", (employees, branches) -> employees.findByEmployeeCode("E4242")),
+                query("findByEmail", (employees, branches) -> employees.findByEmail("e4242@company.com")),
+                query("findByBranchId", (employees, branches) -> employees.findByBranchId(7L)),
+                query("findByBranchIdIn", (employees, branches) -> employees.findByBranchIdIn(Arrays.asList(3L, 7L, 11L))),
+                query("findByBranchCode", (employees, branches) -> employees.findByBranchCode("B7")),
+                query("findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase", (employees, branches) ->
+                        employees.findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase("irst4242", "ast4242")),
+                query("findByFirstNameContainingIgnoreCase",
+                        (employees, branches) -> employees.findByFirstNameContainingIgnoreCase("irst4242")),
+                query("findByPositionContainingIgnoreCase",
+                        (employees, branches) -> employees.findByPositionContainingIgnoreCase("staff 421")),
+                query("existsByEmployeeCode", (employees, branches) -> employees.existsByEmployeeCode("E4242")),
+                query("existsByEmployeeCodeAndIdNot",
+                        (employees, branches) -> employees.existsByEmployeeCodeAndIdNot("E4242", 4242L)),
+                query("existsByEmail", (employees, branches) -> employees.existsByEmail("e4242@company.com")),
+                query("existsByEmailAndIdNot",
+                        (employees, branches) -> employees.existsByEmailAndIdNot("e4242@company.com", 4242L)),
+                query("findPageWithBranchAfter",
+                        (employees, branches) -> employees.findPageWithBranchAfter(4242L, PageRequest.of(0, 500))),
+                query("findPageByBranchIdWithBranchAfter",
+                        (employees, branches) -> employees.findPageByBranchIdWithBranchAfter(7L, 11L, PageRequest.of(0, 500))),
+                query("findAllWithBranchByIdIn",
+                        (employees, branches) -> employees.findAllWithBranchByIdIn(Arrays.asList(11L, 4242L, 9000L))),
+                query("countByBranchId", (employees, branches) -> employees.countByBranchId(7L)),
+                // BranchRepository
+                query("branch.findByCode", (employees, branches) -> branches.findByCode("B7")),
+                query("branch.findByNameContainingIgnoreCase",
+                        (employees, branches) -> branches.findByNameContainingIgnoreCase("branch 7")),
+                query("branch.existsByCode", (employees, branches) -> branches.existsByCode("B7")),
+                query("branch.existsByCodeAndIdNot", (employees, branches) -> branches.existsByCodeAndIdNot("B7", 7L)),
+                query("branch.countEmployeesByBranchId", (employees, branches) -> branches.countEmployeesByBranchId(7L)),
+                query("branch.countEmployeesByBranchIds",
+                        (employees, branches) -> branches.countEmployeesByBranchIds(Arrays.asList(3L, 7L, 11L)))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_ShouldNotScanLargeTableSequentially(String query,
+                                                             BiFunction<EmployeeRepository, BranchRepository, Object> call)
+            throws IOException {
+        // Arrange: nothing is served from the persistence context
+        entityManager.clear();
+
+        // Act
+        List<CapturedStatement> statements = StatementCapture.capture(() -> call.apply(employeeRepository, branchRepository));
+
+        // Assert
+        assertFalse(statements.isEmpty(), query + " executed no SQL");
+        for (CapturedStatement statement : statements) {
+            JsonNode plan = objectMapper.readTree(explain(statement)).get(0).get("Plan");
+            List<String> sequentialScans = new ArrayList<>();
+            collectLargeSequentialScans(plan, sequentialScans);
+            assertTrue(sequentialScans.isEmpty(), query + " scans " + sequentialScans + " sequentially:\n"
+                    + statement.getSql() + "\n" + plan.toPrettyString());
+        }
+    }
+
+    private static Arguments query(String name, BiFunction<EmployeeRepository, BranchRepository, Object> call) {
+        return Arguments.of(name, call);
+    }
+
+    private String explain(CapturedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = statement.prepare(connection, "EXPLAIN (FORMAT JSON) ");
+                 ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    private void collectLargeSequentialScans(JsonNode node, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            String relation = node.path("Relation Name").asText();
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, relation);
+            if (rows != null && rows > ROW_THRESHOLD) {
+                sequentialScans.add(relation + " (" + rows + " rows)");
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectLargeSequentialScans(child, sequentialScans);
+        }
+    }
+}
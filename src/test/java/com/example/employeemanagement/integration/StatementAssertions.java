@@ -0,0 +1,39 @@
+package com.example.employeemanagement.integration;
+
+import com.example.employeemanagement.config.StatementStatistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the number of SQL statements an action runs, for catching N+1 regressions.
+ *
+ * Counts statements executed through StatementStatisticsDataSource, so the test context must include
+ * StatementStatisticsConfig.
+ */
+final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    /**
+     * Run an action and fail if it executed more than a number of statements
+     * @param maxStatements maximum number of statements
+     * @param action action to run
+     * @return result of the action
+     */
+    static <T> T assertStatements(int maxStatements, Supplier<T> action) {
+        StatementStatistics statistics = StatementStatistics.begin();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            StatementStatistics.end();
+        }
+        assertTrue(statistics.getStatements() <= maxStatements, "Expected at most " + maxStatements
+                + " SQL statements but " + statistics.getStatements() + " were executed, repeated: "
+                + statistics.getRepeatedStatements(2));
+        return result;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.employeemanagement.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Captures the SQL and parameters of the prepared statements an action executes, so tests can run
+ * the statements Hibernate generates for a repository query under EXPLAIN.
+ *
+ * Only statements executed through the application DataSource are captured, so the test context
+ * must import StatementCapture.Config.
+ */
+final class StatementCapture {
+
+    private static final ThreadLocal<List<CapturedStatement>> captured = new ThreadLocal<>();
+
+    private StatementCapture() {
+    }
+
+    /**
+     * Run an action and return the prepared statements it executed on this thread
+     * @param action action to run
+     * @return statements in execution order
+     */
+    static List<CapturedStatement> capture(Supplier<?> action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        captured.set(statements);
+        try {
+            action.get();
+        } finally {
+            captured.remove();
+        }
+        return statements;
+    }
+
+    /**
+     * SQL of a prepared statement with the parameters it was executed with
+     */
+    static final class CapturedStatement {
+
+        private final String sql;
+        private final List<Parameter> parameters;
+
+        private CapturedStatement(String sql, List<Parameter> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Prepare the statement with a prefix, such as EXPLAIN, and the captured parameters
+         * @param connection connection to prepare the statement on
+         * @param prefix SQL put in front of the captured SQL
+         * @return prepared statement ready to execute
+         */
+        PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            try {
+                for (Parameter parameter : parameters) {
+                    invoke(statement, parameter.setter, parameter.args);
+                }
+            } catch (Throwable e) {
+                statement.close();
+                throw new SQLException("Could not set parameters of " + sql, e);
+            }
+            return statement;
+        }
+
+        @Override
+        public String toString() {
+            return sql;
+        }
+    }
+
+    private static final class Parameter {
+
+        private final Method setter;
+        private final Object[] args;
+
+        private Parameter(Method setter, Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+    }
+
+    /**
+     * Wraps the application DataSource so that statements run inside capture() are recorded
+     */
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor statementCaptureDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource) {
+                        return new CapturingDataSource((DataSource) bean);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        private CapturingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capturing(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capturing(super.getConnection(username, password));
+        }
+
+        private Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement && captured.get() != null
+                                && method.getName().equals("prepareStatement")) {
+                            return capturing((PreparedStatement) result, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        /**
+         * Wrap a statement so that its parameters are remembered and each execution is recorded
+         */
+        private PreparedStatement capturing(PreparedStatement statement, String sql) {
+            List<Parameter> parameters = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            parameters.add(new Parameter(method, args.clone()));
+                        } else if (name.equals("clearParameters")) {
+                            parameters.clear();
+                        } else if (name.startsWith("execute") && captured.get() != null) {
+                            captured.get().add(new CapturedStatement(sql, new ArrayList<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
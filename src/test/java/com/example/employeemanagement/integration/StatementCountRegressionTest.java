@@ -0,0 +1,191 @@
+package com.example.employeemanagement.integration;
+
+import com.example.employeemanagement.config.StatementStatistics;
+import com.example.employeemanagement.config.StatementStatisticsConfig;
+import com.example.employeemanagement.dto.BranchResponseDto;
+import com.example.employeemanagement.dto.EmployeeField;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.service.BranchService;
+import com.example.employeemanagement.service.EmployeeResponseCache;
+import com.example.employeemanagement.service.EmployeeService;
+import com.example.employeemanagement.service.EmployeeShardRouter;
+import com.example.employeemanagement.service.KafkaProducerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.employeemanagement.integration.StatementAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the number of SQL statements of the service reads against N+1 regressions, on H2.
+ *
+ * The persistence context is cleared after seeding, so lazy associations are loaded from the database
+ * as they would be in a request.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({StatementStatisticsConfig.class, BranchService.class, EmployeeService.class, EmployeeShardRouter.class})
+class StatementCountRegressionTest {
+
+    private static final int BRANCHES = 5;
+    private static final int EMPLOYEES_PER_BRANCH = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @MockBean
+    private KafkaProducerService kafkaProducerService;
+
+    @MockBean
+    private EmployeeResponseCache employeeResponseCache;
+
+    private Long firstBranchId;
+    private final List<Long> branchIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int b = 1; b <= BRANCHES; b++) {
+            Branch branch = entityManager.persist(new Branch("BR" + b, "Branch " + b, "Address " + b, "0812345678" + b));
+            if (firstBranchId == null) {
+                firstBranchId = branch.getId();
+            }
+            branchIds.add(branch.getId());
+            for (int e = 1; e <= EMPLOYEES_PER_BRANCH; e++) {
+                Employee employee = new Employee();
+                employee.setEmployeeCode("EMP" + b + e);
+                employee.setFirstName("First" + b + e);
+                employee.setLastName("Last" + b + e);
+                employee.setEmail("emp" + b + e + "@company.com");
+                employee.setHireDate(LocalDate.of(2020, 1, 1));
+                employee.setPosition("Staff");
+                employee.setBranch(branch);
+                entityManager.persist(employee);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllBranches_ShouldCountEmployeesOfAllBranchesInOneQuery() {
+        // Act
+        List<BranchResponseDto> result = assertStatements(2, branchService::getAllBranches);
+
+        // Assert
+        assertEquals(BRANCHES, result.size());
+        result.forEach(branch -> assertEquals(EMPLOYEES_PER_BRANCH, branch.getEmployeeCount()));
+    }
+
+    @Test
+    void searchBranchesByName_ShouldCountEmployeesOfAllBranchesInOneQuery() {
+        // Act
+        List<BranchResponseDto> result = assertStatements(2, () -> branchService.searchBranchesByName("Branch"));
+
+        // Assert
+        assertEquals(BRANCHES, result.size());
+    }
+
+    @Test
+    void getBranchById_ShouldCountEmployeesWithoutLoadingThem() {
+        // Act
+        BranchResponseDto result = assertStatements(2, () -> branchService.getBranchById(firstBranchId));
+
+        // Assert
+        assertEquals(EMPLOYEES_PER_BRANCH, result.getEmployeeCount());
+    }
+
+    @Test
+    void getEmployeesByBranchId_ShouldLoadBranchWithEmployees() {
+        // Act
+        List<EmployeeResponseDto> result = assertStatements(2, () -> employeeService.getEmployeesByBranchId(firstBranchId));
+
+        // Assert
+        assertEquals(EMPLOYEES_PER_BRANCH, result.size());
+        result.forEach(employee -> assertEquals("BR1", employee.getBranchCode()));
+    }
+
+    @Test
+    void getEmployeesByBranchIds_ShouldLoadEmployeesOfAllBranchesInOneQuery() {
+        // Act
+        List<EmployeeResponseDto> result = assertStatements(1, () -> employeeService.getEmployeesByBranchIds(branchIds));
+
+        // Assert
+        assertEquals(BRANCHES * EMPLOYEES_PER_BRANCH, result.size());
+        result.forEach(employee -> assertNotNull(employee.getBranchCode()));
+    }
+
+    @Test
+    void getBranchesByIds_ShouldCountEmployeesOfAllBranchesInOneQuery() {
+        // Act
+        List<BranchResponseDto> result = assertStatements(2,
+                () -> branchService.getBranchesByIds(branchIds.subList(0, 2)));
+
+        // Assert
+        assertEquals(2, result.size());
+        result.forEach(branch -> assertEquals(EMPLOYEES_PER_BRANCH, branch.getEmployeeCount()));
+    }
+
+    @Test
+    void searchEmployees_ShouldLoadBranchWithEmployees() {
+        // Act
+        List<EmployeeResponseDto> byName = assertStatements(1, () -> employeeService.searchEmployeesByName("First"));
+        List<EmployeeResponseDto> byPosition = assertStatements(1, () -> employeeService.searchEmployeesByPosition("Staff"));
+
+        // Assert
+        assertEquals(BRANCHES * EMPLOYEES_PER_BRANCH, byName.size());
+        assertEquals(BRANCHES * EMPLOYEES_PER_BRANCH, byPosition.size());
+    }
+
+    @Test
+    void getAllEmployeeFields_ShouldSelectOnlyRequestedColumns() {
+        // Arrange
+        List<EmployeeField> fields = EmployeeField.parse("id,employeeCode,fullName,branchCode");
+        StatementStatistics statistics = StatementStatistics.begin();
+
+        // Act
+        List<Map<String, Object>> result;
+        try {
+            result = employeeService.getAllEmployeeFields(fields);
+        } finally {
+            StatementStatistics.end();
+        }
+
+        // Assert
+        assertEquals(1, statistics.getStatements());
+        String sql = statistics.getRepeatedStatements(1).keySet().iterator().next();
+        assertFalse(sql.contains("address") || sql.contains("email") || sql.contains("position"), sql);
+        assertEquals(BRANCHES * EMPLOYEES_PER_BRANCH, result.size());
+        assertEquals(Arrays.asList("id", "employeeCode", "fullName", "branchCode"), new ArrayList<>(result.get(0).keySet()));
+    }
+
+    @Test
+    void getEmployeeFieldsByBranchId_ShouldReturnEmployeesOfBranch() {
+        // Act
+        List<Map<String, Object>> result = assertStatements(2,
+                () -> employeeService.getEmployeeFieldsByBranchId(firstBranchId, EmployeeField.parse("employeeCode,branchId")));
+
+        // Assert
+        assertEquals(EMPLOYEES_PER_BRANCH, result.size());
+        result.forEach(employee -> assertEquals(firstBranchId, employee.get("branchId")));
+    }
+}
@@ -11,10 +11,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +33,13 @@ class BranchServiceTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    // Not sharded, so every repository call runs directly
+    @Spy
+    private EmployeeShardRouter shardRouter = new EmployeeShardRouter();
+
     @InjectMocks
     private BranchService branchService;
 
@@ -73,6 +82,27 @@ class BranchServiceTest {
         verify(branchRepository, times(1)).findAll();
     }
 
+    @Test
+    void getAllBranches_ShouldCountEmployeesOfAllBranchesInOneQuery() {
+        // Arrange
+        Branch otherBranch = new Branch("JKT", "Jakarta", "Jakarta", "081234567891");
+        otherBranch.setId(2L);
+        BranchRepository.EmployeeCount employeeCount = mock(BranchRepository.EmployeeCount.class);
+        when(employeeCount.getBranchId()).thenReturn(1L);
+        when(employeeCount.getEmployeeCount()).thenReturn(5L);
+        when(branchRepository.findAll()).thenReturn(Arrays.asList(testBranch, otherBranch));
+        when(branchRepository.countEmployeesByBranchIds(Arrays.asList(1L, 2L)))
+                .thenReturn(Collections.singletonList(employeeCount));
+
+        // Act
+        List<BranchResponseDto> result = branchService.getAllBranches();
+
+        // Assert
+        assertEquals(5, result.get(0).getEmployeeCount());
+        assertEquals(0, result.get(1).getEmployeeCount());
+        verify(branchRepository, never()).countEmployeesByBranchId(anyLong());
+    }
+
     @Test
     void getBranchById_WhenBranchExists_ShouldReturnBranch() {
         // Arrange
@@ -142,6 +172,7 @@ class BranchServiceTest {
         assertEquals("Head Office", result.getName());
         verify(branchRepository, times(1)).existsByCode("HO");
         verify(branchRepository, times(1)).save(any(Branch.class));
+        verify(kafkaProducerService, times(1)).publishBranchState(result);
     }
 
     @Test
@@ -199,6 +230,7 @@ class BranchServiceTest {
         verify(branchRepository, times(1)).findById(1L);
         verify(branchRepository, times(1)).countEmployeesByBranchId(1L);
         verify(branchRepository, times(1)).delete(testBranch);
+        verify(kafkaProducerService, times(1)).publishBranchTombstone(1L);
     }
 
     @Test
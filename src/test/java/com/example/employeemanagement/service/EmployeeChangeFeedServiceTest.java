@@ -0,0 +1,186 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeChangesResponseDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.ChangeFeedSequence;
+import com.example.employeemanagement.entity.EmployeeChange;
+import com.example.employeemanagement.exception.BadRequestException;
+import com.example.employeemanagement.exception.ChangeTokenExpiredException;
+import com.example.employeemanagement.repository.ChangeFeedSequenceRepository;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmployeeChangeFeedService
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangeFeedServiceTest {
+
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Mock
+    private ChangeFeedSequenceRepository changeFeedSequenceRepository;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @InjectMocks
+    private EmployeeChangeFeedService employeeChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeChangeFeedService, "retentionDays", 30L);
+    }
+
+    @Test
+    void getChanges_WithoutToken_ShouldReturnTokenForLatestChange() {
+        // Arrange
+        when(employeeChangeRepository.findLatestFeedSeq()).thenReturn(5L);
+        when(employeeChangeRepository.findChangesAfter(eq(5L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        EmployeeChangesResponseDto start = employeeChangeFeedService.getChanges(null, 100);
+        EmployeeChangesResponseDto next = employeeChangeFeedService.getChanges(start.getNextToken(), 100);
+
+        // Assert
+        assertTrue(start.getChanges().isEmpty());
+        assertTrue(next.getChanges().isEmpty());
+        assertFalse(next.isHasMore());
+    }
+
+    @Test
+    void getChanges_WhenEmployeeChangedTwice_ShouldReturnLatestChangeOnce() {
+        // Arrange
+        LocalDateTime changedAt = LocalDateTime.now().minusMinutes(1);
+        when(employeeChangeRepository.findChangesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        new EmployeeChange(1L, 1L, 1L, EmployeeChange.UPSERT, changedAt),
+                        new EmployeeChange(2L, 2L, 2L, EmployeeChange.UPSERT, changedAt),
+                        new EmployeeChange(3L, 3L, 1L, EmployeeChange.DELETE, changedAt)));
+        when(employeeService.getEmployeesByIds(Collections.singletonList(2L)))
+                .thenReturn(Collections.singletonList(employee(2L)));
+
+        // Act
+        EmployeeChangesResponseDto result = employeeChangeFeedService.getChanges(token(0L, changedAt), 100);
+
+        // Assert
+        assertEquals(2, result.getChanges().size());
+        assertEquals(2L, result.getChanges().get(0).getEmployeeId());
+        assertEquals(EmployeeChange.UPSERT, result.getChanges().get(0).getChangeType());
+        assertEquals(1L, result.getChanges().get(1).getEmployeeId());
+        assertEquals(EmployeeChange.DELETE, result.getChanges().get(1).getChangeType());
+        assertNull(result.getChanges().get(1).getEmployee());
+    }
+
+    @Test
+    void getChanges_WhenMoreChangesThanLimit_ShouldReturnPageWithHasMore() {
+        // Arrange
+        LocalDateTime changedAt = LocalDateTime.now().minusMinutes(1);
+        when(employeeChangeRepository.findChangesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(
+                        new EmployeeChange(1L, 1L, 1L, EmployeeChange.DELETE, changedAt),
+                        new EmployeeChange(2L, 2L, 2L, EmployeeChange.DELETE, changedAt)));
+
+        // Act
+        EmployeeChangesResponseDto result = employeeChangeFeedService.getChanges(token(0L, changedAt), 1);
+
+        // Assert
+        assertEquals(1, result.getChanges().size());
+        assertTrue(result.isHasMore());
+        assertNotEquals(token(0L, changedAt), result.getNextToken());
+    }
+
+    @Test
+    void getChanges_WithInvalidToken_ShouldThrowBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> employeeChangeFeedService.getChanges("not-a-token", 100));
+    }
+
+    @Test
+    void getChanges_WithInsertSequenceToken_ShouldThrowChangeTokenExpiredException() {
+        // Arrange
+        String insertSequenceToken = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v1:5:" + System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(ChangeTokenExpiredException.class, () ->
+                employeeChangeFeedService.getChanges(insertSequenceToken, 100));
+        verifyNoInteractions(employeeChangeRepository);
+    }
+
+    @Test
+    void sequenceChanges_ShouldNumberCommittedChangesAfterLastFeedSeq() {
+        // Arrange
+        LocalDateTime changedAt = LocalDateTime.now();
+        ChangeFeedSequence sequence = new ChangeFeedSequence(ChangeFeedSequence.ID, 10L);
+        EmployeeChange earlier = new EmployeeChange(7L, null, 1L, EmployeeChange.UPSERT, changedAt);
+        EmployeeChange later = new EmployeeChange(9L, null, 2L, EmployeeChange.UPSERT, changedAt);
+        when(changeFeedSequenceRepository.findForUpdate(ChangeFeedSequence.ID)).thenReturn(Optional.of(sequence));
+        when(employeeChangeRepository.findUnsequenced(any(Pageable.class))).thenReturn(Arrays.asList(earlier, later));
+
+        // Act
+        int sequenced = employeeChangeFeedService.sequenceChanges();
+
+        // Assert
+        assertEquals(2, sequenced);
+        assertEquals(11L, earlier.getFeedSeq());
+        assertEquals(12L, later.getFeedSeq());
+        assertEquals(12L, sequence.getLastFeedSeq());
+    }
+
+    @Test
+    void sequenceChanges_WhenNothingCommitted_ShouldKeepLastFeedSeq() {
+        // Arrange
+        ChangeFeedSequence sequence = new ChangeFeedSequence(ChangeFeedSequence.ID, 10L);
+        when(changeFeedSequenceRepository.findForUpdate(ChangeFeedSequence.ID)).thenReturn(Optional.of(sequence));
+        when(employeeChangeRepository.findUnsequenced(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        int sequenced = employeeChangeFeedService.sequenceChanges();
+
+        // Assert
+        assertEquals(0, sequenced);
+        assertEquals(10L, sequence.getLastFeedSeq());
+    }
+
+    @Test
+    void getChanges_WithTokenOlderThanRetention_ShouldThrowChangeTokenExpiredException() {
+        // Act & Assert
+        assertThrows(ChangeTokenExpiredException.class, () ->
+                employeeChangeFeedService.getChanges(token(1L, LocalDateTime.now().minusDays(31)), 100));
+        verifyNoInteractions(employeeChangeRepository);
+    }
+
+    private String token(long seq, LocalDateTime changedAt) {
+        long millis = changedAt.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v2:" + seq + ":" + millis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private EmployeeResponseDto employee(Long id) {
+        return new EmployeeResponseDto(id, "EMP00" + id, "John", "Doe", "john" + id + "@company.com", "081234567890",
+                LocalDate.of(2023, 1, 15), "Manager", "Jakarta", LocalDateTime.now(), LocalDateTime.now(),
+                1L, "HO", "Head Office");
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.employeemanagement.service;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmployeeReadModelConsumer
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeReadModelConsumerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("employee-events", 0);
+
+    @Mock
+    private EmployeeReadModel employeeReadModel;
+
+    @Mock
+    private ConsumerFactory<String, Object> consumerFactory;
+
+    @Mock
+    private Consumer<String, Object> consumer;
+
+    @Mock
+    private ConsumerSeekCallback callback;
+
+    @InjectMocks
+    private EmployeeReadModelConsumer employeeReadModelConsumer;
+
+    private Map<TopicPartition, Long> assignments;
+
+    @BeforeEach
+    void setUp() {
+        assignments = Collections.singletonMap(PARTITION, 10L);
+    }
+
+    @Test
+    void onPartitionsAssigned_WhenFirstAssigned_ShouldSeedAfterReadingEndOffsetsAndSeekToThem() {
+        // Arrange
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.endOffsets(assignments.keySet())).thenReturn(Collections.singletonMap(PARTITION, 42L));
+        when(employeeReadModel.seed()).thenReturn(true);
+
+        // Act
+        employeeReadModelConsumer.onPartitionsAssigned(assignments, callback);
+
+        // Assert
+        InOrder inOrder = inOrder(consumer, employeeReadModel, callback);
+        inOrder.verify(consumer).endOffsets(assignments.keySet());
+        inOrder.verify(employeeReadModel).seed();
+        inOrder.verify(callback).seek("employee-events", 0, 42L);
+    }
+
+    @Test
+    void onPartitionsAssigned_WhenAlreadySeeded_ShouldKeepCommittedOffsets() {
+        // Arrange
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.endOffsets(assignments.keySet())).thenReturn(Collections.singletonMap(PARTITION, 42L));
+        when(employeeReadModel.seed()).thenReturn(true);
+        employeeReadModelConsumer.onPartitionsAssigned(assignments, callback);
+
+        // Act
+        employeeReadModelConsumer.onPartitionsAssigned(assignments, callback);
+
+        // Assert
+        verify(employeeReadModel, times(1)).seed();
+        verify(callback, times(1)).seek(anyString(), anyInt(), anyLong());
+    }
+
+    @Test
+    void onPartitionsAssigned_WhenSeedFails_ShouldNotSeek() {
+        // Arrange
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.endOffsets(assignments.keySet())).thenReturn(Collections.singletonMap(PARTITION, 42L));
+        when(employeeReadModel.seed()).thenReturn(false);
+
+        // Act
+        employeeReadModelConsumer.onPartitionsAssigned(assignments, callback);
+
+        // Assert
+        verifyNoInteractions(callback);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.BranchEventDto;
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.BranchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmployeeReadModel
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeReadModelTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeReadModel employeeReadModel;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeReadModel = new EmployeeReadModel(employeeService, branchRepository, meterRegistry, true, 3600000);
+    }
+
+    @Test
+    void seed_WhenDatabaseHasEmployees_ShouldBecomeAvailable() {
+        // Arrange
+        Branch branch = new Branch();
+        branch.setId(1L);
+        branch.setCode("HO");
+        branch.setName("Head Office");
+        when(branchRepository.findAll()).thenReturn(Collections.singletonList(branch));
+        when(employeeService.getAllEmployees()).thenReturn(Collections.singletonList(employee(1L, "EMP001", 1L)));
+
+        // Act
+        boolean seeded = employeeReadModel.seed();
+
+        // Assert
+        assertTrue(seeded);
+        assertTrue(employeeReadModel.isAvailable());
+        assertEquals("EMP001", employeeReadModel.getEmployeeById(1L).getEmployeeCode());
+        assertEquals(1, employeeReadModel.getEmployeesByBranchId(1L).size());
+    }
+
+    @Test
+    void upsertEmployees_WhenCodeChanges_ShouldReindexByNewCode() {
+        // Arrange
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("CREATE", 1L, "EMP001")));
+
+        // Act
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("UPDATE", 1L, "EMP002")));
+
+        // Assert
+        assertEquals(1L, employeeReadModel.getEmployeeByCode("EMP002").getId());
+        assertThrows(ResourceNotFoundException.class, () -> employeeReadModel.getEmployeeByCode("EMP001"));
+        assertEquals(2, meterRegistry.timer("read.model.lag", "entity", "employee").count());
+    }
+
+    @Test
+    void upsertBranches_WhenBranchRenamed_ShouldUpdateEmployeesOfBranch() {
+        // Arrange
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("CREATE", 1L, "EMP001")));
+        BranchEventDto branchEvent = new BranchEventDto("UPDATE", 1L, "Jakarta Office", "Jakarta", "081234567890");
+        branchEvent.setBranchCode("JKT");
+
+        // Act
+        employeeReadModel.upsertBranches(Collections.singletonList(branchEvent));
+
+        // Assert
+        EmployeeResponseDto employee = employeeReadModel.getEmployeeById(1L);
+        assertEquals("JKT", employee.getBranchCode());
+        assertEquals("Jakarta Office", employee.getBranchName());
+    }
+
+    @Test
+    void removeEmployees_WhenEmployeeDeleted_ShouldNotBeFound() {
+        // Arrange
+        EmployeeEventDto created = employeeEvent("CREATE", 1L, "EMP001");
+        employeeReadModel.upsertEmployees(Collections.singletonList(created));
+
+        // Act
+        employeeReadModel.removeEmployees(Collections.singletonList(employeeEvent("DELETE", 1L, "EMP001")));
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> employeeReadModel.getEmployeeById(1L));
+        assertTrue(employeeReadModel.getEmployeesByBranchId(1L).isEmpty());
+    }
+
+    @Test
+    void upsertEmployees_WhenEventOlderThanHeldState_ShouldSkipIt() {
+        // Arrange
+        EmployeeEventDto updated = employeeEvent("UPDATE", 1L, "EMP002");
+        updated.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 8, 0));
+        EmployeeEventDto created = employeeEvent("CREATE", 1L, "EMP001");
+        created.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 8, 0));
+        employeeReadModel.upsertEmployees(Collections.singletonList(updated));
+
+        // Act
+        employeeReadModel.upsertEmployees(Collections.singletonList(created));
+
+        // Assert
+        assertEquals("EMP002", employeeReadModel.getEmployeeById(1L).getEmployeeCode());
+        assertThrows(ResourceNotFoundException.class, () -> employeeReadModel.getEmployeeByCode("EMP001"));
+    }
+
+    @Test
+    void upsertEmployees_WhenEmployeeDeleted_ShouldNotBringItBack() {
+        // Arrange
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("CREATE", 1L, "EMP001")));
+        employeeReadModel.removeEmployees(Collections.singletonList(employeeEvent("DELETE", 1L, "EMP001")));
+
+        // Act
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("UPDATE", 1L, "EMP001")));
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> employeeReadModel.getEmployeeById(1L));
+    }
+
+    @Test
+    void purgeDeleted_WhenRetentionElapsed_ShouldForgetDeletedEmployees() {
+        // Arrange
+        EmployeeReadModel noRetention = new EmployeeReadModel(employeeService, branchRepository, meterRegistry, true, 0);
+        noRetention.removeEmployees(Collections.singletonList(employeeEvent("DELETE", 1L, "EMP001")));
+
+        // Act
+        noRetention.purgeDeleted();
+        noRetention.upsertEmployees(Collections.singletonList(employeeEvent("UPDATE", 1L, "EMP001")));
+
+        // Assert
+        assertEquals("EMP001", noRetention.getEmployeeById(1L).getEmployeeCode());
+    }
+
+    @Test
+    void searchEmployeesByPosition_ShouldMatchIgnoringCase() {
+        // Arrange
+        employeeReadModel.upsertEmployees(Collections.singletonList(employeeEvent("CREATE", 1L, "EMP001")));
+
+        // Act
+        List<EmployeeResponseDto> result = employeeReadModel.searchEmployeesByPosition("manag");
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void isAvailable_WhenDisabled_ShouldReturnFalse() {
+        // Arrange
+        EmployeeReadModel disabled = new EmployeeReadModel(employeeService, branchRepository, meterRegistry, false, 3600000);
+
+        // Act
+        disabled.seed();
+
+        // Assert
+        assertFalse(disabled.isAvailable());
+        verifyNoInteractions(employeeService, branchRepository);
+    }
+
+    private EmployeeEventDto employeeEvent(String eventType, Long id, String code) {
+        EmployeeEventDto event = new EmployeeEventDto(eventType, id, "John Doe", "john.doe@company.com",
+                "081234567890", 1L, "Head Office");
+        event.setEmployeeCode(code);
+        event.setFirstName("John");
+        event.setLastName("Doe");
+        event.setHireDate(LocalDate.of(2023, 1, 15));
+        event.setPosition("Manager");
+        event.setBranchCode("HO");
+        return event;
+    }
+
+    private EmployeeResponseDto employee(Long id, String code, Long branchId) {
+        return new EmployeeResponseDto(id, code, "John", "Doe", "john.doe@company.com", "081234567890",
+                LocalDate.of(2023, 1, 15), "Manager", "Jakarta", LocalDateTime.now(), LocalDateTime.now(),
+                branchId, "HO", "Head Office");
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeRequestDto;
+import com.example.employeemanagement.service.EmployeeRequestValidator.Error;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmployeeRequestValidator
+ */
+class EmployeeRequestValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator beanValidator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_WhenRequestIsValid_ShouldReturnNoErrors() {
+        // Act
+        int errors = EmployeeRequestValidator.validate(validRequest());
+
+        // Assert
+        assertEquals(0, errors);
+    }
+
+    @Test
+    void validate_WhenFieldsAreMissing_ShouldReturnRequiredErrors() {
+        // Arrange
+        EmployeeRequestDto request = new EmployeeRequestDto();
+        request.setFirstName("  ");
+
+        // Act
+        int errors = EmployeeRequestValidator.validate(request);
+
+        // Assert
+        assertEquals(Arrays.asList(Error.EMPLOYEE_CODE_REQUIRED, Error.FIRST_NAME_REQUIRED, Error.LAST_NAME_REQUIRED,
+                Error.PHONE_NUMBER_REQUIRED, Error.BRANCH_REQUIRED), EmployeeRequestValidator.errors(errors));
+    }
+
+    @Test
+    void validate_WhenFieldsAreTooShortOrLong_ShouldReturnLengthErrors() {
+        // Arrange
+        EmployeeRequestDto request = validRequest();
+        request.setEmployeeCode("E1");
+        request.setLastName("L");
+        request.setPosition(repeat('p', 51));
+        request.setAddress(repeat('a', 501));
+
+        // Act
+        int errors = EmployeeRequestValidator.validate(request);
+
+        // Assert
+        assertEquals(Arrays.asList("Employee code must be between 3 and 20 characters",
+                "Last name must be between 2 and 50 characters", "Position cannot exceed 50 characters",
+                "Address cannot exceed 500 characters"), EmployeeRequestValidator.messages(errors));
+    }
+
+    @Test
+    void validatePhoneNumber_WithSeparators_ShouldIgnoreThem() {
+        // Act & Assert
+        assertEquals(0, EmployeeRequestValidator.validatePhoneNumber("0812-3456-7890"));
+        assertEquals(0, EmployeeRequestValidator.validatePhoneNumber("0812 3456 7890"));
+    }
+
+    @Test
+    void validatePhoneNumber_WhenInvalid_ShouldReturnPhoneNumberError() {
+        // Act & Assert
+        assertEquals(Error.PHONE_NUMBER_REQUIRED.bit(), EmployeeRequestValidator.validatePhoneNumber(" "));
+        assertEquals(Error.PHONE_NUMBER_DIGITS.bit(), EmployeeRequestValidator.validatePhoneNumber("08123456789"));
+        assertEquals(Error.PHONE_NUMBER_PREFIX.bit(), EmployeeRequestValidator.validatePhoneNumber("0712 3456 7890"));
+        assertEquals(Collections.singletonList("Phone number must start with '08'"),
+                EmployeeRequestValidator.messages(EmployeeRequestValidator.validatePhoneNumber("8081-2345-6789")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "john.doe@company.com", "john+tag@mail.company.co.id", "a@b", "o'neil@company.com",
+            "john@[10.0.0.1]", "john..doe@company.com", ".john@company.com", "john.@company.com", "john@", "@company.com",
+            "john doe@company.com", "john@company..com", "john@-company.com", "john@company-.com", "john@com pany.com",
+            "john@company.com@other.com", "john(doe)@company.com"})
+    void validate_WithEmail_ShouldAgreeWithBeanValidation(String email) {
+        // Arrange
+        EmployeeRequestDto request = validRequest();
+        request.setEmail(email);
+        boolean validBean = beanValidator.validateProperty(request, "email").isEmpty();
+
+        // Act
+        int errors = EmployeeRequestValidator.validate(request);
+
+        // Assert
+        assertEquals(validBean, (errors & Error.EMAIL_INVALID.bit()) == 0, email);
+    }
+
+    private EmployeeRequestDto validRequest() {
+        return new EmployeeRequestDto("EMP001", "John", "Doe", "john.doe@company.com", "081234567890",
+                LocalDate.of(2023, 1, 15), "Software Engineer", "Jakarta", 1L);
+    }
+
+    private String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmployeeResponseCache
+ */
+class EmployeeResponseCacheTest {
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new EmployeeResponseCache(objectMapper, meterRegistry, true, 3, 256);
+    }
+
+    @Test
+    void get_WhenEmployeeUnchanged_ShouldReturnCachedEncoding() throws IOException {
+        // Arrange
+        EmployeeResponseDto employee = employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0));
+
+        // Act
+        EmployeeResponseCache.EncodedResponse first = cache.get(employee);
+        EmployeeResponseCache.EncodedResponse second = cache.get(employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0)));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(employee, objectMapper.readValue(second.getJson(), EmployeeResponseDto.class));
+        assertEquals(1.0, meterRegistry.counter("employee.response.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("employee.response.cache", "result", "miss").count());
+    }
+
+    @Test
+    void get_WhenEmployeeOrBranchChanged_ShouldEncodeAgain() throws IOException {
+        // Arrange
+        EmployeeResponseDto employee = employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0));
+        EmployeeResponseCache.EncodedResponse cached = cache.get(employee);
+        EmployeeResponseDto renamedBranch = employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0));
+        renamedBranch.setBranchName("Kantor Pusat");
+        EmployeeResponseDto updated = employee(1L, LocalDateTime.of(2024, 1, 2, 8, 0));
+        updated.setPosition("Director");
+
+        // Act
+        EmployeeResponseCache.EncodedResponse afterRename = cache.get(renamedBranch);
+        EmployeeResponseCache.EncodedResponse afterUpdate = cache.get(updated);
+
+        // Assert
+        assertNotSame(cached, afterRename);
+        assertEquals("Kantor Pusat", objectMapper.readValue(afterRename.getJson(), EmployeeResponseDto.class).getBranchName());
+        assertEquals("Director", objectMapper.readValue(afterUpdate.getJson(), EmployeeResponseDto.class).getPosition());
+    }
+
+    @Test
+    void evict_ShouldDropCachedEncoding() {
+        // Arrange
+        EmployeeResponseDto employee = employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0));
+        EmployeeResponseCache.EncodedResponse cached = cache.get(employee);
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertNotSame(cached, cache.get(employee));
+    }
+
+    @Test
+    void get_WhenFull_ShouldStayWithinMaxEntries() {
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            cache.get(employee(id, LocalDateTime.of(2024, 1, 1, 8, 0)));
+        }
+
+        // Assert
+        assertTrue(meterRegistry.get("employee.response.cache.size").gauge().value() <= 3);
+    }
+
+    @Test
+    void getGzip_ShouldCompressJsonOnce() throws IOException {
+        // Arrange
+        EmployeeResponseCache.EncodedResponse encoded = cache.get(employee(1L, LocalDateTime.of(2024, 1, 1, 8, 0)));
+
+        // Act
+        byte[] gzip = encoded.getGzip();
+
+        // Assert
+        assertSame(gzip, encoded.getGzip());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(encoded.getJson(), in.readAllBytes());
+        }
+    }
+
+    private EmployeeResponseDto employee(Long id, LocalDateTime updatedAt) {
+        return new EmployeeResponseDto(id, "EMP00" + id, "John", "Doe", "john.doe" + id + "@company.com",
+                "081234567890", LocalDate.of(2023, 1, 15), "Manager", "Jakarta",
+                LocalDateTime.of(2023, 1, 15, 8, 0), updatedAt, 1L, "HO", "Head Office");
+    }
+}
@@ -4,20 +4,37 @@ import com.example.employeemanagement.dto.EmployeeRequestDto;
 import com.example.employeemanagement.dto.EmployeeResponseDto;
 import com.example.employeemanagement.entity.Branch;
 import com.example.employeemanagement.entity.Employee;
+import com.example.employeemanagement.entity.EmployeeChange;
+import com.example.employeemanagement.exception.BadRequestException;
 import com.example.employeemanagement.exception.DataConflictException;
 import com.example.employeemanagement.exception.ResourceNotFoundException;
 import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.EmployeeChangeRepository;
+import com.example.employeemanagement.repository.EmployeeIdentifierRepository;
 import com.example.employeemanagement.repository.EmployeeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +54,22 @@ class EmployeeServiceTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+
+    @Mock
+    private EmployeeIdentifierRepository employeeIdentifierRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private EmployeeResponseCache employeeResponseCache;
+
+    // Not sharded, so every repository call runs directly
+    @Spy
+    private EmployeeShardRouter shardRouter = new EmployeeShardRouter();
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -81,6 +114,26 @@ class EmployeeServiceTest {
         testEmployeeRequestDto.setBranchId(1L);
     }
 
+    @Test
+    void streamAllEmployees_ShouldReadEmployeesInKeysetPages() {
+        // Arrange
+        ReflectionTestUtils.setField(employeeService, "streamingPageSize", 1);
+        Employee secondEmployee = new Employee();
+        secondEmployee.setId(2L);
+        secondEmployee.setBranch(testBranch);
+        when(employeeRepository.findPageWithBranchAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(testEmployee));
+        when(employeeRepository.findPageWithBranchAfter(eq(1L), any(Pageable.class))).thenReturn(Arrays.asList(secondEmployee));
+        when(employeeRepository.findPageWithBranchAfter(eq(2L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        List<Long> streamedIds = new ArrayList<>();
+
+        // Act
+        employeeService.streamAllEmployees(employee -> streamedIds.add(employee.getId()));
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L), streamedIds);
+        verify(employeeRepository, times(3)).findPageWithBranchAfter(anyLong(), eq(PageRequest.of(0, 1)));
+    }
+
     @Test
     void getAllEmployees_ShouldReturnListOfEmployees() {
         // Arrange
@@ -171,6 +224,108 @@ class EmployeeServiceTest {
         verify(employeeRepository, times(1)).existsByEmail("john.doe@company.com");
         verify(branchRepository, times(1)).findById(1L);
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(kafkaProducerService, times(1)).publishEmployeeState(result);
+    }
+
+    @Test
+    void createEmployees_WithValidRequests_ShouldCreateEachEmployee() {
+        // Arrange
+        EmployeeRequestDto secondRequest = new EmployeeRequestDto("EMP002", "Jane", "Doe", "jane.doe@company.com",
+                "081234567891", LocalDate.of(2023, 2, 1), "Analyst", "Jakarta", 1L);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+
+        // Act
+        List<EmployeeResponseDto> result = employeeService.createEmployees(Arrays.asList(testEmployeeRequestDto, secondRequest));
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(employeeRepository, times(2)).save(any(Employee.class));
+        verify(kafkaProducerService, times(2)).publishEmployeeState(any(EmployeeResponseDto.class));
+    }
+
+    @Test
+    void createEmployees_WithInvalidRequest_ShouldNotCreateAnyEmployee() {
+        // Arrange
+        EmployeeRequestDto invalidRequest = new EmployeeRequestDto("EMP002", "Jane", "Doe", "jane.doe@company.com",
+                "0812345", LocalDate.of(2023, 2, 1), "Analyst", "Jakarta", 1L);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> employeeService.createEmployees(Arrays.asList(testEmployeeRequestDto, invalidRequest)));
+        assertEquals("Employee 1: Phone number must be exactly 12 digits long", exception.getMessage());
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void createEmployees_WithRepeatedEmployeeCode_ShouldThrowDataConflictException() {
+        // Act & Assert
+        assertThrows(DataConflictException.class,
+                () -> employeeService.createEmployees(Arrays.asList(testEmployeeRequestDto, testEmployeeRequestDto)));
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void createEmployees_WhenShardedAndLastEmployeeFails_ShouldRollBackSingleShardTransaction() throws InterruptedException {
+        // Arrange
+        PlatformTransactionManager transactionManager = shardTransactions();
+        EmployeeRequestDto secondRequest = new EmployeeRequestDto("EMP002", "Jane", "Doe", "jane.doe@company.com",
+                "081234567891", LocalDate.of(2023, 2, 1), "Analyst", "Jakarta", 1L);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(employeeRepository.save(any(Employee.class)))
+                .thenReturn(testEmployee)
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act & Assert
+        try {
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> employeeService.createEmployees(Arrays.asList(testEmployeeRequestDto, secondRequest)));
+        } finally {
+            shardRouter.destroy();
+        }
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        assertEquals(1, definitions.getAllValues().stream().filter(definition -> !definition.isReadOnly()).count());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(employeeChangeRepository, never()).save(any(EmployeeChange.class));
+        verify(kafkaProducerService, never()).publishEmployeeState(any(EmployeeResponseDto.class));
+    }
+
+    @Test
+    void createEmployees_WhenShardedAcrossShards_ShouldThrowBadRequestException() throws InterruptedException {
+        // Arrange
+        shardTransactions();
+        ShardMap shardMap = (ShardMap) ReflectionTestUtils.getField(shardRouter, "shardMap");
+        Branch otherBranch = new Branch();
+        otherBranch.setId(2L);
+        EmployeeRequestDto secondRequest = new EmployeeRequestDto("EMP002", "Jane", "Doe", "jane.doe@company.com",
+                "081234567891", LocalDate.of(2023, 2, 1), "Analyst", "Jakarta", 2L);
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(branchRepository.findById(2L)).thenReturn(Optional.of(otherBranch));
+        when(shardMap.writableShardFor(2L)).thenReturn("shard-1");
+
+        // Act & Assert
+        try {
+            assertThrows(BadRequestException.class,
+                    () -> employeeService.createEmployees(Arrays.asList(testEmployeeRequestDto, secondRequest)));
+        } finally {
+            shardRouter.destroy();
+        }
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    @Test
+    void createEmployee_WhenCodeIsTakenInAnotherBranch_ShouldThrowDataConflictException() {
+        // Arrange
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        when(employeeIdentifierRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> employeeService.createEmployee(testEmployeeRequestDto));
+        verify(employeeChangeRepository, never()).save(any(EmployeeChange.class));
+        verify(kafkaProducerService, never()).publishEmployeeState(any(EmployeeResponseDto.class));
     }
 
     @Test
@@ -255,6 +410,53 @@ class EmployeeServiceTest {
         assertEquals("EMP001", result.getEmployeeCode());
         verify(employeeRepository, times(1)).findById(1L);
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(employeeResponseCache, times(1)).evict(1L);
+    }
+
+    @Test
+    void updateEmployee_InTransaction_ShouldPublishCommittedStateAfterCommit() {
+        // Arrange
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            employeeService.updateEmployee(1L, testEmployeeRequestDto);
+            verify(kafkaProducerService, never()).publishEmployeeState(any(EmployeeResponseDto.class));
+            // The flush sets the update timestamp before commit
+            LocalDateTime flushedAt = LocalDateTime.of(2024, 1, 2, 3, 4);
+            testEmployee.setUpdatedAt(flushedAt);
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            verify(kafkaProducerService, times(1)).publishEmployeeState(argThat(state -> flushedAt.equals(state.getUpdatedAt())));
+            verify(kafkaProducerService, times(1)).publishEmployeeEvent(any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createEmployee_WhenTransactionRollsBack_ShouldNotPublish() {
+        // Arrange
+        when(branchRepository.findById(1L)).thenReturn(Optional.of(testBranch));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            employeeService.createEmployee(testEmployeeRequestDto);
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verify(kafkaProducerService, never()).publishEmployeeEvent(any());
+        verify(kafkaProducerService, never()).publishEmployeeState(any(EmployeeResponseDto.class));
     }
 
     @Test
@@ -281,6 +483,10 @@ class EmployeeServiceTest {
         // Assert
         verify(employeeRepository, times(1)).findById(1L);
         verify(employeeRepository, times(1)).delete(testEmployee);
+        verify(kafkaProducerService, times(1)).publishEmployeeTombstone(1L);
+        verify(employeeChangeRepository, times(1)).save(argThat(change ->
+                change.getEmployeeId().equals(1L) && EmployeeChange.DELETE.equals(change.getChangeType())));
+        verify(employeeResponseCache, times(1)).evict(1L);
     }
 
     @Test
@@ -358,4 +564,21 @@ class EmployeeServiceTest {
         verify(branchRepository, times(1)).existsById(1L);
         verify(employeeRepository, never()).findByBranchId(1L);
     }
+
+    /**
+     * Enable sharding on the router with two shards, branch 1 on shard-0
+     * @return mocked transaction manager of the shard transactions
+     */
+    private PlatformTransactionManager shardTransactions() {
+        ShardMap shardMap = mock(ShardMap.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        lenient().when(shardMap.getShards()).thenReturn(Arrays.asList("shard-0", "shard-1"));
+        lenient().when(shardMap.writableShardFor(1L)).thenReturn("shard-0");
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(shardRouter, "shardMap", shardMap);
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(shardRouter, "queryThreads", 2);
+        shardRouter.init();
+        return transactionManager;
+    }
 }
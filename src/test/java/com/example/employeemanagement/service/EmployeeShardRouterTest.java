@@ -0,0 +1,192 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.exception.DataConflictException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmployeeShardRouter, with an H2 database per shard
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeShardRouterTest {
+
+    @Mock
+    private ShardMap shardMap;
+
+    private DataSource global;
+    private DataSource shard0;
+    private DataSource shard1;
+    private JdbcTemplate jdbcTemplate;
+    private EmployeeShardRouter shardRouter;
+
+    @BeforeEach
+    void setUp() {
+        global = h2("global");
+        shard0 = h2("shard0");
+        shard1 = h2("shard1");
+        new JdbcTemplate(shard0).update("INSERT INTO employees VALUES (1, 10, 'Ani'), (3, 10, 'Budi')");
+        new JdbcTemplate(shard1).update("INSERT INTO employees VALUES (2, 20, 'Citra')");
+
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-0", shard0);
+        shards.put("shard-1", shard1);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(global, shards));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        shardRouter = new EmployeeShardRouter();
+        ReflectionTestUtils.setField(shardRouter, "shardMap", shardMap);
+        ReflectionTestUtils.setField(shardRouter, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(shardRouter, "queryThreads", 2);
+        shardRouter.init();
+        lenient().when(shardMap.getShards()).thenReturn(Arrays.asList("shard-0", "shard-1"));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shardRouter.destroy();
+        for (DataSource dataSource : new DataSource[] {global, shard0, shard1}) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void queryAll_ShouldMergeResultsOfAllShardsInShardOrder() {
+        // Arrange
+        mapBranches();
+
+        // Act
+        List<Map<String, Object>> employees = shardRouter.queryAll(() ->
+                jdbcTemplate.queryForList("SELECT * FROM employees ORDER BY id"), EmployeeShardRouterTest::branchId);
+
+        // Assert
+        assertEquals(Arrays.asList("Ani", "Budi", "Citra"), names(employees));
+    }
+
+    @Test
+    void queryAll_WhenBranchIsCopiedToAnotherShard_ShouldOnlyReturnRowsOfMappedShard() {
+        // Arrange
+        mapBranches();
+        new JdbcTemplate(shard0).update("INSERT INTO employees VALUES (2, 20, 'Citra')");
+
+        // Act
+        List<Map<String, Object>> employees = shardRouter.queryAll(() ->
+                jdbcTemplate.queryForList("SELECT * FROM employees ORDER BY id"), EmployeeShardRouterTest::branchId);
+
+        // Assert
+        assertEquals(Arrays.asList("Ani", "Budi", "Citra"), names(employees));
+    }
+
+    @Test
+    void findFirst_WhenRowIsOnOneShard_ShouldReturnIt() {
+        // Arrange
+        mapBranches();
+
+        // Act
+        Optional<Map<String, Object>> employee = shardRouter.findFirst(() ->
+                jdbcTemplate.queryForList("SELECT * FROM employees WHERE id = 2").stream().findFirst(),
+                EmployeeShardRouterTest::branchId);
+
+        // Assert
+        assertEquals("Citra", employee.map(row -> row.get("NAME")).orElse(null));
+    }
+
+    @Test
+    void findFirst_WhenSourceCopyOfMovedBranchIsLeft_ShouldReturnRowOfMappedShard() {
+        // Arrange
+        mapBranches();
+        new JdbcTemplate(shard0).update("INSERT INTO employees VALUES (2, 20, 'Citra Lama')");
+
+        // Act
+        Optional<Map<String, Object>> employee = shardRouter.findFirst(() ->
+                jdbcTemplate.queryForList("SELECT * FROM employees WHERE id = 2").stream().findFirst(),
+                EmployeeShardRouterTest::branchId);
+
+        // Assert
+        assertEquals("Citra", employee.map(row -> row.get("NAME")).orElse(null));
+    }
+
+    @Test
+    void onBranchForWrite_ShouldWriteOnShardOfBranch() {
+        // Arrange
+        when(shardMap.writableShardFor(20L)).thenReturn("shard-1");
+
+        // Act
+        shardRouter.runOnBranchForWrite(20L, () -> jdbcTemplate.update("INSERT INTO employees VALUES (4, 20, 'Dewi')"));
+
+        // Assert
+        assertEquals(2, count(shard1));
+        assertEquals(2, count(shard0));
+        assertEquals(0, count(global));
+    }
+
+    @Test
+    void onBranchForWrite_WhenBranchIsMoving_ShouldNotWrite() {
+        // Arrange
+        when(shardMap.writableShardFor(20L)).thenThrow(new DataConflictException("Branch 20 is being moved"));
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> shardRouter.runOnBranchForWrite(20L,
+                () -> jdbcTemplate.update("INSERT INTO employees VALUES (4, 20, 'Dewi')")));
+        assertEquals(1, count(shard1));
+    }
+
+    @Test
+    void queryAll_WhenNotSharded_ShouldRunQueryDirectly() {
+        // Arrange
+        EmployeeShardRouter directRouter = new EmployeeShardRouter();
+
+        // Act
+        List<Map<String, Object>> employees = directRouter.queryAll(() ->
+                jdbcTemplate.queryForList("SELECT * FROM employees"), EmployeeShardRouterTest::branchId);
+
+        // Assert
+        assertFalse(directRouter.isSharded());
+        assertTrue(employees.isEmpty());
+    }
+
+    private void mapBranches() {
+        lenient().when(shardMap.shardFor(10L)).thenReturn("shard-0");
+        lenient().when(shardMap.shardFor(20L)).thenReturn("shard-1");
+    }
+
+    private static Long branchId(Map<String, Object> employee) {
+        return ((Number) employee.get("BRANCH_ID")).longValue();
+    }
+
+    private static List<Object> names(List<Map<String, Object>> employees) {
+        return employees.stream().map(employee -> employee.get("NAME")).collect(Collectors.toList());
+    }
+
+    private int count(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM employees", Integer.class);
+    }
+
+    private DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sharding-" + name + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute(
+                "CREATE TABLE employees (id BIGINT PRIMARY KEY, branch_id BIGINT, name VARCHAR(100))");
+        return dataSource;
+    }
+}
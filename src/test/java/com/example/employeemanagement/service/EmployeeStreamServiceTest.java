@@ -0,0 +1,141 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EmployeeStreamService
+ */
+class EmployeeStreamServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeStreamService employeeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeStreamService = new EmployeeStreamService(new ObjectMapper().findAndRegisterModules(), meterRegistry, 2, 60000, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        employeeStreamService.destroy();
+    }
+
+    @Test
+    void subscribe_ShouldRegisterSubscriber() {
+        // Act
+        employeeStreamService.subscribe(null);
+        employeeStreamService.subscribe(1L);
+
+        // Assert
+        assertEquals(2, employeeStreamService.getSubscriberCount());
+        assertEquals(2.0, meterRegistry.get("stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void publish_WhenSubscriberBufferIsFull_ShouldDropSubscriber() {
+        // Arrange
+        CountDownLatch released = new CountDownLatch(1);
+        employeeStreamService.register(new BlockingSseEmitter(released), 1L);
+        EmployeeEventDto event = new EmployeeEventDto("UPDATE", 1L, "John Doe", "john.doe@company.com",
+                "081234567890", 1L, "Head Office");
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            employeeStreamService.publish("employee", "e" + i, 1L, event);
+        }
+
+        // Assert
+        released.countDown();
+        assertEquals(0, employeeStreamService.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.counter("stream.subscribers.dropped").count());
+    }
+
+    @Test
+    void publish_WhenBranchDoesNotMatch_ShouldNotBufferEvent() {
+        // Arrange
+        employeeStreamService.subscribe(2L);
+        EmployeeEventDto event = new EmployeeEventDto("UPDATE", 1L, "John Doe", "john.doe@company.com",
+                "081234567890", 1L, "Head Office");
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            employeeStreamService.publish("employee", "e" + i, 1L, event);
+        }
+
+        // Assert
+        assertEquals(1, employeeStreamService.getSubscriberCount());
+        assertEquals(0.0, meterRegistry.counter("stream.subscribers.dropped").count());
+    }
+
+    @Test
+    void dropStalledSubscribers_WhenSendBlocksPastTimeout_ShouldDropSubscriberAndKeepDelivering() throws InterruptedException {
+        // Arrange
+        CountDownLatch released = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        employeeStreamService.register(new BlockingSseEmitter(released), 1L);
+        employeeStreamService.register(new RecordingSseEmitter(delivered), 1L);
+        EmployeeEventDto event = new EmployeeEventDto("UPDATE", 1L, "John Doe", "john.doe@company.com",
+                "081234567890", 1L, "Head Office");
+        employeeStreamService.publish("employee", "e1", 1L, event);
+        Thread.sleep(200);
+
+        // Act
+        employeeStreamService.dropStalledSubscribers();
+
+        // Assert
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(1, employeeStreamService.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.counter("stream.subscribers.dropped").count());
+        released.countDown();
+    }
+
+    /**
+     * Emitter of a client that stops reading, blocking the delivery thread until released
+     */
+    private static class BlockingSseEmitter extends SseEmitter {
+        private final CountDownLatch released;
+
+        BlockingSseEmitter(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Emitter of a client that reads normally, counting down once an event has been sent
+     */
+    private static class RecordingSseEmitter extends SseEmitter {
+        private final CountDownLatch delivered;
+
+        RecordingSseEmitter(CountDownLatch delivered) {
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            delivered.countDown();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventRetryService
+ */
+@ExtendWith(MockitoExtension.class)
+class EventRetryServiceTest {
+
+    private static final String TOPIC = "employee-events";
+
+    @Mock
+    private KafkaTemplate<String, Object> retryKafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EventRetryService eventRetryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        eventRetryService = new EventRetryService();
+        ReflectionTestUtils.setField(eventRetryService, "retryKafkaTemplate", retryKafkaTemplate);
+        ReflectionTestUtils.setField(eventRetryService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(eventRetryService, "attempts", 2);
+        ReflectionTestUtils.setField(eventRetryService, "initialDelayMs", 1000L);
+        ReflectionTestUtils.setField(eventRetryService, "multiplier", 4.0);
+
+        SettableListenableFuture<SendResult<String, Object>> future = new SettableListenableFuture<>();
+        future.set(null);
+        lenient().when(retryKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+    }
+
+    @Test
+    void scheduleRetry_WhenFirstFailure_ShouldSendToFirstRetryTopic() {
+        // Arrange
+        ConsumerRecord<String, EmployeeEventDto> record = new ConsumerRecord<>(TOPIC, 1, 42L, "7", new EmployeeEventDto());
+
+        // Act
+        eventRetryService.scheduleRetry(TOPIC, record, new IllegalStateException("boom"));
+
+        // Assert
+        ProducerRecord<String, Object> sent = captureSent();
+        assertEquals("employee-events-retry-1", sent.topic());
+        assertEquals("7", sent.key());
+        assertEquals("1", header(sent, EventRetryService.RETRY_ATTEMPT_HEADER));
+        assertEquals(TOPIC, header(sent, KafkaHeaders.DLT_ORIGINAL_TOPIC));
+        assertEquals("boom", header(sent, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+        assertEquals(1.0, meterRegistry.counter("kafka.consumer.retry", "topic", TOPIC, "outcome", "retry").count());
+    }
+
+    @Test
+    void scheduleRetry_WhenAttemptsExhausted_ShouldSendToDeadLetterTopic() {
+        // Arrange
+        ConsumerRecord<String, EmployeeEventDto> record = new ConsumerRecord<>("employee-events-retry-2", 0, 3L, "7", new EmployeeEventDto());
+        record.headers().add(EventRetryService.RETRY_ATTEMPT_HEADER, "2".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        eventRetryService.scheduleRetry(TOPIC, record, new IllegalStateException("boom"));
+
+        // Assert
+        ProducerRecord<String, Object> sent = captureSent();
+        assertEquals("employee-events-dlt", sent.topic());
+        assertNotNull(sent.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_STACKTRACE));
+        assertEquals(1.0, meterRegistry.counter("kafka.consumer.retry", "topic", TOPIC, "outcome", "dead_letter").count());
+    }
+
+    @Test
+    void remainingDelayMillis_WhenNoDueHeader_ShouldReturnZero() {
+        // Arrange
+        ConsumerRecord<String, EmployeeEventDto> record = new ConsumerRecord<>(TOPIC, 0, 0L, "7", new EmployeeEventDto());
+
+        // Act
+        long result = eventRetryService.remainingDelayMillis(record);
+
+        // Assert
+        assertEquals(0, result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, Object> captureSent() {
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(retryKafkaTemplate, times(1)).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private String header(ProducerRecord<String, Object> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.dto.EmployeeEventDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaConsumerService
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerServiceTest {
+
+    private static final String TOPIC = "employee-events";
+
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    @Mock
+    private EventRetryService eventRetryService;
+
+    @Mock
+    private KafkaTracing kafkaTracing;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @InjectMocks
+    private KafkaConsumerService kafkaConsumerService;
+
+    private List<ConsumerRecord<String, EmployeeEventDto>> records;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(kafkaConsumerService, "eventProcessor", new KeyOrderedEventProcessor(false, 0, 300000));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(kafkaTracing).processBatch(eq(TOPIC), anyList(), any(Runnable.class));
+        when(processedEventStore.filterUnprocessed(eq(TOPIC), anyList(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        records = Arrays.asList(
+                new ConsumerRecord<>(TOPIC, 0, 0L, "1", createEvent(1L)),
+                new ConsumerRecord<>(TOPIC, 0, 1L, "2", createEvent(2L)));
+    }
+
+    @Test
+    void consumeEmployeeEvents_WhenMarkProcessedFailsOnce_ShouldRetryInsertWithoutDispatchingAgain() {
+        // Arrange
+        doThrow(new DataAccessResourceFailureException("connection reset"))
+                .doNothing()
+                .when(processedEventStore).markProcessed(eq(TOPIC), anyCollection());
+
+        // Act
+        kafkaConsumerService.consumeEmployeeEvents(records, acknowledgment);
+
+        // Assert: the run is recorded as a whole twice, never split into single records
+        verify(processedEventStore, times(2)).markProcessed(eq(TOPIC), argThat(ids -> ids.size() == 2));
+        verify(eventRetryService, never()).scheduleRetry(anyString(), any(), any());
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    void consumeEmployeeEvents_WhenMarkProcessedKeepsFailing_ShouldFailBatchWithoutRetryTopics() {
+        // Arrange
+        doThrow(new DataAccessResourceFailureException("connection reset"))
+                .when(processedEventStore).markProcessed(eq(TOPIC), anyCollection());
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> kafkaConsumerService.consumeEmployeeEvents(records, acknowledgment));
+        verify(processedEventStore, times(3)).markProcessed(eq(TOPIC), argThat(ids -> ids.size() == 2));
+        verify(eventRetryService, never()).scheduleRetry(anyString(), any(), any());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private EmployeeEventDto createEvent(Long employeeId) {
+        return new EmployeeEventDto("UPDATE", employeeId, "John Doe", "john@company.com", "081234567890", 1L, "Jakarta");
+    }
+}
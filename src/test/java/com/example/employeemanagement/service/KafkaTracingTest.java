@@ -0,0 +1,144 @@
+package com.example.employeemanagement.service;
+
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaTracing
+ */
+class KafkaTracingTest {
+
+    private static final String TOPIC = "employee-events";
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String SPAN_ID = "b7ad6b7169203331";
+
+    private InMemorySpanExporter spanExporter;
+    private SdkTracerProvider tracerProvider;
+    private KafkaTracing kafkaTracing;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        kafkaTracing = new KafkaTracing(OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void send_WhenRecordIsAcknowledged_ShouldEndProducerSpanAndPropagateItInHeaders() {
+        // Arrange
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        SettableListenableFuture<SendResult<String, Object>> future = new SettableListenableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(future);
+
+        // Act
+        kafkaTracing.send(kafkaTemplate, TOPIC, "1", "event");
+        assertTrue(spanExporter.getFinishedSpanItems().isEmpty());
+        future.set(null);
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, Object>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        SpanData span = singleSpan();
+        assertEquals(TOPIC + " send", span.getName());
+        assertEquals(SpanKind.PRODUCER, span.getKind());
+        String traceparent = new String(record.getValue().headers().lastHeader("traceparent").value(), StandardCharsets.UTF_8);
+        assertEquals("00-" + span.getTraceId() + "-" + span.getSpanId() + "-01", traceparent);
+    }
+
+    @Test
+    void processBatch_WhenRecordsCarryTraceContext_ShouldLinkConsumerSpanToThem() {
+        // Arrange
+        ConsumerRecord<String, String> traced = record(0, "00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+        ConsumerRecord<String, String> untraced = record(1, null);
+        AtomicBoolean processed = new AtomicBoolean();
+
+        // Act
+        kafkaTracing.processBatch(TOPIC, Arrays.asList(traced, untraced), () -> processed.set(true));
+
+        // Assert
+        assertTrue(processed.get());
+        SpanData span = singleSpan();
+        assertEquals(TOPIC + " process", span.getName());
+        assertEquals(SpanKind.CONSUMER, span.getKind());
+        assertFalse(span.getParentSpanContext().isValid());
+        assertEquals(1, span.getLinks().size());
+        assertEquals(TRACE_ID, span.getLinks().get(0).getSpanContext().getTraceId());
+        assertEquals(SPAN_ID, span.getLinks().get(0).getSpanContext().getSpanId());
+    }
+
+    @Test
+    void processRecord_WhenRecordCarriesTraceContext_ShouldContinueItsTrace() {
+        // Arrange
+        ConsumerRecord<String, String> record = record(0, "00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+
+        // Act
+        kafkaTracing.processRecord(TOPIC + "-retry-1", record, () -> { });
+
+        // Assert
+        SpanData span = singleSpan();
+        assertEquals(TRACE_ID, span.getTraceId());
+        assertEquals(SPAN_ID, span.getParentSpanId());
+    }
+
+    @Test
+    void processRecord_WhenProcessingFails_ShouldRecordErrorAndRethrow() {
+        // Arrange
+        ConsumerRecord<String, String> record = record(0, null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> kafkaTracing.processRecord(TOPIC, record, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(StatusCode.ERROR, singleSpan().getStatus().getStatusCode());
+    }
+
+    private SpanData singleSpan() {
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        return spans.get(0);
+    }
+
+    private ConsumerRecord<String, String> record(long offset, String traceparent) {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(TOPIC, 0, offset, String.valueOf(offset), "event");
+        if (traceparent != null) {
+            record.headers().add("traceparent", traceparent.getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+}
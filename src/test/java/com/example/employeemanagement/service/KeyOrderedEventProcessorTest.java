@@ -0,0 +1,137 @@
+package com.example.employeemanagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeyOrderedEventProcessor
+ */
+class KeyOrderedEventProcessorTest {
+
+    private KeyOrderedEventProcessor processor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (processor != null) {
+            processor.destroy();
+        }
+    }
+
+    @Test
+    void process_WhenDisabled_ShouldHandleWholeBatchOnCallingThread() {
+        // Arrange
+        processor = new KeyOrderedEventProcessor(false, 4, 300000);
+        List<long[]> events = createEvents(10, 3);
+        List<List<long[]>> invocations = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+
+        // Act
+        processor.process(events, event -> event[0], batch -> {
+            assertSame(caller, Thread.currentThread());
+            invocations.add(batch);
+        });
+
+        // Assert
+        assertEquals(0, processor.getLaneCount());
+        assertEquals(1, invocations.size());
+        assertEquals(events, invocations.get(0));
+    }
+
+    @Test
+    void process_WhenEnabled_ShouldKeepOrderPerKeyAcrossLanes() {
+        // Arrange
+        processor = new KeyOrderedEventProcessor(true, 4, 300000);
+        List<long[]> events = createEvents(1000, 50);
+        Map<Long, List<Long>> seenPerKey = Collections.synchronizedMap(new HashMap<>());
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+
+        // Act
+        processor.process(events, event -> event[0], batch -> {
+            threads.add(Thread.currentThread().getName());
+            for (long[] event : batch) {
+                seenPerKey.computeIfAbsent(event[0], key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event[1]);
+            }
+        });
+
+        // Assert
+        assertEquals(4, processor.getLaneCount());
+        assertTrue(threads.size() > 1);
+        assertEquals(50, seenPerKey.size());
+        seenPerKey.forEach((key, sequences) -> {
+            assertEquals(20, sequences.size());
+            for (int i = 1; i < sequences.size(); i++) {
+                assertTrue(sequences.get(i - 1) < sequences.get(i), "Events for key " + key + " out of order");
+            }
+        });
+    }
+
+    @Test
+    void process_WhenLaneFails_ShouldRethrowAfterAllLanesFinish() {
+        // Arrange
+        processor = new KeyOrderedEventProcessor(true, 4, 300000);
+        List<long[]> events = createEvents(100, 10);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                processor.process(events, event -> event[0], batch -> {
+                    if (batch.stream().anyMatch(event -> event[0] == 3L)) {
+                        throw new IllegalStateException("boom");
+                    }
+                }));
+        assertEquals("boom", exception.getMessage());
+    }
+
+    @Test
+    void process_WhenLaneExceedsMaxPollInterval_ShouldFailBeforeIntervalEnds() {
+        // Arrange
+        processor = new KeyOrderedEventProcessor(true, 4, 500);
+        List<long[]> events = createEvents(100, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // Act & Assert
+        try {
+            assertThrows(IllegalStateException.class, () ->
+                    processor.process(events, event -> event[0], batch -> {
+                        if (batch.stream().anyMatch(event -> event[0] == 3L)) {
+                            awaitQuietly(release);
+                        }
+                    }));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Create events as {key, sequence} pairs, cycling through the given number of keys
+     */
+    private List<long[]> createEvents(int count, int keys) {
+        List<long[]> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(new long[] {i % keys, i});
+        }
+        return events;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProcessedEventStore
+ */
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventStoreTest {
+
+    private static final String TOPIC = "employee-events";
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProcessedEventStore processedEventStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        processedEventStore = new ProcessedEventStore(processedEventRepository, meterRegistry, 100, 60, 168);
+    }
+
+    @Test
+    void filterUnprocessed_WhenNothingProcessed_ShouldReturnAllEvents() {
+        // Arrange
+        when(processedEventRepository.findProcessedEventIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        List<String> result = processedEventStore.filterUnprocessed(TOPIC, Arrays.asList("e1", "e2"), Function.identity());
+
+        // Assert
+        assertEquals(Arrays.asList("e1", "e2"), result);
+        assertEquals(2.0, counter("miss"));
+    }
+
+    @Test
+    void filterUnprocessed_WhenProcessedInStore_ShouldSkipStoredEvents() {
+        // Arrange
+        when(processedEventRepository.findProcessedEventIds(anyCollection())).thenReturn(Collections.singletonList("e1"));
+
+        // Act
+        List<String> result = processedEventStore.filterUnprocessed(TOPIC, Arrays.asList("e1", "e2"), Function.identity());
+
+        // Assert
+        assertEquals(Collections.singletonList("e2"), result);
+        assertEquals(1.0, counter("store_hit"));
+    }
+
+    @Test
+    void filterUnprocessed_WhenRecentlyMarked_ShouldSkipWithoutQueryingStore() {
+        // Arrange
+        processedEventStore.markProcessed(TOPIC, Arrays.asList("e1", "e2"));
+
+        // Act
+        List<String> result = processedEventStore.filterUnprocessed(TOPIC, Arrays.asList("e1", "e2"), Function.identity());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        assertEquals(2.0, counter("memory_hit"));
+        verify(processedEventRepository, never()).findProcessedEventIds(anyCollection());
+        verify(processedEventRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void filterUnprocessed_WhenDuplicatedWithinBatch_ShouldKeepFirstOccurrence() {
+        // Arrange
+        when(processedEventRepository.findProcessedEventIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        List<String> result = processedEventStore.filterUnprocessed(TOPIC, Arrays.asList("e1", "e1", "e2"), Function.identity());
+
+        // Assert
+        assertEquals(Arrays.asList("e1", "e2"), result);
+    }
+
+    @Test
+    void markProcessed_WhenCacheIsFull_ShouldEvictOldestIds() {
+        // Arrange
+        processedEventStore = new ProcessedEventStore(processedEventRepository, meterRegistry, 1, 60, 168);
+        when(processedEventRepository.findProcessedEventIds(anyCollection())).thenReturn(Collections.emptyList());
+
+        // Act
+        processedEventStore.markProcessed(TOPIC, Arrays.asList("e1", "e2"));
+        List<String> result = processedEventStore.filterUnprocessed(TOPIC, Arrays.asList("e1", "e2"), Function.identity());
+
+        // Assert
+        assertEquals(Collections.singletonList("e1"), result);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("kafka.consumer.dedup", "topic", TOPIC, "result", result).count();
+    }
+}
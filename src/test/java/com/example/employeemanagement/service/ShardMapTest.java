@@ -0,0 +1,108 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.entity.BranchShard;
+import com.example.employeemanagement.exception.DataConflictException;
+import com.example.employeemanagement.repository.BranchShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShardMap
+ */
+@ExtendWith(MockitoExtension.class)
+class ShardMapTest {
+
+    @Mock
+    private BranchShardRepository branchShardRepository;
+
+    @Mock
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @InjectMocks
+    private ShardMap shardMap;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(shardRoutingDataSource.getShardNames()).thenReturn(Arrays.asList("shard-0", "shard-1"));
+    }
+
+    @Test
+    void shardFor_WhenBranchNotAssigned_ShouldHashBranchId() {
+        // Arrange
+        when(branchShardRepository.findAll()).thenReturn(Collections.emptyList());
+        shardMap.refresh();
+
+        // Act & Assert
+        assertEquals("shard-0", shardMap.shardFor(2L));
+        assertEquals("shard-1", shardMap.shardFor(3L));
+    }
+
+    @Test
+    void shardFor_WhenBranchAssigned_ShouldUseAssignmentAfterRefresh() {
+        // Arrange
+        when(branchShardRepository.findAll())
+                .thenReturn(Collections.singletonList(new BranchShard(2L, "shard-1", BranchShard.ACTIVE)));
+
+        // Act
+        String beforeRefresh = shardMap.shardFor(2L);
+        shardMap.refresh();
+
+        // Assert
+        assertEquals("shard-0", beforeRefresh);
+        assertEquals("shard-1", shardMap.shardFor(2L));
+    }
+
+    @Test
+    void writableShardFor_WhenBranchIsMoving_ShouldThrowDataConflictException() {
+        // Arrange
+        BranchShard moving = new BranchShard(2L, "shard-0", BranchShard.MOVING);
+        when(branchShardRepository.findAll()).thenReturn(Collections.singletonList(moving));
+        when(branchShardRepository.findById(2L)).thenReturn(Optional.of(moving));
+        shardMap.refresh();
+
+        // Act & Assert
+        assertThrows(DataConflictException.class, () -> shardMap.writableShardFor(2L));
+        assertEquals("shard-0", shardMap.assignedShardFor(2L));
+    }
+
+    @Test
+    void writableShardFor_ShouldUseRefreshedAssignmentsWithoutQuerying() {
+        // Arrange
+        when(branchShardRepository.findAll())
+                .thenReturn(Collections.singletonList(new BranchShard(2L, "shard-1", BranchShard.ACTIVE)));
+        shardMap.refresh();
+
+        // Act
+        String shard = shardMap.writableShardFor(2L);
+
+        // Assert
+        assertEquals("shard-1", shard);
+        verify(branchShardRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void assign_ShouldStoreHashedShard() {
+        // Act
+        String shard = shardMap.assign(3L);
+
+        // Assert
+        assertEquals("shard-1", shard);
+        assertEquals("shard-1", shardMap.shardFor(3L));
+        verify(branchShardRepository, times(1)).save(argThat(assignment ->
+                assignment.getBranchId().equals(3L) && "shard-1".equals(assignment.getShard())
+                        && BranchShard.ACTIVE.equals(assignment.getStatus())));
+    }
+}
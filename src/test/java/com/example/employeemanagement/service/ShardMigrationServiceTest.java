@@ -0,0 +1,202 @@
+package com.example.employeemanagement.service;
+
+import com.example.employeemanagement.config.ShardRoutingDataSource;
+import com.example.employeemanagement.dto.BranchShardMoveResponseDto;
+import com.example.employeemanagement.entity.Branch;
+import com.example.employeemanagement.entity.BranchShard;
+import com.example.employeemanagement.exception.ResourceNotFoundException;
+import com.example.employeemanagement.repository.BranchRepository;
+import com.example.employeemanagement.repository.BranchShardRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ShardMigrationService, with an H2 database per shard
+ */
+@ExtendWith(MockitoExtension.class)
+class ShardMigrationServiceTest {
+
+    @Mock
+    private ShardMap shardMap;
+
+    @Mock
+    private BranchShardRepository branchShardRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private DataSource global;
+    private DataSource shard0;
+    private DataSource shard1;
+    private Branch testBranch;
+    private ShardMigrationService shardMigrationService;
+
+    @BeforeEach
+    void setUp() {
+        global = h2("global");
+        shard0 = h2("shard0");
+        shard1 = h2("shard1");
+
+        testBranch = new Branch("JKT", "Jakarta", "Jl. Sudirman", "021123456789");
+        testBranch.setId(10L);
+        testBranch.setCreatedAt(LocalDateTime.now());
+        testBranch.setUpdatedAt(LocalDateTime.now());
+        JdbcTemplate source = new JdbcTemplate(shard0);
+        source.update("INSERT INTO branches (id, code, name) VALUES (10, 'JKT', 'Jakarta'), (20, 'BDG', 'Bandung')");
+        source.update("INSERT INTO employees VALUES (1, 'EMP001', 10), (3, 'EMP003', 10), (5, 'EMP005', 10), (7, 'EMP007', 20)");
+
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("shard-0", shard0);
+        shards.put("shard-1", shard1);
+
+        shardMigrationService = new ShardMigrationService();
+        ReflectionTestUtils.setField(shardMigrationService, "shardRoutingDataSource", new ShardRoutingDataSource(global, shards));
+        ReflectionTestUtils.setField(shardMigrationService, "shardMap", shardMap);
+        ReflectionTestUtils.setField(shardMigrationService, "branchShardRepository", branchShardRepository);
+        ReflectionTestUtils.setField(shardMigrationService, "branchRepository", branchRepository);
+        ReflectionTestUtils.setField(shardMigrationService, "batchSize", 2);
+        lenient().when(shardMap.getShards()).thenReturn(Arrays.asList("shard-0", "shard-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardMigrationService.shutdown();
+        for (DataSource dataSource : new DataSource[] {global, shard0, shard1}) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void startBranchMove_ShouldCopyEmployeesThenSwitchShardThenDeleteSource() {
+        // Arrange
+        when(branchRepository.findById(10L)).thenReturn(Optional.of(testBranch));
+        when(shardMap.writableShardFor(10L)).thenReturn("shard-0");
+
+        // Act
+        BranchShardMoveResponseDto started = shardMigrationService.startBranchMove(10L, "shard-1");
+        BranchShardMoveResponseDto result = awaitMove(started.getMoveId());
+
+        // Assert
+        assertEquals(BranchShardMoveResponseDto.COMPLETED, result.getStatus());
+        assertEquals(3, result.getMovedEmployees());
+        assertNotNull(result.getFinishedAt());
+        assertEquals(Arrays.asList("EMP001", "EMP003", "EMP005"), employeeCodes(shard1));
+        assertEquals(Arrays.asList("EMP007"), employeeCodes(shard0));
+        assertEquals("Jakarta", new JdbcTemplate(shard1).queryForObject("SELECT name FROM branches WHERE id = 10", String.class));
+        InOrder inOrder = inOrder(branchShardRepository, shardMap);
+        inOrder.verify(branchShardRepository).save(argThat(assignment ->
+                "shard-0".equals(assignment.getShard()) && BranchShard.MOVING.equals(assignment.getStatus())));
+        inOrder.verify(shardMap).refresh();
+        inOrder.verify(branchShardRepository).save(argThat(assignment ->
+                "shard-1".equals(assignment.getShard()) && BranchShard.ACTIVE.equals(assignment.getStatus())));
+        inOrder.verify(shardMap).refresh();
+    }
+
+    @Test
+    void startBranchMove_WhenCopyFails_ShouldKeepBranchOnSourceShard() {
+        // Arrange
+        when(branchRepository.findById(10L)).thenReturn(Optional.of(testBranch));
+        when(shardMap.writableShardFor(10L)).thenReturn("shard-0");
+        new JdbcTemplate(shard1).execute("DROP TABLE employees");
+
+        // Act
+        BranchShardMoveResponseDto started = shardMigrationService.startBranchMove(10L, "shard-1");
+        BranchShardMoveResponseDto result = awaitMove(started.getMoveId());
+
+        // Assert
+        assertEquals(BranchShardMoveResponseDto.FAILED, result.getStatus());
+        assertNotNull(result.getError());
+        assertEquals(Arrays.asList("EMP001", "EMP003", "EMP005", "EMP007"), employeeCodes(shard0));
+        InOrder inOrder = inOrder(branchShardRepository, shardMap);
+        inOrder.verify(branchShardRepository).save(argThat(assignment ->
+                "shard-0".equals(assignment.getShard()) && BranchShard.MOVING.equals(assignment.getStatus())));
+        inOrder.verify(branchShardRepository).save(argThat(assignment ->
+                "shard-0".equals(assignment.getShard()) && BranchShard.ACTIVE.equals(assignment.getStatus())));
+        inOrder.verify(shardMap).refresh();
+        verify(branchShardRepository, never()).save(argThat(assignment -> "shard-1".equals(assignment.getShard())));
+    }
+
+    @Test
+    void getBranchMove_WhenMoveNotFound_ShouldThrowResourceNotFoundException() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> shardMigrationService.getBranchMove("unknown"));
+    }
+
+    @Test
+    void moveEmployee_ShouldMoveSingleRow() {
+        // Arrange
+        shardMigrationService.replicateBranch(testBranch);
+
+        // Act
+        shardMigrationService.moveEmployee(3L, "shard-0", "shard-1");
+
+        // Assert
+        assertEquals(Arrays.asList("EMP003"), employeeCodes(shard1));
+        assertEquals(Arrays.asList("EMP001", "EMP005", "EMP007"), employeeCodes(shard0));
+    }
+
+    @Test
+    void moveEmployee_WhenSourceDeleteFails_ShouldDeleteCopyOnTarget() {
+        // Arrange
+        shardMigrationService.replicateBranch(testBranch);
+        JdbcTemplate source = new JdbcTemplate(shard0);
+        source.execute("CREATE TABLE employee_notes (employee_id BIGINT REFERENCES employees(id))");
+        source.update("INSERT INTO employee_notes VALUES (3)");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> shardMigrationService.moveEmployee(3L, "shard-0", "shard-1"));
+        assertEquals(Arrays.asList(), employeeCodes(shard1));
+        assertEquals(Arrays.asList("EMP001", "EMP003", "EMP005", "EMP007"), employeeCodes(shard0));
+    }
+
+    private BranchShardMoveResponseDto awaitMove(String moveId) {
+        long deadline = System.currentTimeMillis() + 10000;
+        BranchShardMoveResponseDto move = shardMigrationService.getBranchMove(moveId);
+        while (isPending(move) && System.currentTimeMillis() < deadline) {
+            LockSupport.parkNanos(10_000_000L);
+            move = shardMigrationService.getBranchMove(moveId);
+        }
+        return move;
+    }
+
+    private boolean isPending(BranchShardMoveResponseDto move) {
+        return BranchShardMoveResponseDto.QUEUED.equals(move.getStatus())
+                || BranchShardMoveResponseDto.RUNNING.equals(move.getStatus());
+    }
+
+    private List<String> employeeCodes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT employee_code FROM employees ORDER BY id", String.class);
+    }
+
+    private DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE branches (id BIGINT PRIMARY KEY, code VARCHAR(10), name VARCHAR(255), "
+                + "address VARCHAR(255), phone_number VARCHAR(20), created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE employees (id BIGINT PRIMARY KEY, employee_code VARCHAR(10), "
+                + "branch_id BIGINT REFERENCES branches(id))");
+        return dataSource;
+    }
+}